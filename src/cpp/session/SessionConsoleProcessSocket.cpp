@@ -261,6 +261,13 @@ Error ConsoleProcessSocket::stopListening(const std::string& terminalHandle)
 
 Error ConsoleProcessSocket::sendRawText(const std::string& terminalHandle,
                                         const std::string& message)
+{
+   return send(terminalHandle, message, websocketpp::frame::opcode::text);
+}
+
+Error ConsoleProcessSocket::send(const std::string& terminalHandle,
+                                 const std::string& message,
+                                 websocketpp::frame::opcode::value opcode)
 {
    // do we know about this handle?
    ConsoleProcessSocketConnectionDetails details = connections_.get(terminalHandle);
@@ -280,7 +287,7 @@ Error ConsoleProcessSocket::sendRawText(const std::string& terminalHandle,
                          ec.message(), ERROR_LOCATION);
    }
 
-   pwsServer_->send(details.hdl_, message, websocketpp::frame::opcode::text, ec);
+   pwsServer_->send(details.hdl_, message, opcode, ec);
    if (ec)
    {
       return systemError(boost::system::errc::bad_message,
@@ -292,6 +299,13 @@ Error ConsoleProcessSocket::sendRawText(const std::string& terminalHandle,
 Error ConsoleProcessSocket::sendText(const std::string& terminalHandle,
                                      const std::string& message)
 {
+   ConsoleProcessSocketConnectionDetails details = connections_.get(terminalHandle);
+   if (details.binary_)
+   {
+      return send(terminalHandle,
+                  ConsoleProcessSocketPacket::binaryTextPacket(message, details.deflate_),
+                  websocketpp::frame::opcode::binary);
+   }
    return sendRawText(terminalHandle, ConsoleProcessSocketPacket::textPacket(message));
 }
 
@@ -329,6 +343,12 @@ void ConsoleProcessSocket::onMessage(terminalServer* s,
    {
       sendPong(handle);
    }
+   else if (ConsoleProcessSocketPacket::isBinaryMode(payload))
+   {
+      details.binary_ = true;
+      details.deflate_ = ConsoleProcessSocketPacket::binaryModeDeflate(payload);
+      connections_.set(handle, details);
+   }
    else if (details.connectionCallbacks_.onReceivedInput)
    {
       details.connectionCallbacks_.onReceivedInput(ConsoleProcessSocketPacket::getMessage(payload));
@@ -361,6 +381,10 @@ void ConsoleProcessSocket::onOpen(terminalServer* s, websocketpp::connection_hdl
    ConsoleProcessSocketConnectionDetails details = connections_.get(handle);
    details.handle_ = handle;
    details.hdl_ = hdl;
+
+   // a new connection gets text frames until it asks for binary ones
+   details.binary_ = false;
+   details.deflate_ = false;
    connections_.set(handle, details);
 
    // notify the specific connection, if available
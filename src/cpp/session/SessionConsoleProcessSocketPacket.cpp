@@ -15,12 +15,54 @@
 
 #include <session/SessionConsoleProcessSocketPacket.hpp>
 
+#include <cstdint>
+#include <sstream>
+
+#ifndef _WIN32
+#include <boost/iostreams/copy.hpp>
+#include <boost/iostreams/filter/zlib.hpp>
+#include <boost/iostreams/filtering_stream.hpp>
+#endif
+
 namespace rstudio {
 namespace session {
 namespace console_process {
 
 const std::string ConsoleProcessSocketPacket::kKeepAlivePrefix = "b";
 const std::string ConsoleProcessSocketPacket::kTextPrefix = "a";
+const std::string ConsoleProcessSocketPacket::kBinaryModePrefix = "c";
+const std::string ConsoleProcessSocketPacket::kDeflateOption = "deflate";
+
+namespace {
+
+// text shorter than this isn't worth compressing
+const std::size_t kMinDeflateLength = 1024;
+
+bool compress(const std::string& text, std::string* pCompressed)
+{
+#ifndef _WIN32
+   try
+   {
+      std::istringstream input(text);
+      std::ostringstream output;
+      boost::iostreams::filtering_ostream filteringStream;
+      filteringStream.push(boost::iostreams::zlib_compressor());
+      filteringStream.push(output);
+      boost::iostreams::copy(input, filteringStream);
+      *pCompressed = output.str();
+      return true;
+   }
+   catch (...)
+   {
+      return false;
+   }
+#else
+   // consistent with http responses, which are never compressed on win32
+   return false;
+#endif
+}
+
+} // anonymous namespace
 
 /* static */
 std::string ConsoleProcessSocketPacket::textPacket(const std::string& text)
@@ -53,6 +95,52 @@ std::string ConsoleProcessSocketPacket::getMessage(const std::string& text)
    }
 }
 
+/* static */
+bool ConsoleProcessSocketPacket::isBinaryMode(const std::string& text)
+{
+   return !text.compare(0, kBinaryModePrefix.length(), kBinaryModePrefix);
+}
+
+/* static */
+bool ConsoleProcessSocketPacket::binaryModeDeflate(const std::string& text)
+{
+   return text == kBinaryModePrefix + kDeflateOption;
+}
+
+/* static */
+std::string ConsoleProcessSocketPacket::binaryTextPacket(const std::string& text,
+                                                         bool deflate)
+{
+   std::string compressed;
+   if (deflate &&
+       text.length() >= kMinDeflateLength &&
+       compress(text, &compressed) &&
+       compressed.length() < text.length())
+   {
+      return binaryFrame(kTextPrefix[0], kDeflateFlag, compressed);
+   }
+   return binaryFrame(kTextPrefix[0], 0, text);
+}
+
+/* static */
+std::string ConsoleProcessSocketPacket::binaryFrame(char type,
+                                                    unsigned char flags,
+                                                    const std::string& payload)
+{
+   uint32_t length = static_cast<uint32_t>(payload.length());
+
+   std::string frame;
+   frame.reserve(6 + payload.length());
+   frame.push_back(type);
+   frame.push_back(static_cast<char>(flags));
+   frame.push_back(static_cast<char>((length >> 24) & 0xFF));
+   frame.push_back(static_cast<char>((length >> 16) & 0xFF));
+   frame.push_back(static_cast<char>((length >> 8) & 0xFF));
+   frame.push_back(static_cast<char>(length & 0xFF));
+   frame.append(payload);
+   return frame;
+}
+
 } // namespace console_process
 } // namespace session
 } // namespace rstudio
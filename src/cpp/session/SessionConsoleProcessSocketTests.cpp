@@ -477,6 +477,41 @@ test_context("websocket for interactive terminals")
    }
 }
 
+test_context("websocket packets for interactive terminals")
+{
+   test_that("binary text packets are length-prefixed frames")
+   {
+      std::string packet = ConsoleProcessSocketPacket::binaryTextPacket("hello", true);
+      expect_true(packet.length() == 11);
+      expect_true(packet[0] == 'a');
+      expect_true(packet[1] == 0);
+      expect_true(packet.substr(2, 4) == std::string("\0\0\0\5", 4));
+      expect_true(packet.substr(6) == "hello");
+   }
+
+   test_that("binary mode packets are recognized")
+   {
+      expect_true(ConsoleProcessSocketPacket::isBinaryMode("c"));
+      expect_false(ConsoleProcessSocketPacket::binaryModeDeflate("c"));
+      expect_true(ConsoleProcessSocketPacket::binaryModeDeflate("cdeflate"));
+      expect_false(ConsoleProcessSocketPacket::isBinaryMode("achars"));
+   }
+
+#ifndef _WIN32
+   test_that("large binary text packets are compressed when asked")
+   {
+      std::string text(4096, 'x');
+      std::string packet = ConsoleProcessSocketPacket::binaryTextPacket(text, true);
+      expect_true(packet[1] == ConsoleProcessSocketPacket::kDeflateFlag);
+      expect_true(packet.length() < text.length());
+
+      packet = ConsoleProcessSocketPacket::binaryTextPacket(text, false);
+      expect_true(packet[1] == 0);
+      expect_true(packet.substr(6) == text);
+   }
+#endif
+}
+
 } // namespace console_process
 } // namespace session
 } // namespace rstudio
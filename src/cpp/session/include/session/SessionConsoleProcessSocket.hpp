@@ -57,6 +57,11 @@ struct ConsoleProcessSocketConnectionDetails
    std::string handle_;
    ConsoleProcessSocketConnectionCallbacks connectionCallbacks_;
    websocketpp::connection_hdl hdl_;
+
+   // client has asked for output in binary frames (and whether they may
+   // be compressed); see ConsoleProcessSocketPacket
+   bool binary_ = false;
+   bool deflate_ = false;
 };
 
 // Manages a websocket that channels input and output from client for
@@ -85,7 +90,7 @@ public:
    core::Error sendRawText(const std::string& terminalHandle,
                            const std::string& message);
 
-   // send text packet to client
+   // send text packet to client (a binary packet, if client asked for them)
    core::Error sendText(const std::string& terminalHandle,
                         const std::string& message);
 
@@ -98,6 +103,10 @@ public:
    int port() const;
 
 private:
+   core::Error send(const std::string& terminalHandle,
+                    const std::string& message,
+                    websocketpp::frame::opcode::value opcode);
+
    void watchSocket();
 
    void releaseAllConnections();
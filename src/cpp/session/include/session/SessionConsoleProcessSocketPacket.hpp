@@ -29,9 +29,20 @@ namespace console_process {
  * First character is a method indicator, as follows:
  *    "a" = send text, e.g. "aHello"
  *    "b" = ping/pong, e.g. "b"
+ *    "c" = client asks for binary output, e.g. "c", or "cdeflate" if it can
+ *          also inflate compressed frames
  *
  * Only the "send text" method has a payload (everything after the "a").
  *
+ * Once a client has asked for binary output, output is sent to it in binary
+ * messages instead. Each binary message holds one or more frames:
+ *
+ *    type (1 byte, "a" for text), flags (1 byte), payload length
+ *    (4 bytes, big-endian), payload
+ *
+ * The payload of a text frame is UTF-8; if flags has kDeflateFlag set, it
+ * is zlib-compressed. Messages from the client are always text.
+ *
  * See TerminalSocketPacket in Java code for client-side of this.
  */
 class ConsoleProcessSocketPacket
@@ -49,9 +60,27 @@ public:
    // extract text from packet (empty string if unable to comply)
    static std::string getMessage(const std::string& text);
 
+   // is this packet asking for binary output?
+   static bool isBinaryMode(const std::string& text);
+
+   // can the client that sent this binary mode packet inflate frames?
+   static bool binaryModeDeflate(const std::string& text);
+
+   // create binary packet for given text, compressing it if deflate is true
+   // and that makes it smaller
+   static std::string binaryTextPacket(const std::string& text, bool deflate);
+
+   static const unsigned char kDeflateFlag = 0x01;
+
 private:
+   static std::string binaryFrame(char type,
+                                  unsigned char flags,
+                                  const std::string& payload);
+
    static const std::string kKeepAlivePrefix;
    static const std::string kTextPrefix;
+   static const std::string kBinaryModePrefix;
+   static const std::string kDeflateOption;
 };
 
 } // namespace console_process
@@ -20,6 +20,7 @@
 #include <shared_core/json/Json.hpp>
 #include <r/RSexp.hpp>
 #include <boost/date_time/posix_time/posix_time.hpp>
+#include <boost/function.hpp>
 
 namespace rstudio {
 namespace session {
@@ -114,9 +115,14 @@ public:
    // execute a custom (user-defined) action
    core::Error executeAction(const std::string& name);
 
-   // add and retrieve output
+   // add and retrieve output; output is numbered from 0 in the order it was
+   // added, and a count of -1 retrieves all of the output after position
    void addOutput(const std::string& output, bool error); 
-   core::json::Array output(int position);
+   core::json::Array output(int position, int count = -1);
+
+   // retrieve (at most) the last count entries of output, and the position
+   // of the first of them
+   core::json::Array outputTail(int count, int* pPosition);
 
    // whether the job pane should should be shown at start
    bool show() const;
@@ -149,6 +155,10 @@ private:
    core::FilePath jobCacheFolder();
    core::FilePath outputCacheFile();
 
+   // reads each entry of persisted output, until the handler returns false
+   void readOutput(
+         const boost::function<bool(int, const std::string&)>& handler);
+
    std::string id_;
    std::string name_;
    std::string status_;
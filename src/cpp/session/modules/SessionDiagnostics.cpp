@@ -767,6 +767,27 @@ module_context::SourceMarkerSet asSourceMarkerSet(
    return SourceMarkerSet("Diagnostics", markers);
 }
 
+// The (in-memory) contents each document had when it was last linted, as
+// sent by the client. Clients send the differences from the last linted
+// contents, so that documents needn't be saved before they're linted.
+struct LintContents
+{
+   std::string revision;
+   std::string contents;
+};
+
+std::map<std::string, LintContents> s_lintContents;
+
+void onDocRemoved(const std::string& id, const std::string&)
+{
+   s_lintContents.erase(id);
+}
+
+void onAllDocsRemoved()
+{
+   s_lintContents.clear();
+}
+
 Error lintRSourceDocument(const json::JsonRpcRequest& request,
                           json::JsonRpcResponse* pResponse)
 {
@@ -779,11 +800,24 @@ Error lintRSourceDocument(const json::JsonRpcRequest& request,
    std::string documentPath;
    bool showMarkersTab = false;
    bool isExplicit = false;
+   
+   // The revision of the contents to lint, and the revision they're patched
+   // from (empty if the replacement holds the complete contents). The
+   // replacement replaces the byte range [offset, offset+length).
+   std::string revision;
+   std::string baseRevision;
+   std::string replacement;
+   int offset = 0, length = 0;
    Error error = json::readParams(request.params,
                                   &documentId,
                                   &documentPath,
                                   &showMarkersTab,
-                                  &isExplicit);
+                                  &isExplicit,
+                                  &revision,
+                                  &baseRevision,
+                                  &replacement,
+                                  &offset,
+                                  &length);
    
    if (error)
    {
@@ -807,9 +841,34 @@ Error lintRSourceDocument(const json::JsonRpcRequest& request,
    if (module_context::isUnmonitoredPackageSourceFile(origin))
       return Success();
    
+   // Apply the client's changes to the contents we last linted; if we no
+   // longer have the revision they're based on, fail the request so that
+   // the client sends the complete contents instead
+   LintContents& lintContents = s_lintContents[documentId];
+   std::string contents;
+   if (baseRevision.empty())
+   {
+      contents = replacement;
+   }
+   else if (baseRevision == lintContents.revision &&
+            offset >= 0 && length >= 0 &&
+            static_cast<std::size_t>(offset + length) <= lintContents.contents.size())
+   {
+      contents = lintContents.contents;
+      contents.replace(offset, length, replacement);
+   }
+   else
+   {
+      s_lintContents.erase(documentId);
+      return Error(json::errc::ParamInvalid, ERROR_LOCATION);
+   }
+   
+   lintContents.revision = revision;
+   lintContents.contents = contents;
+   
    // Extract R code from various R-code-containing filetypes.
    std::string content;
-   error = r_utils::extractRCode(pDoc->contents(), pDoc->type(), &content);
+   error = r_utils::extractRCode(contents, pDoc->type(), &content);
    if (error)
       return error;
    
@@ -1030,6 +1089,8 @@ core::Error initialize()
    using namespace module_context;
    
    events().afterSessionInitHook.connect(afterSessionInitHook);
+   source_database::events().onDocRemoved.connect(onDocRemoved);
+   source_database::events().onRemoveAll.connect(onAllDocsRemoved);
    
    session::projects::FileMonitorCallbacks cb;
    cb.onFilesChanged = onFilesChanged;
@@ -246,6 +246,18 @@ SEXP rs_objectAddress(SEXP objectSEXP)
    return r::sexp::create(ss.str(), &protect);
 }
 
+// checked without forcing the promise, as forcing it could run arbitrary code
+SEXP rs_isUnevaluatedPromise(SEXP nameSEXP, SEXP envirSEXP)
+{
+   SEXP objectSEXP = ::Rf_findVarInFrame(envirSEXP, nameSEXP);
+   bool unevaluated =
+         TYPEOF(objectSEXP) == PROMSXP &&
+         PRVALUE(objectSEXP) == R_UnboundValue;
+   
+   r::sexp::Protect protect;
+   return r::sexp::create(unevaluated, &protect);
+}
+
 SEXP rs_objectAttributes(SEXP objectSEXP)
 {
    return ATTRIB(objectSEXP);
@@ -273,6 +285,7 @@ core::Error initialize()
    RS_REGISTER_CALL_METHOD(rs_getRefCount, 2);
    RS_REGISTER_CALL_METHOD(rs_setRefCount, 3);
    RS_REGISTER_CALL_METHOD(rs_objectAddress, 1);
+   RS_REGISTER_CALL_METHOD(rs_isUnevaluatedPromise, 2);
    RS_REGISTER_CALL_METHOD(rs_objectClass, 1);
    RS_REGISTER_CALL_METHOD(rs_objectAttributes, 1);
    RS_REGISTER_CALL_METHOD(rs_explorerCacheDir, 0);
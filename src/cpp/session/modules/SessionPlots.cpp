@@ -105,6 +105,39 @@ Error refreshPlot(const json::JsonRpcRequest& request,
    return Success();
 }
 
+// returns the image filenames of the plots in the given (inclusive) range of
+// indices, so the client can prefetch plots adjacent to the active one. an
+// empty string is returned for plots without a rendered image (requests for
+// those would be redirected to the active plot's image).
+Error getPlotImageFilenames(const json::JsonRpcRequest& request,
+                            json::JsonRpcResponse* pResponse)
+{
+   int first, last;
+   Error error = json::readParams(request.params, &first, &last);
+   if (error)
+      return error;
+
+   r::session::graphics::Display& display = r::session::graphics::display();
+   json::Array filenamesJson;
+   for (int i = first; i <= last; i++)
+   {
+      std::string filename;
+      if (i >= 0 && i < display.plotCount() &&
+          !display.plotImageFilename(i, &filename) &&
+          display.imagePath(filename).exists())
+      {
+         filenamesJson.push_back(filename);
+      }
+      else
+      {
+         filenamesJson.push_back(std::string());
+      }
+   }
+
+   pResponse->setResult(filenamesJson);
+   return Success();
+}
+
 json::Object boolObject(bool value)
 {
    json::Object boolObject ;
@@ -904,6 +937,7 @@ Error initialize()
       (bind(registerRpcMethod, "remove_plot", removePlot))
       (bind(registerRpcMethod, "clear_plots", clearPlots))
       (bind(registerRpcMethod, "refresh_plot", refreshPlot))
+      (bind(registerRpcMethod, "get_plot_image_filenames", getPlotImageFilenames))
       (bind(registerRpcMethod, "save_plot_as", savePlotAs))
       (bind(registerRpcMethod, "save_plot_as_pdf", savePlotAsPdf))
       (bind(registerRpcMethod, "copy_plot_to_clipboard_metafile", copyPlotToClipboardMetafile))
@@ -1396,6 +1396,25 @@ SEXP rs_readSourceDocument(SEXP idSEXP)
    return r::sexp::create(pDoc->contents(), &protect);
 }
 
+// documents smaller than this are always sent with their contents
+const std::size_t kDeferContentsMinSize = 16 * 1024;
+
+bool canDeferContents(boost::shared_ptr<SourceDocument> pDoc,
+                      json::Object& jsonDoc)
+{
+   // the client restores unmodified, file-backed documents without an editor
+   // until their tabs are used, so it can fetch their contents on demand
+   if (pDoc->dirty() || pDoc->path().empty() || !pDoc->collabServer().empty())
+      return false;
+
+   if (pDoc->contents().size() < kDeferContentsMinSize)
+      return false;
+
+   // read-only documents are presented differently, so are restored eagerly
+   json::Value readOnly = jsonDoc["read_only"];
+   return !(readOnly.isBool() && readOnly.getBool());
+}
+
 } // anonymous namespace
 
 Error clientInitDocuments(core::json::Array* pJsonDocs)
@@ -1430,6 +1449,15 @@ Error clientInitDocuments(core::json::Array* pJsonDocs)
 
       json::Object jsonDoc ;
       writeDocToJson(pDoc, &jsonDoc);
+
+      // keep the session info small: large documents' contents are fetched
+      // by the client (via get_source_document) when they are first needed
+      if (canDeferContents(pDoc, jsonDoc))
+      {
+         jsonDoc["contents"] = std::string();
+         jsonDoc["contents_deferred"] = true;
+      }
+
       pJsonDocs->push_back(jsonDoc);
 
       source_database::events().onDocUpdated(pDoc);
@@ -365,15 +365,37 @@ void connectionListObjects(const json::JsonRpcRequest& request,
       return;
    }
 
+   // get paging and filter params
+   int offset = 0, limit = 0;
+   std::string filter;
+   bool refresh = false;
+   error = json::readParam(request.params, 2, &offset);
+   if (!error)
+      error = json::readParam(request.params, 3, &limit);
+   if (!error)
+      error = json::readParam(request.params, 4, &filter);
+   if (!error)
+      error = json::readParam(request.params, 5, &refresh);
+   if (error)
+   {
+      json::JsonRpcResponse response;
+      continuation(error, &response);
+      return;
+   }
+
    // response
    json::JsonRpcResponse response;
 
-   // get the list of objects
+   // get the page of objects
    SEXP objects;
    r::sexp::Protect protect;
-   r::exec::RFunction listObjects(".rs.connectionListObjects",
+   r::exec::RFunction listObjects(".rs.connectionListObjectsPage",
                                  connectionId.type,
                                  connectionId.host);
+   listObjects.addParam("offset", offset);
+   listObjects.addParam("limit", limit);
+   listObjects.addParam("filter", filter);
+   listObjects.addParam("refresh", refresh);
    addObjectSpecifiers(objectSpecifier, &listObjects);
    error = listObjects.call(&objects, &protect);
    if (error)
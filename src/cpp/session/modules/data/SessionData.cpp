@@ -40,10 +40,11 @@ class AsyncDataPreviewRProcess : public async_r::AsyncRProcess
 public:
    static boost::shared_ptr<AsyncDataPreviewRProcess> create(
            const json::JsonRpcRequest& request,
-           const json::JsonRpcFunctionContinuation& continuation)
+           const json::JsonRpcFunctionContinuation& continuation,
+           const FilePath& cacheDir)
    {
       boost::shared_ptr<AsyncDataPreviewRProcess> pDataPreview(
-                  new AsyncDataPreviewRProcess(request, continuation));
+                  new AsyncDataPreviewRProcess(request, continuation, cacheDir));
       pDataPreview->start();
       return pDataPreview;
    }
@@ -51,9 +52,11 @@ public:
 private:
    AsyncDataPreviewRProcess(
            const json::JsonRpcRequest& request,
-           const json::JsonRpcFunctionContinuation& continuation) :
+           const json::JsonRpcFunctionContinuation& continuation,
+           const FilePath& cacheDir) :
        continuation_(continuation),
-       request_(request)
+       request_(request),
+       cacheDir_(cacheDir)
    {
    }
 
@@ -78,7 +81,14 @@ private:
       r::sexp::Protect rProtect;
       r::exec::RFunction rFunction("saveRDS");
 
-      rFunction.addParam(request.params);
+      // the preview (which runs in a separate process) caches the rows it
+      // reads in the cache directory, so that previews of the same file with
+      // different options don't need to read the file again
+      json::Array params = request.params;
+      if (params.getSize() == 3)
+         params.push_back(cacheDir_.getAbsolutePath());
+
+      rFunction.addParam(params);
       rFunction.addParam("file", inputLocation_);
 
       SEXP resultSEXP;
@@ -199,24 +209,39 @@ private:
 
    std::string inputLocation_;
    std::string outputLocation_;
+   FilePath cacheDir_;
 };
 
 boost::shared_ptr<AsyncDataPreviewRProcess> s_pActiveDataPreview;
 
+FilePath previewCacheDir()
+{
+   static FilePath s_cacheDir;
+   if (s_cacheDir.isEmpty())
+   {
+      s_cacheDir = module_context::tempFile("data-import-preview", "dir");
+      Error error = s_cacheDir.ensureDirectory();
+      if (error)
+         LOG_ERROR(error);
+   }
+   return s_cacheDir;
+}
+
 bool getPreviewDataImportAsync(
         const json::JsonRpcRequest& request,
         const json::JsonRpcFunctionContinuation& continuation)
 {
+   // a new preview supersedes the one in progress (which completes with an
+   // empty result once it's terminated)
    if (s_pActiveDataPreview &&
        s_pActiveDataPreview->isRunning())
    {
-      return true;
-   }
-   else
-   {
-      s_pActiveDataPreview = AsyncDataPreviewRProcess::create(request, continuation);
-      return false;
+      s_pActiveDataPreview->terminate();
    }
+
+   s_pActiveDataPreview = AsyncDataPreviewRProcess::create(
+            request, continuation, previewCacheDir());
+   return false;
 }
 
 Error abortPreviewDataImportAsync(const json::JsonRpcRequest& request,
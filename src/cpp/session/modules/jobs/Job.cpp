@@ -16,6 +16,7 @@
 #include <session/jobs/Job.hpp>
 
 #include <ctime>
+#include <deque>
 
 #include <boost/make_shared.hpp>
 #include <core/json/JsonRpc.hpp>
@@ -423,10 +424,53 @@ void Job::addOutput(const std::string& output, bool asError)
    *file << std::endl;
 }
 
-json::Array Job::output(int position)
+json::Array Job::output(int position, int count)
 {
-   // read the lines from the file
    json::Array output;
+   readOutput([&](int entry, const std::string& content)
+   {
+      if (count >= 0 && entry >= position + count)
+         return false;
+
+      json::Value val;
+      if (entry >= position && !val.parse(content))
+         output.push_back(val);
+      return true;
+   });
+
+   return output;
+}
+
+json::Array Job::outputTail(int count, int* pPosition)
+{
+   // keep only the last count entries as we read
+   std::deque<std::string> tail;
+   int total = 0;
+   readOutput([&](int entry, const std::string& content)
+   {
+      tail.push_back(content);
+      if (static_cast<int>(tail.size()) > count)
+         tail.pop_front();
+      total = entry + 1;
+      return true;
+   });
+
+   json::Array output;
+   for (const std::string& content : tail)
+   {
+      json::Value val;
+      if (!val.parse(content))
+         output.push_back(val);
+   }
+
+   *pPosition = total - static_cast<int>(tail.size());
+   return output;
+}
+
+void Job::readOutput(
+      const boost::function<bool(int, const std::string&)>& handler)
+{
+   // read the lines from the file
    FilePath outputFile = outputCacheFile();
    std::shared_ptr<std::istream> pIfs;
    Error error = outputFile.openForRead(pIfs);
@@ -435,30 +479,26 @@ json::Array Job::output(int position)
       // path not found is expected if the job hasn't produced any output yet
       if (!isPathNotFoundError(error))
          LOG_ERROR(error);
-      return json::Array();
+      return;
    }
 
    try
    {
-      int line = 0;
+      int entry = 0;
       std::string content;
-      json::Value val;
 
       // reading eof can trigger a failbit
       pIfs->exceptions(std::istream::badbit);
 
-      // read each line; parse it as JSON and add it to the output array if it's past the sought
-      // position
+      // read each line (the file is newline-delimited JSON, so each
+      // non-empty line is an entry)
       while (!pIfs->eof())
       {
          std::getline(*pIfs, content);
-         if (++line > position)
-         {
-            if (!val.parse(content))
-            {
-               output.push_back(val);
-            }
-         }
+         if (content.empty())
+            continue;
+         if (!handler(entry++, content))
+            break;
       }
    }
    catch(const std::exception& e)
@@ -469,8 +509,6 @@ json::Array Job::output(int position)
       error.addProperty("path", outputFile.getAbsolutePath());
       LOG_ERROR(error);
    }
-
-   return output;
 }
 
 void Job::cleanup()
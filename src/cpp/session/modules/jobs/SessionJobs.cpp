@@ -18,6 +18,9 @@
 #include <shared_core/Error.hpp>
 #include <core/Exec.hpp>
 #include <core/system/System.hpp>
+#include <core/http/Request.hpp>
+#include <core/http/Response.hpp>
+#include <core/http/Util.hpp>
 
 #include <r/RSexp.hpp>
 #include <r/RExec.hpp>
@@ -295,17 +298,56 @@ Error jobOutput(const json::JsonRpcRequest& request,
    if (error)
       return error;
 
+   // read the (optional) number of entries to return
+   int count = -1;
+   if (request.params.getSize() > 2)
+   {
+      error = json::readParam(request.params, 2, &count);
+      if (error)
+         return error;
+   }
+
    // look up in cache
    boost::shared_ptr<Job> pJob;
    if (!lookupJob(id, &pJob))
       return Error(json::errc::ParamInvalid, ERROR_LOCATION);
 
    // show output
-   pResponse->setResult(pJob->output(position));
+   pResponse->setResult(pJob->output(position, count));
 
    return Success();
 }
 
+// downloads all of a job's output as text
+void handleJobOutputRequest(const http::Request& request,
+                            http::Response* pResponse)
+{
+   boost::shared_ptr<Job> pJob;
+   if (!lookupJob(request.queryParamValue("id"), &pJob))
+   {
+      pResponse->setNotFoundError(request);
+      return;
+   }
+
+   std::string text;
+   json::Array output = pJob->output(0);
+   for (const json::Value& entry : output)
+   {
+      if (entry.isArray() && entry.getArray().getSize() > 1 &&
+          entry.getArray()[1].isString())
+      {
+         text.append(entry.getArray()[1].getString());
+      }
+   }
+
+   pResponse->setNoCacheHeaders();
+   pResponse->setHeader("Content-Disposition",
+                        "attachment; filename*=UTF-8''" +
+                           http::util::urlEncode(pJob->name() + ".txt", false));
+   pResponse->setContentType("text/plain");
+   pResponse->setBody(text);
+}
+
 Error runScriptJob(const json::JsonRpcRequest& request,
                    json::JsonRpcResponse* pResponse)
 {
@@ -370,7 +412,9 @@ Error setJobListening(const json::JsonRpcRequest& request,
    // extract job ID
    std::string id;
    bool listening, bypassLauncherCall;
-   Error error = json::readParams(request.params, &id, &listening, &bypassLauncherCall);
+   int maxEntries;
+   Error error = json::readParams(request.params, &id, &listening, &bypassLauncherCall,
+         &maxEntries);
    if (error)
       return error;
 
@@ -382,10 +426,15 @@ Error setJobListening(const json::JsonRpcRequest& request,
    if (pJob->type() == JobType::JobTypeLauncher && !bypassLauncherCall)
       modules::overlay::streamLauncherOutput(id, listening);
 
-   // if listening started, return the output so far
+   // if listening started, return the most recent output (the client can
+   // request earlier output as needed), and where it starts
    if (listening)
    {
-      pResponse->setResult(pJob->output(0));
+      int position = 0;
+      json::Object result;
+      result["output"] = pJob->outputTail(maxEntries, &position);
+      result["position"] = position;
+      pResponse->setResult(result);
    }
 
    // begin/end listening
@@ -474,6 +523,7 @@ core::Error initialize()
       (bind(module_context::registerRpcMethod, "get_jobs", getJobs))
       (bind(module_context::registerRpcMethod, "job_output", jobOutput))
       (bind(module_context::registerRpcMethod, "set_job_listening", setJobListening))
+      (bind(module_context::registerUriHandler, "/job_output", handleJobOutputRequest))
       (bind(module_context::registerRpcMethod, "run_script_job", runScriptJob))
       (bind(module_context::registerRpcMethod, "clear_jobs", clearJobs))
       (bind(module_context::registerRpcMethod, "execute_job_action", executeJobAction))
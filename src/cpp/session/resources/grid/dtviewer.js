@@ -18,6 +18,9 @@
   // the data table itself
   var table;
 
+  // the scroll position to restore once new data has been drawn
+  var restoreScrollTop = 0;
+
   // the column definitions from the server
   var cols;
 
@@ -454,6 +457,21 @@
       $.fn.dataTableExt.internal._fnScrollDraw($("#rsGridData").DataTable().settings()[0]);
     }
     window.clearTimeout(loadingTimer);
+
+    checkScrollEnd();
+  };
+
+  // lets the host know when the last rows of the table have been drawn, so
+  // that it can supply more rows (used by previews of partial data)
+  var checkScrollEnd = function () {
+    if (!table || !table.scroller) {
+      return;
+    }
+
+    var info = table.page.info();
+    if (info.recordsTotal > 0 && table.scroller.page().end >= info.recordsTotal - 1) {
+      window.scrollEndCallback();
+    }
   };
 
   // returns the effective search value for a column (strips the type prefix)
@@ -1456,6 +1474,12 @@
           if (data.columns) {
             initDataTable(data.columns, data.data);
           }
+
+          // when more rows have been supplied, stay where the user was
+          if (restoreScrollTop > 0) {
+            $(".dataTables_scrollBody").scrollTop(restoreScrollTop);
+            restoreScrollTop = 0;
+          }
         });
       });
     }
@@ -1583,7 +1607,8 @@
     scrollBody.off("scroll");
   };
 
-  window.setData = function (data) {
+  window.setData = function (data, keepScrollPosition) {
+    restoreScrollTop = keepScrollPosition ? $(".dataTables_scrollBody").scrollTop() : 0;
     bootstrap(data);
   };
 
@@ -1610,6 +1635,9 @@
       case "columnFrameCallback":
         window.columnFrameCallback = value;
         break;
+      case "scrollEndCallback":
+        window.scrollEndCallback = value;
+        break;
     }
   };
 
@@ -1626,6 +1654,9 @@
   // callback for updating the GWT column widget
   window.columnFrameCallback = function () {};
 
+  // callback for when the last rows have been drawn
+  window.scrollEndCallback = function () {};
+
   window.getActiveColumn = function () {
     return activeColumnInfo;
   };
@@ -15,11 +15,16 @@
  */
 package com.sksamuel.gwt.websockets;
 
+import com.google.gwt.core.client.JavaScriptObject;
 
 /**
  * @author Stephen Samuel
  */
 public interface BinaryWebsocketListener extends WebsocketListener {
 
-    void onMessage(byte[] bytes);
+    /**
+     * Called for binary messages; text messages go to onMessage(String).
+     * @param data the message, as an ArrayBuffer
+     */
+    void onBinaryMessage(JavaScriptObject data);
 }
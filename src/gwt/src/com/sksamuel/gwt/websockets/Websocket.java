@@ -18,6 +18,8 @@ package com.sksamuel.gwt.websockets;
 import java.util.HashSet;
 import java.util.Set;
 
+import com.google.gwt.core.client.JavaScriptObject;
+
 /**
  * @author Stephen K Samuel 14 Sep 2012 08:58:55
  */
@@ -49,10 +51,16 @@ public class Websocket {
 
     private native void _open(Websocket ws, String s, String url) /*-{
         $wnd[s] = new WebSocket(url);
+        $wnd[s].binaryType = "arraybuffer";
         $wnd[s].onopen = function() { ws.@com.sksamuel.gwt.websockets.Websocket::onOpen()(); };
         $wnd[s].onclose = function(evt) { ws.@com.sksamuel.gwt.websockets.Websocket::onClose(SLjava/lang/String;Z)(evt.code, evt.reason, evt.wasClean); };
         $wnd[s].onerror = function() { ws.@com.sksamuel.gwt.websockets.Websocket::onError()(); };
-        $wnd[s].onmessage = function(msg) { ws.@com.sksamuel.gwt.websockets.Websocket::onMessage(Ljava/lang/String;)(msg.data); }
+        $wnd[s].onmessage = function(msg) {
+            if (typeof msg.data === "string")
+                ws.@com.sksamuel.gwt.websockets.Websocket::onMessage(Ljava/lang/String;)(msg.data);
+            else
+                ws.@com.sksamuel.gwt.websockets.Websocket::onBinaryMessage(Lcom/google/gwt/core/client/JavaScriptObject;)(msg.data);
+        }
     }-*/;
 
     private native void _send(String s, String msg) /*-{
@@ -63,6 +71,10 @@ public class Websocket {
         return $wnd[s].readyState;
     }-*/;
 
+    private native int _bufferedAmount(String s) /*-{
+        return $wnd[s].bufferedAmount;
+    }-*/;
+
     public void addListener(WebsocketListener listener) {
         listeners.add(listener);
     }
@@ -78,6 +90,10 @@ public class Websocket {
         return _state(varName);
     }
 
+    public int getBufferedAmount() {
+        return _bufferedAmount(varName);
+    }
+
     protected void onClose(short code, String reason, boolean wasClean) {
         CloseEvent event = new CloseEvent(code, reason, wasClean);
         for (WebsocketListener listener : listeners)
@@ -93,11 +109,14 @@ public class Websocket {
     }
 
     protected void onMessage(String msg) {
-        for (WebsocketListener listener : listeners) {
+        for (WebsocketListener listener : listeners)
             listener.onMessage(msg);
+    }
+
+    protected void onBinaryMessage(JavaScriptObject data) {
+        for (WebsocketListener listener : listeners) {
             if (listener instanceof BinaryWebsocketListener) {
-                byte[] bytes = Base64Utils.fromBase64(msg);
-                ((BinaryWebsocketListener) listener).onMessage(bytes);
+                ((BinaryWebsocketListener) listener).onBinaryMessage(data);
             }
         }
     }
@@ -0,0 +1,126 @@
+/*
+ * LruCache.java
+ *
+ * Copyright (C) 2020 by RStudio, PBC
+ *
+ * Unless you have received this program directly from RStudio pursuant
+ * to the terms of a commercial license agreement with RStudio, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.core.client;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A map with bounded capacity which evicts its least recently used entries.
+ */
+public class LruCache<K, V>
+{
+   public interface EvictionHandler<K, V>
+   {
+      void onEvicted(K key, V value);
+   }
+
+   public LruCache(int capacity)
+   {
+      this(capacity, null);
+   }
+
+   /**
+    * @param capacity The maximum number of entries to keep
+    * @param evictionHandler Notified when an entry is evicted, replaced, or
+    *    removed (e.g. to release resources owned by the value); may be null
+    */
+   public LruCache(int capacity, EvictionHandler<K, V> evictionHandler)
+   {
+      capacity_ = capacity;
+      evictionHandler_ = evictionHandler;
+      map_ = new LinkedHashMap<K, V>(16, 0.75f, true);
+   }
+
+   /**
+    * Gets the value for the given key, marking it as most recently used.
+    */
+   public V get(K key)
+   {
+      return map_.get(key);
+   }
+
+   public boolean containsKey(K key)
+   {
+      return map_.containsKey(key);
+   }
+
+   public void put(K key, V value)
+   {
+      V previous = map_.put(key, value);
+      if (previous != null && previous != value)
+         onEvicted(key, previous);
+
+      while (map_.size() > capacity_)
+      {
+         Iterator<Map.Entry<K, V>> it = map_.entrySet().iterator();
+         Map.Entry<K, V> eldest = it.next();
+         it.remove();
+         onEvicted(eldest.getKey(), eldest.getValue());
+      }
+   }
+
+   public V remove(K key)
+   {
+      V value = map_.remove(key);
+      if (value != null)
+         onEvicted(key, value);
+      return value;
+   }
+
+   /**
+    * Removes all entries whose keys are accepted by the given predicate.
+    */
+   public void removeIf(Functional.Predicate<K> predicate)
+   {
+      for (K key: keys())
+      {
+         if (predicate.test(key))
+            remove(key);
+      }
+   }
+
+   public void clear()
+   {
+      for (K key: keys())
+         remove(key);
+   }
+
+   public int size()
+   {
+      return map_.size();
+   }
+
+   /**
+    * @return A snapshot of the keys, least recently used first
+    */
+   public List<K> keys()
+   {
+      return new ArrayList<K>(map_.keySet());
+   }
+
+   private void onEvicted(K key, V value)
+   {
+      if (evictionHandler_ != null)
+         evictionHandler_.onEvicted(key, value);
+   }
+
+   private final int capacity_;
+   private final EvictionHandler<K, V> evictionHandler_;
+   private final LinkedHashMap<K, V> map_;
+}
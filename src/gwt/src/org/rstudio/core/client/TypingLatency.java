@@ -0,0 +1,217 @@
+/*
+ * TypingLatency.java
+ *
+ * Copyright (C) 2020 by RStudio, PBC
+ *
+ * Unless you have received this program directly from RStudio pursuant
+ * to the terms of a commercial license agreement with RStudio, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.core.client;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import com.google.gwt.dom.client.NativeEvent;
+import com.google.gwt.user.client.Command;
+
+/**
+ * Measures typing latency: the time from a key being pressed until the frame
+ * reflecting it has been painted. Code which runs in response to typing can
+ * attribute the time it takes to a named handler (using start() and stop()),
+ * so that slow handlers can be found.
+ *
+ * Nothing is measured unless measurement has been enabled (e.g. while the
+ * typing latency diagnostics are shown).
+ */
+public class TypingLatency
+{
+   public static final String SOURCE_EDITOR = "Source editor";
+   public static final String CONSOLE = "Console";
+   public static final String OTHER = "Other";
+
+   /**
+    * A rolling window of (the most recent) timing samples.
+    */
+   public static class Samples
+   {
+      public void add(double sample)
+      {
+         samples_[next_] = sample;
+         next_ = (next_ + 1) % samples_.length;
+         count_ = Math.min(count_ + 1, samples_.length);
+      }
+
+      public int getCount()
+      {
+         return count_;
+      }
+
+      /**
+       * @param percentile The percentile, between 0 and 100
+       * @return The sample at the given percentile, in milliseconds
+       */
+      public double getPercentile(double percentile)
+      {
+         if (count_ == 0)
+            return 0;
+
+         double[] sorted = Arrays.copyOf(samples_, count_);
+         Arrays.sort(sorted);
+         int index = (int) Math.ceil(percentile / 100 * count_) - 1;
+         return sorted[Math.max(0, Math.min(index, count_ - 1))];
+      }
+
+      private final double[] samples_ = new double[MAX_SAMPLES];
+      private int next_ = 0;
+      private int count_ = 0;
+   }
+
+   public static boolean isEnabled()
+   {
+      return enabled_;
+   }
+
+   public static void setEnabled(boolean enabled)
+   {
+      enabled_ = enabled;
+   }
+
+   public static void reset()
+   {
+      latency_.clear();
+      handlers_.clear();
+   }
+
+   /**
+    * Begins measuring the latency of a key press. Key presses which occur
+    * before the frame for a previous key press is painted are not measured
+    * separately.
+    */
+   public static void onKeyDown(NativeEvent event)
+   {
+      if (!enabled_ || measuring_)
+         return;
+
+      measuring_ = true;
+      final String category = getCategory(event);
+      final double start = getEventTime(event);
+      afterNextPaint(new Command()
+      {
+         @Override
+         public void execute()
+         {
+            measuring_ = false;
+            getSamples(latency_, category).add(now() - start);
+         }
+      });
+   }
+
+   /**
+    * @return A start time for stop(), or 0 if latency isn't being measured
+    */
+   public static double start()
+   {
+      return enabled_ ? now() : 0;
+   }
+
+   /**
+    * Attributes the time since start() to the given handler.
+    */
+   public static void stop(String handler, double start)
+   {
+      if (!enabled_ || start == 0)
+         return;
+
+      getSamples(handlers_, handler).add(now() - start);
+   }
+
+   public static List<String> getCategories()
+   {
+      return new ArrayList<String>(latency_.keySet());
+   }
+
+   /**
+    * @return Key press latencies for the given category, in milliseconds
+    */
+   public static Samples getLatency(String category)
+   {
+      return latency_.get(category);
+   }
+
+   public static List<String> getHandlers()
+   {
+      return new ArrayList<String>(handlers_.keySet());
+   }
+
+   /**
+    * @return Time taken by each invocation of the given handler, in
+    *    milliseconds
+    */
+   public static Samples getHandlerTime(String handler)
+   {
+      return handlers_.get(handler);
+   }
+
+   private static Samples getSamples(LinkedHashMap<String, Samples> map,
+                                     String name)
+   {
+      Samples samples = map.get(name);
+      if (samples == null)
+      {
+         samples = new Samples();
+         map.put(name, samples);
+      }
+      return samples;
+   }
+
+   private static native String getCategory(NativeEvent event) /*-{
+      var target = event.target;
+      if (!target || !target.closest)
+         return @org.rstudio.core.client.TypingLatency::OTHER;
+      if (target.closest("#rstudio_console_input"))
+         return @org.rstudio.core.client.TypingLatency::CONSOLE;
+      if (target.closest(".ace_editor"))
+         return @org.rstudio.core.client.TypingLatency::SOURCE_EDITOR;
+      return @org.rstudio.core.client.TypingLatency::OTHER;
+   }-*/;
+
+   // the time the event occurred, if the browser provides it on the same
+   // clock as performance.now()
+   private static native double getEventTime(NativeEvent event) /*-{
+      var now = $wnd.performance.now();
+      var time = event.timeStamp;
+      return (time > 0 && time <= now) ? time : now;
+   }-*/;
+
+   private static native double now() /*-{
+      return $wnd.performance.now();
+   }-*/;
+
+   // executes the command once the next frame has been painted (frame
+   // callbacks run just before painting, so wait for the following task)
+   private static native void afterNextPaint(Command command) /*-{
+      $wnd.requestAnimationFrame($entry(function() {
+         $wnd.setTimeout($entry(function() {
+            command.@com.google.gwt.user.client.Command::execute()();
+         }), 0);
+      }));
+   }-*/;
+
+   private static boolean enabled_ = false;
+   private static boolean measuring_ = false;
+
+   private static final LinkedHashMap<String, Samples> latency_ =
+         new LinkedHashMap<String, Samples>();
+   private static final LinkedHashMap<String, Samples> handlers_ =
+         new LinkedHashMap<String, Samples>();
+
+   private static final int MAX_SAMPLES = 500;
+}
@@ -28,6 +28,7 @@ import org.rstudio.core.client.BrowseCap;
 import org.rstudio.core.client.ElementIds;
 import org.rstudio.core.client.Pair;
 import org.rstudio.core.client.StringUtil;
+import org.rstudio.core.client.TypingLatency;
 import org.rstudio.core.client.command.KeyMap.CommandBinding;
 import org.rstudio.core.client.command.KeyMap.KeyMapType;
 import org.rstudio.core.client.dom.DomUtils;
@@ -329,6 +330,7 @@ public class ShortcutManager implements NativePreviewHandler,
       keyTimer_.schedule(3000);
       if (event.getTypeInt() == Event.ONKEYDOWN)
       {
+         TypingLatency.onKeyDown(event.getNativeEvent());
          if (handleKeyDown(event.getNativeEvent()))
          {
             event.cancel();
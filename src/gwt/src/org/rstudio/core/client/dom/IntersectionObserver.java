@@ -0,0 +1,97 @@
+/*
+ * IntersectionObserver.java
+ *
+ * Copyright (C) 2020 by RStudio, PBC
+ *
+ * Unless you have received this program directly from RStudio pursuant
+ * to the terms of a commercial license agreement with RStudio, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.core.client.dom;
+
+import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.dom.client.Element;
+
+/**
+ * A wrapper class around the JavaScript IntersectionObserver, observing
+ * intersection with the viewport.
+ * See: https://developer.mozilla.org/en-US/docs/Web/API/IntersectionObserver
+ */
+public class IntersectionObserver
+{
+   public interface Callback
+   {
+      void onIntersectionChanged(Element el, boolean intersecting);
+   }
+
+   /**
+    * @param callback Invoked for each observed element whose intersection
+    *    state changes
+    * @param rootMargin Margin around the viewport (CSS syntax, e.g. "200px")
+    *    within which elements are considered intersecting
+    */
+   public IntersectionObserver(Callback callback, String rootMargin)
+   {
+      observer_ = observerCreate(callback, rootMargin);
+   }
+
+   public static native boolean isSupported()
+   /*-{
+      return typeof $wnd.IntersectionObserver === "function";
+   }-*/;
+
+   public void observe(Element el)
+   {
+      observerObserve(observer_, el);
+   }
+
+   public void unobserve(Element el)
+   {
+      observerUnobserve(observer_, el);
+   }
+
+   public void disconnect()
+   {
+      observerDisconnect(observer_);
+   }
+
+   private static final native JavaScriptObject observerCreate(Callback callback,
+                                                               String rootMargin)
+   /*-{
+
+      var handler = $entry(function(entries) {
+         for (var i = 0; i < entries.length; i++) {
+            callback.@org.rstudio.core.client.dom.IntersectionObserver.Callback::onIntersectionChanged(*)(
+               entries[i].target,
+               entries[i].isIntersecting);
+         }
+      });
+
+      return new $wnd.IntersectionObserver(handler, { rootMargin: rootMargin });
+
+   }-*/;
+
+   private static final native void observerObserve(JavaScriptObject observer,
+                                                    Element el)
+   /*-{
+      observer.observe(el);
+   }-*/;
+
+   private static final native void observerUnobserve(JavaScriptObject observer,
+                                                      Element el)
+   /*-{
+      observer.unobserve(el);
+   }-*/;
+
+   private static final native void observerDisconnect(JavaScriptObject observer)
+   /*-{
+      observer.disconnect();
+   }-*/;
+
+   private final JavaScriptObject observer_;
+}
@@ -19,6 +19,7 @@ import org.rstudio.core.client.dom.WindowEx;
 import org.rstudio.studio.client.workbench.views.environment.dataimport.DataImportDataActiveColumn;
 
 import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.user.client.Command;
 
 public class GridViewerFrame extends RStudioThemedFrame
 {
@@ -46,9 +47,27 @@ public class GridViewerFrame extends RStudioThemedFrame
    }
    
    public void setData(JavaScriptObject data)
+   {
+      setData(data, false);
+   }
+   
+   /**
+    * @param keepScrollPosition Whether to keep the grid scrolled to the same
+    *    position (e.g. when the data has more rows than before)
+    */
+   public void setData(JavaScriptObject data, boolean keepScrollPosition)
+   {
+      WindowEx gridViewerFrameWindow = getIFrame().getContentWindow();
+      setDataNative(gridViewerFrameWindow, data, keepScrollPosition);
+   }
+   
+   /**
+    * Sets a command to execute when the last rows of the data are drawn.
+    */
+   public void setScrollEndCallback(Command onScrollEnd)
    {
       WindowEx gridViewerFrameWindow = getIFrame().getContentWindow();
-      setDataNative(gridViewerFrameWindow, data);
+      setScrollEndCallbackNative(gridViewerFrameWindow, onScrollEnd);
    }
    
    public void setOption(String option, String value)
@@ -88,8 +107,20 @@ public class GridViewerFrame extends RStudioThemedFrame
    
    private final native void setDataNative(
       WindowEx frameContentWindow,
-      JavaScriptObject data) /*-{
-      frameContentWindow.setData(data);
+      JavaScriptObject data,
+      boolean keepScrollPosition) /*-{
+      frameContentWindow.setData(data, keepScrollPosition);
+   }-*/;
+   
+   private final native void setScrollEndCallbackNative(
+      WindowEx frameContentWindow,
+      Command onScrollEnd) /*-{
+      frameContentWindow.setOption(
+         "scrollEndCallback",
+         $entry(function () {
+            onScrollEnd.@com.google.gwt.user.client.Command::execute()()
+         })
+      );
    }-*/;
    
    private final native void setOptionNative(
@@ -14,7 +14,10 @@
  */
 package org.rstudio.core.client.widget;
 
+import org.rstudio.core.client.CommandWithArg;
+
 import com.google.gwt.dom.client.Element;
+import com.google.gwt.dom.client.ImageElement;
 import com.google.gwt.user.client.Timer;
 import com.google.gwt.user.client.ui.Frame;
 
@@ -64,8 +67,21 @@ public class ImageFrame extends Frame
    }
    
    public void setImageUrl(String url)
+   {
+      setImageUrl(url, null);
+   }
+
+   /**
+    * Shows an image.
+    *
+    * @param url The URL of the image
+    * @param onLoaded Called with the image element once the image has
+    *    loaded, unless another image is shown first (may be null)
+    */
+   public void setImageUrl(String url, CommandWithArg<ImageElement> onLoaded)
    {
       url_ = url;
+      onImageLoaded_ = onLoaded;
       if (isAttached())
          replaceLocation(getElement(), url);
    }
@@ -86,6 +102,17 @@ public class ImageFrame extends Frame
       return true;
    }-*/;
 
+   private void onImageLoaded(ImageElement img)
+   {
+      if (onImageLoaded_ == null || url_ == null ||
+          !url_.equals(img.getAttribute("src")))
+         return;
+
+      CommandWithArg<ImageElement> onLoaded = onImageLoaded_;
+      onImageLoaded_ = null;
+      onLoaded.execute(img);
+   }
+
    private native boolean isReadyForContent(Element el) /*-{
       return el != null
             && el.contentWindow != null
@@ -93,6 +120,7 @@ public class ImageFrame extends Frame
    }-*/;
 
    private native void setupContent(Element el, String sizing) /*-{
+      var self = this;
       var doc = el.contentWindow.document;
 
       // setupContent can get called multiple times, as progress causes the
@@ -105,10 +133,16 @@ public class ImageFrame extends Frame
       doc.write(
          '<html><head></head>' +
          '<body style="margin: 0; padding: 0; overflow: hidden; border: none">' +
-         '<img id="img" ' + sizing + ' style="display: none" src="data:image/gif;base64,R0lGODlhAQABAAD/ACwAAAAAAQABAAACADs%3D">' +
+         '<img id="img" ' + sizing + ' style="display: none; object-fit: contain" src="data:image/gif;base64,R0lGODlhAQABAAD/ACwAAAAAAQABAAACADs%3D">' +
          '</body></html>');
       doc.close();
+
+      var img = doc.getElementById('img');
+      img.addEventListener('load', $entry(function() {
+         self.@org.rstudio.core.client.widget.ImageFrame::onImageLoaded(*)(img);
+      }));
    }-*/;
 
    private String url_ = "javascript:false";
+   private CommandWithArg<ImageElement> onImageLoaded_;
 }
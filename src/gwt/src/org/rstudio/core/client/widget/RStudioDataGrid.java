@@ -20,7 +20,11 @@ import com.google.gwt.core.client.Scheduler;
 import com.google.gwt.dom.client.Element;
 import com.google.gwt.dom.client.NodeList;
 import com.google.gwt.dom.client.Style.Overflow;
+import com.google.gwt.event.dom.client.ScrollHandler;
+import com.google.gwt.event.shared.HandlerRegistration;
 import com.google.gwt.user.cellview.client.DataGrid;
+import com.google.gwt.user.client.ui.HeaderPanel;
+import com.google.gwt.user.client.ui.ScrollPanel;
 import com.google.gwt.view.client.ProvidesKey;
 
 public class RStudioDataGrid<T> extends DataGrid<T>
@@ -45,6 +49,22 @@ public class RStudioDataGrid<T> extends DataGrid<T>
       super(max, res, keyProvider);
    }
    
+   public HeaderPanel getHeaderPanel()
+   {
+      return (HeaderPanel) getWidget();
+   }
+   
+   public ScrollPanel getScrollPanel()
+   {
+      return (ScrollPanel) getHeaderPanel().getContentWidget();
+   }
+   
+   public HandlerRegistration addScrollHandler(ScrollHandler handler)
+   {
+      ScrollPanel panel = getScrollPanel();
+      return panel.addScrollHandler(handler);
+   }
+   
    @Override
    protected void onLoad()
    {
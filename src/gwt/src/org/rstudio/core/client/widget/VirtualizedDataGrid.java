@@ -21,11 +21,9 @@ import com.google.gwt.core.client.Scheduler.ScheduledCommand;
 import com.google.gwt.dom.builder.shared.TableRowBuilder;
 import com.google.gwt.event.dom.client.ScrollEvent;
 import com.google.gwt.event.dom.client.ScrollHandler;
-import com.google.gwt.event.shared.HandlerRegistration;
 import com.google.gwt.user.cellview.client.AbstractCellTable;
 import com.google.gwt.user.cellview.client.DefaultCellTableBuilder;
 import com.google.gwt.user.client.Timer;
-import com.google.gwt.user.client.ui.HeaderPanel;
 import com.google.gwt.user.client.ui.ScrollPanel;
 
 // This class acts as a DOM-virtualized version of a DataGrid, effectively
@@ -162,22 +160,6 @@ public abstract class VirtualizedDataGrid<T> extends RStudioDataGrid<T>
       }
    }
    
-   public HeaderPanel getHeaderPanel()
-   {
-      return (HeaderPanel) getWidget();
-   }
-   
-   public ScrollPanel getScrollPanel()
-   {
-      return (ScrollPanel) getHeaderPanel().getContentWidget();
-   }
-   
-   public HandlerRegistration addScrollHandler(ScrollHandler handler)
-   {
-      ScrollPanel panel = getScrollPanel();
-      return panel.addScrollHandler(handler);
-   }
-   
    public final int getFirstActiveRow()
    {
       return firstActiveRow_;
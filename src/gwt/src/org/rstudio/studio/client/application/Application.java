@@ -178,6 +178,8 @@ public class Application implements ApplicationEventHandlers
 
          public void onResponseReceived(final SessionInfo sessionInfo)
          {
+            BootstrapTimings.mark(BootstrapTimings.SESSION_INFO_RECEIVED);
+
             // initialize workbench
             // if this is a switch project then wait to dismiss the
             // loading progress animation for 10 seconds. typically
@@ -272,6 +274,7 @@ public class Application implements ApplicationEventHandlers
       }
 
       // attempt init
+      BootstrapTimings.mark(BootstrapTimings.SESSION_INFO_REQUESTED);
       clientInit.execute(callback, options, true);
 
       sessionOpener_.getJobConnectionStatus(connectionStatusCallback);
@@ -999,6 +1002,7 @@ public class Application implements ApplicationEventHandlers
        
       // show workbench
       view_.showWorkbenchView(wb.getMainView().asWidget());
+      BootstrapTimings.mark(BootstrapTimings.WORKBENCH_SHOWN);
       
       // hide zoom in and zoom out in web mode
       if (!Desktop.hasDesktopFrame())
@@ -0,0 +1,41 @@
+/*
+ * BootstrapTimings.java
+ *
+ * Copyright (C) 2020 by RStudio, PBC
+ *
+ * Unless you have received this program directly from RStudio pursuant
+ * to the terms of a commercial license agreement with RStudio, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.application;
+
+/**
+ * Records when each phase of startup completes, in milliseconds since the
+ * page began loading, so that startup regressions can be measured. Timings
+ * are published as window.rstudioBootstrapTimings (e.g. for automation to
+ * read); only the first occurrence of each phase is recorded.
+ */
+public class BootstrapTimings
+{
+   public static final String SESSION_INFO_REQUESTED = "session_info_requested";
+   public static final String SESSION_INFO_RECEIVED = "session_info_received";
+   public static final String WORKBENCH_SHOWN = "workbench_shown";
+   public static final String ACTIVE_DOCUMENT_SHOWN = "active_document_shown";
+
+   public static native void mark(String phase) /*-{
+      var timings = $wnd.rstudioBootstrapTimings;
+      if (timings == null)
+         timings = $wnd.rstudioBootstrapTimings = {};
+
+      if (timings[phase] == null)
+      {
+         var perf = $wnd.performance;
+         timings[phase] = (perf && perf.now) ? Math.round(perf.now()) : null;
+      }
+   }-*/;
+}
@@ -73,6 +73,11 @@ public class CompileOutputBufferWithHighlight extends Composite
       scrollPanel_.scrollToBottom();
    }
 
+   public BottomScrollPanel getScrollPanel()
+   {
+      return scrollPanel_;
+   }
+   
    @Override
    public void clear()
    {
@@ -228,6 +228,24 @@ public class MathJax
       });
    }
    
+   /**
+    * @return Whether any of the range is scrolled into view
+    */
+   public boolean isVisible(Range range)
+   {
+      return range.getEnd().getRow() >= docDisplay_.getFirstVisibleRow() &&
+             range.getStart().getRow() <= docDisplay_.getLastVisibleRow();
+   }
+   
+   /**
+    * @return A selection which follows the range as the document is edited;
+    *    it should be detached once it's no longer needed
+    */
+   public DocDisplay.AnchoredSelection createAnchoredSelection(Range range)
+   {
+      return docDisplay_.createAnchoredSelection(range.getStart(), range.getEnd());
+   }
+   
    public void promotePopupToLineWidget()
    {
       if (range_ == null)
@@ -344,7 +362,7 @@ public class MathJax
          @Override
          public void execute()
          {
-            MathJaxTypeset.typeset(el, text, new MathJaxTypeset.Callback()
+            typeset(el, text, DISPLAY_MODE_LINE_WIDGET, new MathJaxTypeset.Callback()
             {
                @Override
                public void onMathJaxTypesetComplete(final boolean error)
@@ -547,7 +565,7 @@ public class MathJax
       // just typeset
       if (popup_.isShowing())
       {
-         MathJaxTypeset.typeset(popup_.getContentElement(), text, callback);
+         typeset(popup_.getContentElement(), text, DISPLAY_MODE_POPUP, callback);
          return;
       }
       
@@ -556,7 +574,7 @@ public class MathJax
       popup_.show();
       
       // typeset and position after typesetting finished
-      MathJaxTypeset.typeset(popup_.getContentElement(), text, new MathJaxTypeset.Callback()
+      typeset(popup_.getContentElement(), text, DISPLAY_MODE_POPUP, new MathJaxTypeset.Callback()
       {
          
          @Override
@@ -577,6 +595,20 @@ public class MathJax
       });
    }
    
+   // typesets using previously typeset output for the same text if possible
+   private void typeset(Element el,
+                        String text,
+                        String displayMode,
+                        MathJaxTypeset.Callback callback)
+   {
+      MathJaxTypesetCache.getInstance().typeset(
+            el,
+            text,
+            displayMode,
+            prefs_.fontSizePoints().getValue(),
+            callback);
+   }
+   
    private void endRender()
    {
       resetRenderState();
@@ -651,6 +683,9 @@ public class MathJax
    private HandlerRegistration cursorChangedHandler_;
    private String lastRenderedText_ = "";
    
+   private static final String DISPLAY_MODE_LINE_WIDGET = "line-widget";
+   private static final String DISPLAY_MODE_POPUP = "popup";
+   
    public static final String LINE_WIDGET_TYPE = "mathjax-preview";
    public static final String MATHJAX_ROOT_CLASSNAME = "rstudio-mathjax-root";
 }
@@ -18,8 +18,11 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Queue;
 
+import org.rstudio.studio.client.workbench.views.source.editors.text.DocDisplay;
 import org.rstudio.studio.client.workbench.views.source.editors.text.ace.Range;
 
+import com.google.gwt.user.client.Timer;
+
 public class MathJaxRenderQueue
 {
    public MathJaxRenderQueue(MathJax mathjax)
@@ -27,6 +30,39 @@ public class MathJaxRenderQueue
       mathjax_ = mathjax;
       
       ranges_ = new LinkedList<Range>();
+      backgroundRanges_ = new LinkedList<DocDisplay.AnchoredSelection>();
+      backgroundTimer_ = new Timer()
+      {
+         @Override
+         public void run()
+         {
+            // visible ranges queued while waiting come first
+            if (!ranges_.isEmpty())
+            {
+               renderNext();
+               return;
+            }
+            
+            DocDisplay.AnchoredSelection anchored = backgroundRanges_.poll();
+            if (anchored == null)
+            {
+               isRunning_ = false;
+               return;
+            }
+            
+            // the document may have been edited since the range was found;
+            // the anchors have followed those edits
+            Range range = anchored.getRange();
+            anchored.detach();
+            if (range.isEmpty())
+            {
+               renderNext();
+               return;
+            }
+            
+            mathjax_.renderLatex(range, false, callback_);
+         }
+      };
       callback_ = new MathJaxTypeset.Callback()
       {
          @Override
@@ -45,7 +81,19 @@ public class MathJaxRenderQueue
          @Override
          public void onLoaded(boolean alreadyLoaded)
          {
-            ranges_.addAll(ranges);
+            // render what's on screen first; the rest is rendered in the
+            // background, leaving time between renders for e.g. typing (so
+            // the ranges are anchored to follow those edits). These ranges
+            // replace any still waiting from an earlier request.
+            clearBackgroundRanges();
+            for (Range range : ranges)
+            {
+               if (mathjax_.isVisible(range))
+                  ranges_.add(range);
+               else
+                  backgroundRanges_.add(mathjax_.createAnchoredSelection(range));
+            }
+            
             if (isRunning_)
                return;
 
@@ -61,8 +109,15 @@ public class MathJaxRenderQueue
       Range range = ranges_.poll();
       if (range == null)
       {
-         isRunning_ = false;
-         return false;
+         if (backgroundRanges_.isEmpty())
+         {
+            isRunning_ = false;
+            return false;
+         }
+         
+         isRunning_ = true;
+         backgroundTimer_.schedule(BACKGROUND_DELAY_MS);
+         return true;
       }
       
       isRunning_ = true;
@@ -70,10 +125,28 @@ public class MathJaxRenderQueue
       return true;
    }
    
+   private void clearBackgroundRanges()
+   {
+      // nothing is being rendered while waiting to render in the background
+      if (backgroundTimer_.isRunning())
+      {
+         backgroundTimer_.cancel();
+         isRunning_ = false;
+      }
+      
+      for (DocDisplay.AnchoredSelection anchored : backgroundRanges_)
+         anchored.detach();
+      backgroundRanges_.clear();
+   }
+   
    private final MathJax mathjax_;
    
    private final Queue<Range> ranges_;
+   private final Queue<DocDisplay.AnchoredSelection> backgroundRanges_;
+   private final Timer backgroundTimer_;
    private final MathJaxTypeset.Callback callback_;
    private boolean isRunning_;
+   
+   private static final int BACKGROUND_DELAY_MS = 50;
 
 }
@@ -39,9 +39,13 @@ public class MathJaxTypeset
    /*-{
       var MathJax = $wnd.MathJax;
       
-      // save last rendered text
+      // save last rendered text; output copied from the cache has no jax,
+      // but records its text
       var jax = MathJax.Hub.getAllJax(el)[0];
-      var lastRenderedText = jax && jax.originalText || "";
+      var lastRenderedText =
+         jax && jax.originalText ||
+         el.getAttribute(@org.rstudio.studio.client.common.mathjax.MathJaxTypeset::TEXT_ATTRIBUTE) ||
+         "";
       
       // update text in element
       el.innerText = currentText;
@@ -107,6 +111,10 @@ public class MathJaxTypeset
    }
    
    
+   // attribute holding the text of output shown without typesetting it (see
+   // MathJaxTypesetCache)
+   public static final String TEXT_ATTRIBUTE = "data-mathjax-text";
+   
    // sometimes MathJax fails to render initially but succeeds if asked to do so
    // again; this is the maximum number of times we'll try to re-render the same
    // text automatically before giving up
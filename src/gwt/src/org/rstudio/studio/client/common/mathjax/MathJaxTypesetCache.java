@@ -0,0 +1,218 @@
+/*
+ * MathJaxTypesetCache.java
+ *
+ * Copyright (C) 2020 by RStudio, PBC
+ *
+ * Unless you have received this program directly from RStudio pursuant
+ * to the terms of a commercial license agreement with RStudio, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.common.mathjax;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.rstudio.core.client.dom.DomUtils;
+
+import com.google.gwt.core.client.JsArrayString;
+import com.google.gwt.dom.client.Element;
+import com.google.gwt.dom.client.Style.Visibility;
+import com.google.gwt.user.client.Timer;
+
+/**
+ * Caches typeset LaTeX (the HTML MathJax produced for it), keyed by the
+ * LaTeX source and how it was displayed, so that equations which appear more
+ * than once, or which are rendered again (e.g. when a document is reopened
+ * or a line widget is recreated), don't need to be typeset again.
+ *
+ * Cached output is only HTML: it has no element jax, and MathJax's element
+ * ids and source scripts are removed so that they aren't duplicated. The
+ * source text is kept in an attribute instead, so that a later typeset into
+ * the same element can still restore it on error (see MathJaxTypeset).
+ *
+ * The least recently used entries are evicted once the cache is full. The
+ * cache is saved to the browser's session storage (when available), so that
+ * it survives reloads.
+ */
+public class MathJaxTypesetCache
+{
+   public static MathJaxTypesetCache getInstance()
+   {
+      if (instance_ == null)
+         instance_ = new MathJaxTypesetCache();
+      return instance_;
+   }
+
+   private MathJaxTypesetCache()
+   {
+      entries_ = new LinkedHashMap<String, String>(16, 0.75f, true)
+      {
+         @Override
+         protected boolean removeEldestEntry(Map.Entry<String, String> eldest)
+         {
+            return size() > MAX_ENTRIES;
+         }
+      };
+
+      saveTimer_ = new Timer()
+      {
+         @Override
+         public void run()
+         {
+            save();
+         }
+      };
+
+      load();
+   }
+
+   /**
+    * Typesets the text into the element, reusing the output of an earlier
+    * typeset of the same text (in the same display mode and font size) if
+    * there was one.
+    */
+   public void typeset(Element el,
+                       String text,
+                       String displayMode,
+                       double fontSize,
+                       final MathJaxTypeset.Callback callback)
+   {
+      final String key = displayMode + ":" + fontSize + ":" + text;
+      String html = entries_.get(key);
+      if (html != null)
+      {
+         el.setInnerHTML(html);
+         el.setAttribute(MathJaxTypeset.TEXT_ATTRIBUTE, text);
+         el.getStyle().setVisibility(Visibility.VISIBLE);
+         if (callback != null)
+            callback.onMathJaxTypesetComplete(false);
+         return;
+      }
+
+      final Element mathjaxEl = el;
+      MathJaxTypeset.typeset(el, text, new MathJaxTypeset.Callback()
+      {
+         @Override
+         public void onMathJaxTypesetComplete(boolean error)
+         {
+            // the element has a jax for what it shows now
+            mathjaxEl.removeAttribute(MathJaxTypeset.TEXT_ATTRIBUTE);
+
+            // only cache output which typeset cleanly
+            if (!error && !hasError(mathjaxEl))
+            {
+               entries_.put(key, getTypesetHtml(mathjaxEl));
+               saveTimer_.schedule(SAVE_DELAY_MS);
+            }
+
+            if (callback != null)
+               callback.onMathJaxTypesetComplete(error);
+         }
+      });
+   }
+
+   private boolean hasError(Element el)
+   {
+      Element[] errorEls = DomUtils.getElementsByClassName(el, "MathJax_Error");
+      return errorEls != null && errorEls.length > 0;
+   }
+
+   // the typeset HTML, without MathJax's source scripts and element ids
+   private static final native String getTypesetHtml(Element el) /*-{
+      var copy = el.cloneNode(true);
+
+      var scripts = copy.querySelectorAll("script");
+      for (var i = 0; i < scripts.length; i++)
+         scripts[i].parentNode.removeChild(scripts[i]);
+
+      var withIds = copy.querySelectorAll("[id]");
+      for (var i = 0; i < withIds.length; i++)
+         withIds[i].removeAttribute("id");
+
+      return copy.innerHTML;
+   }-*/;
+
+   private void load()
+   {
+      JsArrayString saved = loadNative(STORAGE_KEY);
+      if (saved == null)
+         return;
+
+      // entries are saved in order of use (least recent first)
+      for (int i = 0; i + 1 < saved.length(); i += 2)
+         entries_.put(saved.get(i), saved.get(i + 1));
+   }
+
+   private void save()
+   {
+      // iterate rather than look up entries, so that saving doesn't change
+      // the order in which they were used
+      int n = entries_.size();
+      String[] keys = new String[n];
+      String[] values = new String[n];
+      int i = 0;
+      for (Map.Entry<String, String> entry : entries_.entrySet())
+      {
+         keys[i] = entry.getKey();
+         values[i] = entry.getValue();
+         i++;
+      }
+
+      // save the most recently used entries that fit within the size limit
+      // (storage is shared with other pages, so it's kept small)
+      int first = n;
+      int size = 0;
+      while (first > 0)
+      {
+         int entrySize = keys[first - 1].length() + values[first - 1].length();
+         if (size + entrySize > MAX_SAVED_CHARS)
+            break;
+         size += entrySize;
+         first--;
+      }
+
+      JsArrayString saved = JsArrayString.createArray().cast();
+      for (i = first; i < n; i++)
+      {
+         saved.push(keys[i]);
+         saved.push(values[i]);
+      }
+
+      saveNative(STORAGE_KEY, saved);
+   }
+
+   private static final native JsArrayString loadNative(String key) /*-{
+      try {
+         var value = $wnd.sessionStorage && $wnd.sessionStorage.getItem(key);
+         return value ? JSON.parse(value) : null;
+      } catch (e) {
+         return null;
+      }
+   }-*/;
+
+   private static final native void saveNative(String key,
+                                               JsArrayString value) /*-{
+      try {
+         if ($wnd.sessionStorage)
+            $wnd.sessionStorage.setItem(key, JSON.stringify(value));
+      } catch (e) {
+         // storage may be full or unavailable; the cache still works for the
+         // rest of the session
+      }
+   }-*/;
+
+   private static MathJaxTypesetCache instance_;
+
+   private final LinkedHashMap<String, String> entries_;
+   private final Timer saveTimer_;
+
+   private static final int MAX_ENTRIES = 1000;
+   private static final int MAX_SAVED_CHARS = 1024 * 1024;
+   private static final int SAVE_DELAY_MS = 2000;
+   private static final String STORAGE_KEY = "rstudio-mathjax-typeset-cache";
+}
@@ -30,6 +30,7 @@ import com.google.inject.Inject;
 
 import org.rstudio.core.client.CommandWithArg;
 import org.rstudio.core.client.ExternalJavaScriptLoader;
+import org.rstudio.core.client.LruCache;
 import org.rstudio.core.client.Mutable;
 import org.rstudio.core.client.StringUtil;
 import org.rstudio.core.client.jsonrpc.RequestLog;
@@ -86,6 +87,10 @@ public class TypoSpellChecker
                else
                   customTypoNative_.put(language_, typo);
 
+               // results from the previous set of dictionaries are stale
+               dictionaryResults_.clear();
+               dictionaryRevision_++;
+
                aff.clear();
                dic.clear();
                alive_ = false;
@@ -251,10 +256,28 @@ public class TypoSpellChecker
    // word is deemed correct by the dictionary
    public boolean checkSpelling(String word)
    {
-      return domainSpecificWords_.contains(word.toLowerCase()) ||
-         allIgnoredWords_.contains(word) ||
-         typoNative_.check(word) ||
-         checkCustomDicts(word);
+      if (domainSpecificWords_.contains(word.toLowerCase()) ||
+          allIgnoredWords_.contains(word))
+      {
+         return true;
+      }
+
+      // dictionary lookups are comparatively expensive, so remember results
+      // (shared by all documents, since the dictionaries are too)
+      Boolean result = dictionaryResults_.get(word);
+      if (result == null)
+      {
+         result = typoNative_.check(word) || checkCustomDicts(word);
+         dictionaryResults_.put(word, result);
+      }
+      return result;
+   }
+
+   // Changes whenever a dictionary or the set of ignored words changes, so
+   // that callers caching spelling results know when to discard them
+   public int getRevision()
+   {
+      return dictionaryRevision_ + ignoredWordsRevision_;
    }
 
    // go through all of the custom dictionaries and check the word
@@ -366,6 +389,7 @@ public class TypoSpellChecker
       allIgnoredWords_.clear();
       allIgnoredWords_.addAll(userDictionaryWords_);
       allIgnoredWords_.addAll(contextDictionary_);
+      ignoredWordsRevision_++;
    }
 
    private void loadDictionary()
@@ -480,6 +504,7 @@ public class TypoSpellChecker
    public static boolean isLoaded() { return typoLoaded_; }
 
    private final Context context_;
+   private static final int MAX_CACHED_RESULTS = 10000;
    private static final Resources RES = GWT.create(Resources.class);
 
    private static SpellingPrefetcherNative spellingPrefetcherNative_;
@@ -490,11 +515,15 @@ public class TypoSpellChecker
    private static TypoNative typoNative_;
    private static HashMap<String, TypoNative> customTypoNative_ = new HashMap<>();
    private static TypoDictionaryRequest activeRequest_;
+   private static int dictionaryRevision_ = 0;
+   private static final LruCache<String, Boolean> dictionaryResults_ =
+         new LruCache<>(MAX_CACHED_RESULTS);
 
    private WorkbenchList userDictionary_;
    private ArrayList<String> userDictionaryWords_;
    private ArrayList<String> contextDictionary_;
    private final HashSet<String> allIgnoredWords_ = new HashSet<>();
+   private int ignoredWordsRevision_ = 0;
    private final HashSet<String> domainSpecificWords_ = new HashSet<>();
    private final ExternalJavaScriptLoader typoLoader_ =
          new ExternalJavaScriptLoader(TypoResources.INSTANCE.typojs().getSafeUri().asString());
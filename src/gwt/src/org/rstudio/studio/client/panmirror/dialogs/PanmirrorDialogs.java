@@ -17,6 +17,7 @@ package org.rstudio.studio.client.panmirror.dialogs;
 
 import org.rstudio.core.client.MessageDisplay;
 import org.rstudio.core.client.widget.Operation;
+import org.rstudio.core.client.widget.OperationWithInput;
 import org.rstudio.studio.client.RStudioGinjector;
 import org.rstudio.studio.client.common.GlobalDisplay;
 import org.rstudio.studio.client.panmirror.dialogs.model.PanmirrorAttrProps;
@@ -37,6 +38,8 @@ import org.rstudio.studio.client.panmirror.dialogs.model.PanmirrorRawFormatResul
 import org.rstudio.studio.client.panmirror.dialogs.model.PanmirrorTableCapabilities;
 import org.rstudio.studio.client.panmirror.ui.PanmirrorUIContext;
 
+import com.google.gwt.core.client.GWT;
+import com.google.gwt.core.client.RunAsyncCallback;
 import com.google.inject.Inject;
 
 import elemental2.promise.Promise;
@@ -96,51 +99,35 @@ public class PanmirrorDialogs {
    public Promise<PanmirrorLinkEditResult> editLink(
       PanmirrorLinkProps link, PanmirrorLinkTargets targets, PanmirrorLinkCapabilities capabilities)
    {
-      return new Promise<PanmirrorLinkEditResult>(
-         (ResolveCallbackFn<PanmirrorLinkEditResult> resolve, RejectCallbackFn reject) -> {  
-            PanmirrorEditLinkDialog dialog = new PanmirrorEditLinkDialog(link, targets, capabilities,
-               (result) -> { resolve.onInvoke(result); }
-            );
-            dialog.showModal(false);
-         }   
-      );
+      return showDialog((onResult) -> {
+         PanmirrorEditLinkDialog dialog = new PanmirrorEditLinkDialog(link, targets, capabilities, onResult);
+         dialog.showModal(false);
+      });
    }
    
    public Promise<PanmirrorImageProps> editImage(PanmirrorImageProps image, PanmirrorImageDimensions dims, boolean editAttributes)
    {
-      return new Promise<PanmirrorImageProps>(
-         (ResolveCallbackFn<PanmirrorImageProps> resolve, RejectCallbackFn reject) -> {  
-            PanmirrorEditImageDialog dialog = new PanmirrorEditImageDialog(image, dims, editAttributes, uiContext_,
-               (result) -> { resolve.onInvoke(result); }
-            );
-            dialog.showModal(false);
-         }
-      );      
+      return showDialog((onResult) -> {
+         PanmirrorEditImageDialog dialog = new PanmirrorEditImageDialog(image, dims, editAttributes, uiContext_, onResult);
+         dialog.showModal(false);
+      });
    }
    
    public Promise<PanmirrorCodeBlockProps> editCodeBlock(PanmirrorCodeBlockProps codeBlock, boolean attributes, String[] languages)
    {
-      return new Promise<PanmirrorCodeBlockProps>(
-         (ResolveCallbackFn<PanmirrorCodeBlockProps> resolve, RejectCallbackFn reject) -> {  
-            PanmirrorEditCodeBlockDialog dialog = new PanmirrorEditCodeBlockDialog(codeBlock, attributes, languages,
-               (result) -> { resolve.onInvoke(result); }
-            );
-            dialog.showModal(false);
-         }
-      );   
+      return showDialog((onResult) -> {
+         PanmirrorEditCodeBlockDialog dialog = new PanmirrorEditCodeBlockDialog(codeBlock, attributes, languages, onResult);
+         dialog.showModal(false);
+      });
    }
    
    public Promise<PanmirrorListProps> editList(PanmirrorListProps props, 
                                                PanmirrorListCapabilities capabilities)
    {
-      return new Promise<PanmirrorListProps>(
-         (ResolveCallbackFn<PanmirrorListProps> resolve, RejectCallbackFn reject) -> {  
-            PanmirrorEditListDialog dialog = new PanmirrorEditListDialog(props, capabilities,
-               (result) -> { resolve.onInvoke(result); }
-            );
-            dialog.showModal(false);
-         }
-      );
+      return showDialog((onResult) -> {
+         PanmirrorEditListDialog dialog = new PanmirrorEditListDialog(props, capabilities, onResult);
+         dialog.showModal(false);
+      });
    }
    
    public Promise<PanmirrorAttrEditResult> editAttr(PanmirrorAttrProps attr)
@@ -162,14 +149,10 @@ public class PanmirrorDialogs {
 
    private Promise<PanmirrorAttrEditResult> editPanmirrorAttr(String caption, String removeButtonCaption, PanmirrorAttrProps attr) 
    {
-      return new Promise<PanmirrorAttrEditResult>(
-         (ResolveCallbackFn<PanmirrorAttrEditResult> resolve, RejectCallbackFn reject) -> {  
-            PanmirrorEditAttrDialog dialog = new PanmirrorEditAttrDialog(caption, removeButtonCaption, attr, 
-               (result) -> { resolve.onInvoke(result); }
-            );
-            dialog.showModal(false);
-         }
-      );
+      return showDialog((onResult) -> {
+         PanmirrorEditAttrDialog dialog = new PanmirrorEditAttrDialog(caption, removeButtonCaption, attr, onResult);
+         dialog.showModal(false);
+      });
    }
    
    
@@ -186,39 +169,58 @@ public class PanmirrorDialogs {
 
    private Promise<PanmirrorRawFormatResult> editRaw(PanmirrorRawFormatProps raw, String[] outputFormats, boolean inline)
    {
-      return new Promise<PanmirrorRawFormatResult>(
-         (ResolveCallbackFn<PanmirrorRawFormatResult> resolve, RejectCallbackFn reject) -> {  
-            PanmirrorEditRawDialog dialog = new PanmirrorEditRawDialog(raw, outputFormats, inline, 
-               (result) -> { resolve.onInvoke(result); }
-            );
-            dialog.showModal(false);
-         }
-      );
+      return showDialog((onResult) -> {
+         PanmirrorEditRawDialog dialog = new PanmirrorEditRawDialog(raw, outputFormats, inline, onResult);
+         dialog.showModal(false);
+      });
    }
    
    public Promise<PanmirrorInsertTableResult> insertTable(PanmirrorTableCapabilities capabilities)
    {
-      return new Promise<PanmirrorInsertTableResult>(
-         (ResolveCallbackFn<PanmirrorInsertTableResult> resolve, RejectCallbackFn reject) -> {  
-            PanmirrorInsertTableDialog dialog = new PanmirrorInsertTableDialog(capabilities, (result) -> {
-               resolve.onInvoke(result);
-            });
-            dialog.showModal(false);
-         }
-      );
+      return showDialog((onResult) -> {
+         PanmirrorInsertTableDialog dialog = new PanmirrorInsertTableDialog(capabilities, onResult);
+         dialog.showModal(false);
+      });
    }
    
    
    public Promise<PanmirrorInsertCitationResult> insertCitation()
    {
-      return new Promise<PanmirrorInsertCitationResult>(
-         (ResolveCallbackFn<PanmirrorInsertCitationResult> resolve, RejectCallbackFn reject) -> {  
-            PanmirrorInsertCitationDialog dialog = new PanmirrorInsertCitationDialog((result) -> {
-               resolve.onInvoke(result);
-            });
-            dialog.showModal(false);
-         }
-      );
+      return showDialog((onResult) -> {
+         PanmirrorInsertCitationDialog dialog = new PanmirrorInsertCitationDialog(onResult);
+         dialog.showModal(false);
+      });
+   }
+   
+   
+   // The dialogs are loaded on demand (they're only used in visual mode);
+   // their code is reachable only through ShowDialog.execute, which is
+   // called only from this split point. If the code can't be loaded, the
+   // dialog is treated as cancelled.
+   private <T> Promise<T> showDialog(ShowDialog<T> showDialog)
+   {
+      return new Promise<T>((ResolveCallbackFn<T> resolve, RejectCallbackFn reject) -> {
+         GWT.runAsync(new RunAsyncCallback()
+         {
+            @Override
+            public void onFailure(Throwable reason)
+            {
+               globalDisplay_.showErrorMessage("Error", reason.getMessage());
+               resolve.onInvoke((T) null);
+            }
+
+            @Override
+            public void onSuccess()
+            {
+               showDialog.execute((result) -> { resolve.onInvoke(result); });
+            }
+         });
+      });
+   }
+   
+   private interface ShowDialog<T>
+   {
+      void execute(OperationWithInput<T> onResult);
    }
 
    
@@ -0,0 +1,481 @@
+/*
+ * PanmirrorPandocAstCache.java
+ *
+ * Copyright (C) 2020 by RStudio, PBC
+ *
+ * Unless you have received this program directly from RStudio pursuant
+ * to the terms of a commercial license agreement with RStudio, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+
+package org.rstudio.studio.client.panmirror.pandoc;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import org.rstudio.core.client.LruCache;
+import org.rstudio.core.client.StringUtil;
+
+import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.core.client.JsArrayInteger;
+import com.google.gwt.core.client.JsArrayString;
+import com.google.gwt.regexp.shared.MatchResult;
+import com.google.gwt.regexp.shared.RegExp;
+
+/**
+ * Caches the pandoc AST of a markdown document section by section, so that
+ * only sections which have changed need to be parsed by pandoc again.
+ *
+ * Documents are split into sections at top-level ATX headings; headings
+ * inside code blocks or fenced divs (e.g. tabsets) don't start sections.
+ * Markdown constructs which are resolved across the whole document (reference
+ * links, footnotes, example lists, metadata blocks after the front matter,
+ * setext headings, headings with the same identifier, implicit header
+ * references) make a document unsplittable, as do
+ * block-level HTML tags (whose contents may include headings that pandoc
+ * nests inside them); such documents are always parsed whole.
+ */
+public class PanmirrorPandocAstCache
+{
+   public static class Section
+   {
+      public Section(String markdown, int level)
+      {
+         this.markdown = markdown;
+         this.level = level;
+      }
+
+      public final String markdown;
+
+      // the level of the heading the section begins with (0 for the text
+      // preceding the first heading)
+      public final int level;
+   }
+
+   /**
+    * Splits a markdown document into sections.
+    *
+    * @return The document's sections (the first of which holds any text
+    *    preceding the first heading), or null if the document can't be split
+    */
+   public static List<Section> split(String markdown)
+   {
+      String[] lines = markdown.split("\n", -1);
+      List<Section> sections = new ArrayList<Section>();
+      HashSet<String> headingIds = new HashSet<String>();
+      HashSet<String> headingTexts = new HashSet<String>();
+      HashSet<String> linkTexts = new HashSet<String>();
+      StringBuilder current = new StringBuilder();
+      int level = 0;
+
+      // front matter belongs to the first section
+      int start = 0;
+      if (lines.length > 0 && lines[0].trim().equals("---"))
+      {
+         start = 1;
+         while (start < lines.length && !YAML_END.test(lines[start]))
+            start++;
+         if (start == lines.length)
+            return null;
+         start++;
+         for (int i = 0; i < start; i++)
+            appendLine(current, lines, i);
+      }
+
+      String fence = null;
+      int divDepth = 0;
+      for (int i = start; i < lines.length; i++)
+      {
+         String line = lines[i];
+
+         if (fence != null)
+         {
+            MatchResult match = FENCE.exec(line);
+            if (match != null &&
+                StringUtil.isNullOrEmpty(line.substring(match.getGroup(0).length()).trim()) &&
+                match.getGroup(1).charAt(0) == fence.charAt(0) &&
+                match.getGroup(1).length() >= fence.length())
+            {
+               fence = null;
+            }
+            appendLine(current, lines, i);
+            continue;
+         }
+
+         MatchResult fenceMatch = FENCE.exec(line);
+         if (fenceMatch != null)
+         {
+            fence = fenceMatch.getGroup(1);
+            appendLine(current, lines, i);
+            continue;
+         }
+
+         if (REFERENCE.test(line) ||
+             HTML_BLOCK.test(line) ||
+             line.contains("^[") ||
+             line.contains("(@") ||
+             (line.contains("<!--") && !line.contains("-->")))
+         {
+            return null;
+         }
+
+         // track the nesting of fenced divs (opening fences have attributes,
+         // closing fences don't)
+         MatchResult div = DIV_FENCE.exec(line);
+         if (div != null)
+         {
+            if (StringUtil.isNullOrEmpty(div.getGroup(1)))
+            {
+               if (divDepth == 0)
+                  return null;
+               divDepth--;
+            }
+            else
+            {
+               divDepth++;
+            }
+            appendLine(current, lines, i);
+            continue;
+         }
+
+         // bracketed text which may be an implicit reference to a heading
+         // (resolved once all the headings are known)
+         MatchResult link;
+         LINK_TEXT.setLastIndex(0);
+         while ((link = LINK_TEXT.exec(line)) != null)
+            linkTexts.add(normalizeText(link.getGroup(1)));
+
+         boolean prevBlank = i == 0 || isBlank(lines[i - 1]);
+         boolean nextBlank = i == lines.length - 1 || isBlank(lines[i + 1]);
+         if (RULE.test(line) && (!prevBlank || !nextBlank))
+            return null;
+
+         MatchResult heading = HEADING.exec(line);
+         if (heading != null && prevBlank)
+         {
+            // pandoc disambiguates duplicate identifiers by numbering them
+            // in document order, which depends on the headings in other
+            // sections
+            if (!headingIds.add(getHeadingId(line)))
+               return null;
+            headingTexts.add(normalizeText(getHeadingText(line)));
+
+            // headings inside fenced divs belong to the div
+            if (divDepth == 0)
+            {
+               sections.add(new Section(current.toString(), level));
+               current = new StringBuilder();
+               level = heading.getGroup(1).length();
+            }
+         }
+
+         appendLine(current, lines, i);
+      }
+
+      // an unclosed fence or div extends to the end of the document
+      if (fence != null || divDepth > 0)
+         return null;
+
+      // implicit header references may refer to headings in other sections
+      for (String text : linkTexts)
+      {
+         if (headingTexts.contains(text))
+            return null;
+      }
+
+      sections.add(new Section(current.toString(), level));
+      return sections;
+   }
+
+   /**
+    * Discards cached sections if they were parsed with a different format or
+    * options than those given.
+    */
+   public void setParseKey(String parseKey)
+   {
+      if (!StringUtil.equals(parseKey, parseKey_))
+      {
+         cache_.clear();
+         parseKey_ = parseKey;
+      }
+   }
+
+   /**
+    * @return The sections which aren't cached
+    */
+   public List<Section> getMissing(List<Section> sections)
+   {
+      List<Section> missing = new ArrayList<Section>();
+      for (Section section : sections)
+      {
+         if (!cache_.containsKey(section.markdown))
+            missing.add(section);
+      }
+      return missing;
+   }
+
+   /**
+    * Caches the AST of a single section.
+    *
+    * @return Whether the AST had the expected structure (a section which
+    *    starts with a heading and contains no others, and no metadata unless
+    *    it is the first section)
+    */
+   public boolean add(Section section, JavaScriptObject ast)
+   {
+      JsArrayInteger levels = JsArrayInteger.createArray().cast();
+      levels.push(0);
+      if (section.level > 0)
+      {
+         if (!isMetaEmpty(ast))
+            return false;
+         levels.push(section.level);
+      }
+
+      JsArrayString parts = partition(ast, levels);
+      if (parts == null)
+         return false;
+
+      // a section which begins with a heading has no text before it
+      if (section.level > 0 && !parts.get(0).isEmpty())
+         return false;
+
+      apiVersion_ = getApiVersion(ast);
+      cache_.put(section.markdown, new Entry(
+            parts.get(parts.length() - 1),
+            section.level == 0 ? getMeta(ast) : null));
+      return true;
+   }
+
+   /**
+    * Caches the sections of a whole document's AST.
+    *
+    * @return Whether the AST's top-level headings matched the sections
+    */
+   public boolean addAll(List<Section> sections, JavaScriptObject ast)
+   {
+      JsArrayInteger levels = JsArrayInteger.createArray().cast();
+      for (Section section : sections)
+         levels.push(section.level);
+
+      JsArrayString parts = partition(ast, levels);
+      if (parts == null)
+         return false;
+
+      apiVersion_ = getApiVersion(ast);
+      for (int i = 0; i < sections.size(); i++)
+      {
+         cache_.put(sections.get(i).markdown,
+               new Entry(parts.get(i), i == 0 ? getMeta(ast) : null));
+      }
+      return true;
+   }
+
+   /**
+    * Assembles a document's AST from its (cached) sections.
+    *
+    * @return The document's AST, or null if any section isn't cached
+    */
+   public JavaScriptObject assemble(List<Section> sections)
+   {
+      if (apiVersion_ == null)
+         return null;
+
+      String meta = null;
+      JsArrayString parts = JsArrayString.createArray().cast();
+      for (Section section : sections)
+      {
+         Entry entry = cache_.get(section.markdown);
+         if (entry == null)
+            return null;
+         if (meta == null)
+            meta = entry.metaJson;
+         if (!entry.blocksJson.isEmpty())
+            parts.push(entry.blocksJson);
+      }
+
+      return assemble(apiVersion_, meta == null ? "{}" : meta, parts);
+   }
+
+   /**
+    * @return A key which identifies the AST's content: the length and hashes
+    *    of the JSON of its metadata and of each of its sections (split at its
+    *    top-level headings), so the key stays small however large the
+    *    document is
+    */
+   public static native String getAstKey(JavaScriptObject ast) /*-{
+      var hash = function(text) {
+         // two independent 32-bit hashes (FNV-1a and djb2), so that a
+         // collision between different sections is vanishingly unlikely
+         var fnv = 0x811c9dc5;
+         var djb = 5381;
+         for (var i = 0; i < text.length; i++) {
+            var c = text.charCodeAt(i);
+            fnv ^= c;
+            fnv = (fnv + (fnv << 1) + (fnv << 4) + (fnv << 7) + (fnv << 8) + (fnv << 24)) | 0;
+            djb = ((djb << 5) + djb + c) | 0;
+         }
+         return text.length + ":" + (fnv >>> 0).toString(36) + ":" + (djb >>> 0).toString(36);
+      };
+
+      var keys = [hash(JSON.stringify(ast["pandoc-api-version"]) + JSON.stringify(ast.meta || {}))];
+      var blocks = ast.blocks || [];
+      var start = 0;
+      for (var i = 1; i <= blocks.length; i++) {
+         if (i === blocks.length || blocks[i].t === "Header") {
+            keys.push(hash(JSON.stringify(blocks.slice(start, i))));
+            start = i;
+         }
+      }
+      return keys.join(",");
+   }-*/;
+
+   private static void appendLine(StringBuilder builder, String[] lines, int i)
+   {
+      builder.append(lines[i]);
+      if (i < lines.length - 1)
+         builder.append('\n');
+   }
+
+   private static boolean isBlank(String line)
+   {
+      return line.trim().isEmpty();
+   }
+
+   // the text of an ATX heading, without its closing sequence or attributes
+   private static String getHeadingText(String line)
+   {
+      String text = line.replaceFirst("^#{1,6}", "");
+      text = HEADING_ATTRIBUTES.replace(text, "");
+      return HEADING_CLOSE.replace(text, "").trim();
+   }
+
+   // the heading's explicit identifier, or the one pandoc generates from its
+   // text (see the auto_identifiers extension); inline markup is removed
+   // approximately, which errs towards finding duplicates where there are none
+   private static String getHeadingId(String line)
+   {
+      MatchResult attributes = HEADING_ATTRIBUTES.exec(line);
+      if (attributes != null)
+      {
+         MatchResult id = HEADING_ID.exec(attributes.getGroup(1));
+         if (id != null)
+            return id.getGroup(1);
+      }
+
+      String text = normalizeText(getHeadingText(line))
+            .replaceAll("\\]\\([^)]*\\)", "")
+            .replaceAll("<[^>]*>", "");
+
+      StringBuilder id = new StringBuilder();
+      for (int i = 0; i < text.length(); i++)
+      {
+         char c = text.charAt(i);
+         if (Character.isWhitespace(c))
+         {
+            if (id.length() > 0)
+               id.append('-');
+         }
+         else if ((c >= 'a' && c <= 'z') || c > 127 ||
+                  (id.length() > 0 && ((c >= '0' && c <= '9') ||
+                                       c == '_' || c == '-' || c == '.')))
+         {
+            id.append(c);
+         }
+      }
+      return id.length() == 0 ? "section" : id.toString();
+   }
+
+   private static String normalizeText(String text)
+   {
+      return text.trim().replaceAll("\\s+", " ").toLowerCase();
+   }
+
+   // Splits the AST's top-level blocks at its headings; the levels give the
+   // expected level of each group's leading heading (0 for the first group,
+   // which has none). Each group is returned as its comma-separated blocks
+   // in JSON form; null is returned if the headings don't match the levels.
+   private static native JsArrayString partition(JavaScriptObject ast,
+                                                 JsArrayInteger levels) /*-{
+      var blocks = ast.blocks || [];
+      var parts = [];
+      var current = [];
+      for (var i = 0; i < blocks.length; i++) {
+         var block = blocks[i];
+         if (block.t === "Header") {
+            var index = parts.length + 1;
+            if (index >= levels.length || block.c[0] !== levels[index])
+               return null;
+            parts.push(JSON.stringify(current).slice(1, -1));
+            current = [];
+         }
+         current.push(block);
+      }
+      parts.push(JSON.stringify(current).slice(1, -1));
+      return parts.length === levels.length ? parts : null;
+   }-*/;
+
+   private static native boolean isMetaEmpty(JavaScriptObject ast) /*-{
+      return !ast.meta || Object.keys(ast.meta).length === 0;
+   }-*/;
+
+   private static native String getMeta(JavaScriptObject ast) /*-{
+      return JSON.stringify(ast.meta || {});
+   }-*/;
+
+   private static native String getApiVersion(JavaScriptObject ast) /*-{
+      return JSON.stringify(ast["pandoc-api-version"]);
+   }-*/;
+
+   // the AST is rebuilt from JSON so that callers are free to modify it
+   private static native JavaScriptObject assemble(String apiVersion,
+                                                   String meta,
+                                                   JsArrayString parts) /*-{
+      return JSON.parse(
+         '{"pandoc-api-version":' + apiVersion +
+         ',"meta":' + meta +
+         ',"blocks":[' + parts.join(",") + ']}'
+      );
+   }-*/;
+
+   private static class Entry
+   {
+      public Entry(String blocksJson, String metaJson)
+      {
+         this.blocksJson = blocksJson;
+         this.metaJson = metaJson;
+      }
+
+      public final String blocksJson;
+      public final String metaJson;
+   }
+
+   private final LruCache<String, Entry> cache_ =
+         new LruCache<String, Entry>(CAPACITY);
+   private String parseKey_;
+   private String apiVersion_;
+
+   private static final int CAPACITY = 2048;
+
+   private static final RegExp FENCE = RegExp.compile("^\\s{0,3}(`{3,}|~{3,})");
+   private static final RegExp HEADING = RegExp.compile("^(#{1,6})(\\s|$)");
+   private static final RegExp HEADING_ATTRIBUTES = RegExp.compile("\\s*\\{([^}]*)\\}\\s*$");
+   private static final RegExp HEADING_CLOSE = RegExp.compile("\\s+#+\\s*$");
+   private static final RegExp HEADING_ID = RegExp.compile("(?:^|\\s)#([^\\s}]+)");
+   private static final RegExp LINK_TEXT = RegExp.compile("\\[([^\\[\\]]+)\\](?:\\[\\])?(?![(\\[{])", "g");
+   private static final RegExp DIV_FENCE = RegExp.compile("^\\s{0,3}:{3,}\\s*(.*)$");
+   private static final RegExp HTML_BLOCK = RegExp.compile(
+         "^\\s{0,3}</?(address|article|aside|blockquote|body|center|details|" +
+         "dialog|div|dl|fieldset|figure|footer|form|header|html|iframe|main|" +
+         "nav|noscript|ol|pre|script|section|style|table|textarea|ul)" +
+         "(\\s|/?>|$)", "i");
+   private static final RegExp REFERENCE = RegExp.compile("^\\s{0,3}\\[[^\\]]+\\]:");
+   private static final RegExp RULE = RegExp.compile("^\\s{0,3}(-+|=+)\\s*$");
+   private static final RegExp YAML_END = RegExp.compile("^(---|\\.\\.\\.)\\s*$");
+}
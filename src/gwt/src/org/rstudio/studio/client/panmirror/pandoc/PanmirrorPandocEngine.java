@@ -15,12 +15,18 @@
 
 package org.rstudio.studio.client.panmirror.pandoc;
 
+import java.util.List;
+
 import org.rstudio.core.client.StringUtil;
 import org.rstudio.core.client.promise.PromiseServerRequestCallback;
 import org.rstudio.studio.client.RStudioGinjector;
+import org.rstudio.studio.client.panmirror.pandoc.PanmirrorPandocAstCache.Section;
+import org.rstudio.studio.client.server.ServerError;
+import org.rstudio.studio.client.server.ServerRequestCallback;
 
 import com.google.gwt.core.client.JavaScriptObject;
 import com.google.gwt.core.client.JsArrayString;
+import com.google.gwt.user.client.Command;
 import com.google.inject.Inject;
 
 import elemental2.promise.Promise;
@@ -61,20 +67,82 @@ public class PanmirrorPandocEngine {
       
       return new Promise<JavaScriptObject>((ResolveCallbackFn<JavaScriptObject> resolve, RejectCallbackFn reject) -> {
          
-         server_.pandocMarkdownToAst(
-            input, format, options, 
-            new PromiseServerRequestCallback<JavaScriptObject>(resolve, reject)
-         );
+         // parse only the sections which have changed since the last parse, 
+         // if the document can be split into sections
+         List<Section> sections = PanmirrorPandocAstCache.split(input);
+         if (sections == null || sections.size() < MIN_SECTIONS)
+         {
+            server_.pandocMarkdownToAst(
+               input, format, options, 
+               new PromiseServerRequestCallback<JavaScriptObject>(resolve, reject)
+            );
+            return;
+         }
+         
+         astCache_.setParseKey(optionsKey(format, options));
+         List<Section> missing = astCache_.getMissing(sections);
+         if (missing.size() > MAX_SECTIONS_TO_PARSE)
+         {
+            server_.pandocMarkdownToAst(input, format, options, 
+                  new ServerRequestCallback<JavaScriptObject>() {
+               @Override
+               public void onResponseReceived(JavaScriptObject ast)
+               {
+                  astCache_.addAll(sections, ast);
+                  resolve.onInvoke(ast);
+               }
+               
+               @Override
+               public void onError(ServerError error)
+               {
+                  new PromiseServerRequestCallback<JavaScriptObject>(resolve, reject).onError(error);
+               }
+            });
+            return;
+         }
+         
+         parseSections(missing, format, options, () -> {
+            JavaScriptObject ast = astCache_.assemble(sections);
+            if (ast != null)
+            {
+               resolve.onInvoke(ast);
+            }
+            else
+            {
+               // a section didn't parse as expected on its own
+               server_.pandocMarkdownToAst(
+                  input, format, options,
+                  new PromiseServerRequestCallback<JavaScriptObject>(resolve, reject)
+               );
+            }
+         });
       });
    }
    
    public Promise<String> astToMarkdown(JavaScriptObject ast, String format, JsArrayString options)
    {
+      // the editor often asks for the same document to be written repeatedly
+      // (e.g. when checking for changes), so remember the last result
+      final String key = optionsKey(format, options) + "\n" + PanmirrorPandocAstCache.getAstKey(ast);
+      if (StringUtil.equals(key, lastAstKey_))
+         return Promise.resolve(lastMarkdown_);
+      
       return new Promise<String>((ResolveCallbackFn<String> resolve, RejectCallbackFn reject) -> {
-         server_.pandocAstToMarkdown(
-            ast, format, options, 
-            new PromiseServerRequestCallback<String>(resolve, reject)
-         );
+         server_.pandocAstToMarkdown(ast, format, options, new ServerRequestCallback<String>() {
+            @Override
+            public void onResponseReceived(String markdown)
+            {
+               lastAstKey_ = key;
+               lastMarkdown_ = markdown;
+               resolve.onInvoke(markdown);
+            }
+            
+            @Override
+            public void onError(ServerError error)
+            {
+               new PromiseServerRequestCallback<String>(resolve, reject).onError(error);
+            }
+         });
       });
    }
 
@@ -85,6 +153,58 @@ public class PanmirrorPandocEngine {
       });
    }
 
+   // Parses each of the given sections on its own, caching the results
+   private void parseSections(List<Section> sections, String format, JsArrayString options, 
+                              Command onCompleted)
+   {
+      if (sections.isEmpty())
+      {
+         onCompleted.execute();
+         return;
+      }
+      
+      final int[] remaining = { sections.size() };
+      for (Section section : sections)
+      {
+         String input = !StringUtil.isNullOrEmpty(section.markdown) ? section.markdown : " ";
+         server_.pandocMarkdownToAst(input, format, options, 
+               new ServerRequestCallback<JavaScriptObject>() {
+            @Override
+            public void onResponseReceived(JavaScriptObject ast)
+            {
+               astCache_.add(section, ast);
+               if (--remaining[0] == 0)
+                  onCompleted.execute();
+            }
+            
+            @Override
+            public void onError(ServerError error)
+            {
+               // the section remains uncached, so the document will be
+               // parsed whole once the others complete
+               if (--remaining[0] == 0)
+                  onCompleted.execute();
+            }
+         });
+      }
+   }
+
+   private static String optionsKey(String format, JsArrayString options)
+   {
+      return format + "\n" + (options != null ? options.join("\n") : "");
+   }
+
    private PanmirrorPandocServerOperations server_;
    
+   private final PanmirrorPandocAstCache astCache_ = new PanmirrorPandocAstCache();
+   private String lastAstKey_;
+   private String lastMarkdown_;
+   
+   // documents with fewer sections are always parsed whole
+   private static final int MIN_SECTIONS = 4;
+   
+   // parse the whole document (rather than its sections) if more than this
+   // many sections have changed
+   private static final int MAX_SECTIONS_TO_PARSE = 8;
+   
 }
@@ -75,9 +75,11 @@ import org.rstudio.studio.client.workbench.prefs.model.UserPrefs;
 import org.rstudio.studio.client.workbench.prefs.model.UserState;
 import org.rstudio.studio.client.workbench.views.source.model.SourceServerOperations;
 
+import com.google.gwt.core.client.GWT;
 import com.google.gwt.core.client.JavaScriptObject;
 import com.google.gwt.core.client.JsArray;
 import com.google.gwt.core.client.JsArrayString;
+import com.google.gwt.core.client.RunAsyncCallback;
 import com.google.gwt.dom.client.Style.Unit;
 import com.google.gwt.event.dom.client.ClickEvent;
 import com.google.gwt.event.dom.client.ClickHandler;
@@ -477,19 +479,48 @@ public class RSConnect implements SessionInitHandler,
       publishAsFiles(input.getOriginatingEvent(), source);
    }
 
-   private void publishAsFiles(RSConnectActionEvent event,
-         RSConnectPublishSource source)
+   private void publishAsFiles(final RSConnectActionEvent event,
+         final RSConnectPublishSource source)
    {
-      RSConnectDeployDialog dialog = 
-            new RSConnectDeployDialog(
-                      event.getContentType(),
-                      server_, this, display_, 
-                      source,
-                      event.getFromPrevious());
-      dialog.showModal();
+      // the publishing UI is loaded on demand (it's used rarely, and is
+      // large)
+      GWT.runAsync(new RunAsyncCallback()
+      {
+         public void onFailure(Throwable reason)
+         {
+            display_.showErrorMessage("Publish", reason.getMessage());
+         }
+
+         public void onSuccess()
+         {
+            RSConnectDeployDialog dialog = 
+                  new RSConnectDeployDialog(
+                            event.getContentType(),
+                            server_, RSConnect.this, display_, 
+                            source,
+                            event.getFromPrevious());
+            dialog.showModal();
+         }
+      });
    }
    
    private void publishWithWizard(final RSConnectPublishInput input)
+   {
+      GWT.runAsync(new RunAsyncCallback()
+      {
+         public void onFailure(Throwable reason)
+         {
+            display_.showErrorMessage("Publish", reason.getMessage());
+         }
+
+         public void onSuccess()
+         {
+            showPublishWizard(input);
+         }
+      });
+   }
+   
+   private void showPublishWizard(final RSConnectPublishInput input)
    {
       RSConnectPublishWizard wizard = 
             new RSConnectPublishWizard(input, 
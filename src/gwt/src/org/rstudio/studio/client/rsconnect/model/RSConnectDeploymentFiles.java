@@ -15,6 +15,7 @@
 package org.rstudio.studio.client.rsconnect.model;
 
 import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.core.client.JsArrayNumber;
 import com.google.gwt.core.client.JsArrayString;
 
 public class RSConnectDeploymentFiles extends JavaScriptObject
@@ -27,6 +28,14 @@ public class RSConnectDeploymentFiles extends JavaScriptObject
       return this.dir_list;
    }-*/;
 
+   /**
+    * @return The size of each entry in the list (for a directory, the total
+    *    size of the files in it)
+    */
+   public final native JsArrayNumber getDirSizes() /*-{
+      return this.dir_sizes || [];
+   }-*/;
+
    public final native int getDirSize() /*-{
       return this.dir_size;
    }-*/;
@@ -34,4 +43,12 @@ public class RSConnectDeploymentFiles extends JavaScriptObject
    public final native int getMaxSize() /*-{
       return this.max_size;
    }-*/;
+
+   /**
+    * @return Whether listing stopped before all the files were found (because
+    *    the maximum deployment size or number of files was reached)
+    */
+   public final native boolean isIncomplete() /*-{
+      return !!this.incomplete;
+   }-*/;
 }
@@ -48,6 +48,11 @@ public interface RSConnectServerOperations
                boolean asMultipleRmd,
                ServerRequestCallback<RSConnectDeploymentFiles> requestCallback);
    
+   void getDeploymentDirFiles(String target,
+               boolean asMultipleRmd,
+               String dir,
+               ServerRequestCallback<RSConnectDeploymentFiles> requestCallback);
+   
    void publishContent(RSConnectPublishSource source, 
                String account, String server, String appName, String appTitle, String appId,
                RSConnectPublishSettings settings,
@@ -14,18 +14,35 @@
  */
 package org.rstudio.studio.client.rsconnect.ui;
 
+import org.rstudio.core.client.StringUtil;
 import org.rstudio.core.client.files.FileSystemItem;
+import org.rstudio.core.client.widget.HyperlinkLabel;
 import org.rstudio.studio.client.RStudioGinjector;
 
+import com.google.gwt.dom.client.Style.Unit;
+import com.google.gwt.event.logical.shared.ValueChangeHandler;
+import com.google.gwt.event.shared.HandlerRegistration;
 import com.google.gwt.resources.client.ImageResource;
 import com.google.gwt.safehtml.shared.SafeHtmlBuilder;
+import com.google.gwt.user.client.Command;
 import com.google.gwt.user.client.ui.AbstractImagePrototype;
 import com.google.gwt.user.client.ui.CheckBox;
 import com.google.gwt.user.client.ui.Composite;
+import com.google.gwt.user.client.ui.HorizontalPanel;
 
 public class DirEntryCheckBox extends Composite
 {
    public DirEntryCheckBox(String path)
+   {
+      this(path, -1);
+   }
+   
+   /**
+    * @param path The path of the file or directory (directories end in "/")
+    * @param size The size of the file, or the total size of the files in the
+    *    directory, or -1 if unknown
+    */
+   public DirEntryCheckBox(String path, double size)
    {
       // create the appropriate filesystem object for the path
       FileSystemItem fsi = null;
@@ -39,7 +56,8 @@ public class DirEntryCheckBox extends Composite
          fsi = FileSystemItem.createFile(path);
       }
       path_ = path;
-      
+      size_ = size;
+      isDirectory_ = fsi.isDirectory();
       
       // add an icon representing the file
       ImageResource icon = 
@@ -49,9 +67,33 @@ public class DirEntryCheckBox extends Composite
       
       // insert the file/dir name into the checkbox
       hb.appendEscaped(path_);
+      if (size_ >= 0)
+         hb.appendEscaped(" (" + StringUtil.formatFileSize((long) size_) + ")");
       checkbox_ = new CheckBox(hb.toSafeHtml());
       
-      initWidget(checkbox_);
+      panel_ = new HorizontalPanel();
+      panel_.add(checkbox_);
+      initWidget(panel_);
+   }
+   
+   /**
+    * Shows a link which expands the directory (replacing this entry with
+    * entries for its contents).
+    */
+   public void setExpandCommand(Command onExpand)
+   {
+      if (!isDirectory_ || expand_ != null)
+         return;
+      
+      expand_ = new HyperlinkLabel("Expand", onExpand);
+      expand_.getElement().getStyle().setMarginLeft(6, Unit.PX);
+      panel_.add(expand_);
+   }
+   
+   public HandlerRegistration addValueChangeHandler(
+         ValueChangeHandler<Boolean> handler)
+   {
+      return checkbox_.addValueChangeHandler(handler);
    }
    
    public boolean getValue()
@@ -69,6 +111,25 @@ public class DirEntryCheckBox extends Composite
       return path_;
    }
    
+   /**
+    * @return The path, as it's known to the server (with a trailing "/" for
+    *    directories)
+    */
+   public String getEntryPath()
+   {
+      return isDirectory_ ? path_ + "/" : path_;
+   }
+   
+   public double getSize()
+   {
+      return Math.max(0, size_);
+   }
+   
+   public boolean isDirectory()
+   {
+      return isDirectory_;
+   }
+   
    public void setEnabled(boolean enabled)
    {
       checkbox_.setEnabled(enabled);
@@ -80,5 +141,9 @@ public class DirEntryCheckBox extends Composite
    }
    
    private final String path_;
+   private final double size_;
+   private final boolean isDirectory_;
    private final CheckBox checkbox_;
+   private final HorizontalPanel panel_;
+   private HyperlinkLabel expand_;
 }
@@ -15,6 +15,7 @@
 package org.rstudio.studio.client.rsconnect.ui;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 
 import com.google.gwt.aria.client.Id;
 import com.google.gwt.aria.client.Roles;
@@ -55,6 +56,7 @@ import org.rstudio.studio.client.workbench.prefs.model.UserState;
 
 import com.google.gwt.core.client.GWT;
 import com.google.gwt.core.client.JsArray;
+import com.google.gwt.core.client.JsArrayNumber;
 import com.google.gwt.core.client.Scheduler;
 import com.google.gwt.core.client.Scheduler.ScheduledCommand;
 import com.google.gwt.dom.client.Style.FontWeight;
@@ -102,6 +104,8 @@ public class RSConnectDeploy extends Composite
       String appErrorMessage();
       String appErrorPanel();
       String appWarningIcon();
+      String bundleSize();
+      String bundleSizeExceeded();
       String controlLabel();
       String deployIllustration();
       String deployLabel();
@@ -357,7 +361,7 @@ public class RSConnectDeploy extends Composite
    
    public void addFileToList(String path)
    {
-      addFile(path, true);
+      addFile(path, -1, true);
    }
    
    public ArrayList<String> getFileList()
@@ -488,6 +492,19 @@ public class RSConnectDeploy extends Composite
    
    public void validateResult(final OperationWithInput<Boolean> onComplete)
    {
+      if (isBundleTooLarge())
+      {
+         display_.showErrorMessage("Deployment Too Large",
+               "The files to be deployed (" +
+               StringUtil.formatFileSize((long) bundleSize_) + ") exceed " +
+               "the maximum deployment size, which is " +
+               StringUtil.formatFileSize((long) maxBundleSize_) + ". " +
+               "Uncheck some of the files to reduce the size of the " +
+               "deployment.");
+         onComplete.execute(false);
+         return;
+      }
+      
       if (isUpdate())
       {
          // no need to validate names for updates
@@ -565,49 +582,30 @@ public class RSConnectDeploy extends Composite
 
    // Private methods --------------------------------------------------------
    
-   private void setFileList(ArrayList<String> files,
+   private void setFileList(ArrayList<String> files, JsArrayNumber sizes,
          ArrayList<String> additionalFiles, ArrayList<String> ignoredFiles)
    {
       fileChecks_ = new ArrayList<>();
+      bundleSize_ = 0;
+      
+      HashSet<String> ignored = ignoredFiles != null ? 
+            new HashSet<>(ignoredFiles) : new HashSet<>();
+      HashSet<String> additional = additionalFiles != null ?
+            new HashSet<>(additionalFiles) : new HashSet<>();
       
       // clear existing file list
       fileListPanel_.clear(); 
       for (int i = 0; i < files.size(); i++)
       {
-         boolean checked = true;
-         boolean add = true;
-         
-         // if this file is marked ignored, uncheck it
-         if (ignoredFiles != null)
-         {
-            for (int j = 0; j < ignoredFiles.size(); j++)
-            {
-               if (ignoredFiles.get(j) == files.get(i))
-               {
-                  checked = false; 
-                  break;
-               }
-            }
-         }
-
          // if this file is marked additional, don't add it twice (we're about
          // to add the additional files separately below)
-         if (additionalFiles != null)
-         {
-            for (int j = 0; j < additionalFiles.size(); j++)
-            {
-               if (additionalFiles.get(j) == files.get(i))
-               {
-                  add = false; 
-                  break;
-               }
-            }
-         }
-
-         if (add)
-         {
-            addFile(files.get(i), checked);
-         }
+         if (additional.contains(files.get(i)))
+            continue;
+         
+         // if this file is marked ignored, uncheck it
+         addFile(files.get(i), 
+               sizes != null && i < sizes.length() ? sizes.get(i) : -1, 
+               !ignored.contains(files.get(i)));
       }
 
       // add any additional files 
@@ -615,10 +613,12 @@ public class RSConnectDeploy extends Composite
       {
          for (int i = 0; i < additionalFiles.size(); i++)
          {
-            addFile(additionalFiles.get(i), true);
+            addFile(additionalFiles.get(i), -1, true);
          }
       }
       
+      updateBundleSize();
+      
       // hide check/uncheck all button if there are only a few files
       if (fileChecks_.size() < 3)
       {
@@ -860,7 +860,7 @@ public class RSConnectDeploy extends Composite
          FileSystemItem selfContained = FileSystemItem.createFile(
                      source_.getDeployFile());
          files.add(selfContained.getName());
-         setFileList(files, null, null);
+         setFileList(files, null, null, null);
          setPrimaryFile(selfContained.getName());
          return;
       }
@@ -890,6 +890,7 @@ public class RSConnectDeploy extends Composite
       }
 
       indicator.onProgress("Collecting files...");
+      fileSource_ = fileSource;
       server_.getDeploymentFiles(
             fileSource,
             asMultipleRmd_,
@@ -898,36 +899,30 @@ public class RSConnectDeploy extends Composite
                @Override 
                public void onResponseReceived(RSConnectDeploymentFiles files)
                {
-                  if (files.getDirSize() > files.getMaxSize())
-                  {
-                     indicator.onError(
-                           "The item to be deployed (" + fileSource + ") " +
-                           "exceeds the maximum deployment size, which is " +
-                           StringUtil.formatFileSize(files.getMaxSize()) + "." +
-                           " Consider creating a new directory containing " + 
-                           "only the content you wish to deploy.");
-
-                  }
-                  else
+                  // the size of the deployment is checked as files are
+                  // checked and unchecked, so a directory which is too large
+                  // can still be deployed in part
+                  maxBundleSize_ = files.getMaxSize();
+                  listingIncomplete_ = files.isIncomplete();
+                  
+                  if (files.getDirList() == null || 
+                      files.getDirList().length() == 0)
                   {
-                     if (files.getDirList() == null || 
-                         files.getDirList().length() == 0)
-                     {
-                        indicator.onError("Could not determine the list of " +
-                          "files to deploy.");
-                        indicator.onCompleted();
-                     }
-                     setFileList(
-                           JsArrayUtil.fromJsArrayString(files.getDirList()), 
-                           fromPrevious_ != null ?
-                                 fromPrevious_.getAdditionalFiles() : null, 
-                           fromPrevious_ != null ? 
-                                 fromPrevious_.getIgnoredFiles() : null);
-                     if (!source_.isWebsiteRmd())
-                        setPrimaryFile(
-                              FileSystemItem.createFile(
-                                    source_.getDeployFile()).getName());
+                     indicator.onError("Could not determine the list of " +
+                       "files to deploy.");
+                     indicator.onCompleted();
                   }
+                  setFileList(
+                        JsArrayUtil.fromJsArrayString(files.getDirList()), 
+                        files.getDirSizes(),
+                        fromPrevious_ != null ?
+                              fromPrevious_.getAdditionalFiles() : null, 
+                        fromPrevious_ != null ? 
+                              fromPrevious_.getIgnoredFiles() : null);
+                  if (!source_.isWebsiteRmd())
+                     setPrimaryFile(
+                           FileSystemItem.createFile(
+                                 source_.getDeployFile()).getName());
                   
                   Scheduler.get().scheduleDeferred(new ScheduledCommand()
                   {
@@ -950,14 +945,119 @@ public class RSConnectDeploy extends Composite
       
    }
 
-   private void addFile(String path, boolean checked)
+   private void addFile(String path, double size, boolean checked)
    {
-      DirEntryCheckBox fileCheck = new DirEntryCheckBox(path);
-      fileCheck.setValue(checked);
+      DirEntryCheckBox fileCheck = createFileCheck(path, size, checked);
       fileListPanel_.add(fileCheck);
       fileChecks_.add(fileCheck);
    }
    
+   private DirEntryCheckBox createFileCheck(String path, double size, 
+                                            boolean checked)
+   {
+      final DirEntryCheckBox fileCheck = new DirEntryCheckBox(path, size);
+      fileCheck.setValue(checked);
+      if (checked)
+         bundleSize_ += fileCheck.getSize();
+      
+      fileCheck.addValueChangeHandler(event ->
+      {
+         bundleSize_ += event.getValue() ? 
+               fileCheck.getSize() : -fileCheck.getSize();
+         updateBundleSize();
+      });
+      
+      // directories with many files are collapsed; expanding one replaces it
+      // with its contents
+      if (size >= 0 && fileSource_ != null)
+         fileCheck.setExpandCommand(() -> expandDir(fileCheck));
+      
+      return fileCheck;
+   }
+   
+   private void setFileChecked(DirEntryCheckBox fileCheck, boolean checked)
+   {
+      if (fileCheck.getValue() == checked)
+         return;
+      fileCheck.setValue(checked);
+      bundleSize_ += checked ? fileCheck.getSize() : -fileCheck.getSize();
+   }
+   
+   private void expandDir(final DirEntryCheckBox dirCheck)
+   {
+      server_.getDeploymentDirFiles(
+            fileSource_,
+            asMultipleRmd_,
+            dirCheck.getEntryPath(),
+            new ServerRequestCallback<RSConnectDeploymentFiles>()
+            {
+               @Override
+               public void onResponseReceived(RSConnectDeploymentFiles files)
+               {
+                  int index = fileChecks_.indexOf(dirCheck);
+                  int widgetIndex = fileListPanel_.getWidgetIndex(dirCheck);
+                  if (index < 0 || widgetIndex < 0 || 
+                      files.getDirList() == null)
+                     return;
+                  
+                  // replace the directory with its contents, which inherit
+                  // its checked state
+                  boolean checked = dirCheck.getValue();
+                  if (checked)
+                     bundleSize_ -= dirCheck.getSize();
+                  fileChecks_.remove(index);
+                  fileListPanel_.remove(dirCheck);
+                  
+                  JsArrayNumber sizes = files.getDirSizes();
+                  for (int i = 0; i < files.getDirList().length(); i++)
+                  {
+                     DirEntryCheckBox fileCheck = createFileCheck(
+                           files.getDirList().get(i), 
+                           i < sizes.length() ? sizes.get(i) : -1, 
+                           checked);
+                     fileListPanel_.insert(fileCheck, widgetIndex + i);
+                     fileChecks_.add(index + i, fileCheck);
+                  }
+                  updateBundleSize();
+               }
+               
+               @Override
+               public void onError(ServerError error)
+               {
+                  display_.showErrorMessage("Error Listing Files",
+                        error.getMessage());
+               }
+            });
+   }
+   
+   private boolean isBundleTooLarge()
+   {
+      return maxBundleSize_ > 0 && bundleSize_ > maxBundleSize_;
+   }
+   
+   private void updateBundleSize()
+   {
+      if (maxBundleSize_ <= 0 && !listingIncomplete_)
+      {
+         bundleSizeLabel_.setVisible(false);
+         return;
+      }
+      
+      bundleSizeLabel_.setVisible(true);
+      bundleSizeLabel_.setText("Size: " + 
+            StringUtil.formatFileSize((long) bundleSize_) + 
+            (isBundleTooLarge() ? 
+               " (maximum is " + 
+                  StringUtil.formatFileSize((long) maxBundleSize_) + ")" : 
+               "") +
+            (listingIncomplete_ ?
+               ". The directory is too large to list in full; files not " +
+               "listed will not be deployed." :
+               ""));
+      bundleSizeLabel_.setStyleName(style_.bundleSizeExceeded(), 
+            isBundleTooLarge() || listingIncomplete_);
+   }
+   
    private ArrayList<String> getCheckedFileList(boolean checked)
    {
       ArrayList<String> files = new ArrayList<>();
@@ -1218,9 +1318,10 @@ public class RSConnectDeploy extends Composite
              file != "server.r" &&
              file != "app.r")
          {
-            box.setValue(allChecked_);
+            setFileChecked(box, allChecked_);
          }
       }
+      updateBundleSize();
       checkUncheckAllButton_.setText(allChecked_ ? "Uncheck All" : "Check All");
    }
    
@@ -1302,6 +1403,7 @@ public class RSConnectDeploy extends Composite
    @UiField Image descriptionImage_;
    @UiField InlineLabel fileListLabel_;
    @UiField InlineLabel deployLabel_;
+   @UiField Label bundleSizeLabel_;
    @UiField Label appErrorMessage_;
    @UiField Label appExistingName_;
    @UiField Label appProgressName_;
@@ -1324,6 +1426,15 @@ public class RSConnectDeploy extends Composite
    private ArrayList<DirEntryCheckBox> fileChecks_;
    private ArrayList<String> filesAddedManually_ = new ArrayList<>();
    
+   // the total size of the checked files, and the maximum size of a
+   // deployment (0 if unknown)
+   private double bundleSize_ = 0;
+   private double maxBundleSize_ = 0;
+   
+   // whether the server stopped listing files before it found them all
+   private boolean listingIncomplete_ = false;
+   private String fileSource_;
+   
    private RSConnectServerOperations server_;
    private GlobalDisplay display_;
    private RSAccountConnector connector_;
@@ -153,7 +153,7 @@ import org.rstudio.studio.client.workbench.views.connections.model.ConnectionId;
 import org.rstudio.studio.client.workbench.views.connections.model.ConnectionObjectSpecifier;
 import org.rstudio.studio.client.workbench.views.connections.model.ConnectionUninstallResult;
 import org.rstudio.studio.client.workbench.views.connections.model.ConnectionUpdateResult;
-import org.rstudio.studio.client.workbench.views.connections.model.DatabaseObject;
+import org.rstudio.studio.client.workbench.views.connections.model.DatabaseObjectPage;
 import org.rstudio.studio.client.workbench.views.connections.model.Field;
 import org.rstudio.studio.client.workbench.views.connections.model.NewConnectionContext;
 import org.rstudio.studio.client.workbench.views.connections.model.NewConnectionInfo;
@@ -173,8 +173,10 @@ import org.rstudio.studio.client.workbench.views.files.model.DirectoryListing;
 import org.rstudio.studio.client.workbench.views.files.model.FileUploadToken;
 import org.rstudio.studio.client.workbench.views.help.model.HelpInfo;
 import org.rstudio.studio.client.workbench.views.history.model.HistoryEntry;
+import org.rstudio.studio.client.workbench.views.jobs.model.Job;
 import org.rstudio.studio.client.workbench.views.jobs.model.JobLaunchSpec;
 import org.rstudio.studio.client.workbench.views.jobs.model.JobOutput;
+import org.rstudio.studio.client.workbench.views.jobs.model.JobOutputPage;
 import org.rstudio.studio.client.workbench.views.output.lint.model.AceAnnotation;
 import org.rstudio.studio.client.workbench.views.output.lint.model.LintItem;
 import org.rstudio.studio.client.workbench.views.packages.model.PackageInstallContext;
@@ -184,6 +186,7 @@ import org.rstudio.studio.client.workbench.views.packages.model.PackratActions;
 import org.rstudio.studio.client.workbench.views.plots.model.Point;
 import org.rstudio.studio.client.workbench.views.presentation.model.PresentationRPubsSource;
 import org.rstudio.studio.client.workbench.views.source.editors.explorer.model.ObjectExplorerInspectionResult;
+import org.rstudio.studio.client.workbench.views.source.editors.explorer.model.ObjectExplorerSearchResult;
 import org.rstudio.studio.client.workbench.views.source.editors.profiler.model.ProfileOperationRequest;
 import org.rstudio.studio.client.workbench.views.source.editors.profiler.model.ProfileOperationResponse;
 import org.rstudio.studio.client.workbench.views.source.editors.text.IconvListResult;
@@ -1346,6 +1349,12 @@ public class RemoteServer implements Server
       sendRequest(RPC_SCOPE, "suggest_topics", prefix, requestCallback);
    }
 
+   public void getHelpTopicIndex(
+         ServerRequestCallback<JsArrayString> requestCallback)
+   {
+      sendRequest(RPC_SCOPE, GET_HELP_TOPIC_INDEX, requestCallback);
+   }
+
    public void getHelp(String topic,
                        String packageName,
                        int options,
@@ -1715,6 +1724,16 @@ public class RemoteServer implements Server
       sendRequest(RPC_SCOPE, REFRESH_PLOT, requestCallback);
    }
    
+   public void getPlotImageFilenames(int first,
+                                     int last,
+                                     ServerRequestCallback<JsArrayString> requestCallback)
+   {
+      JSONArray params = new JSONArray();
+      params.set(0, new JSONNumber(first));
+      params.set(1, new JSONNumber(last));
+      sendRequest(RPC_SCOPE, GET_PLOT_IMAGE_FILENAMES, params, requestCallback);
+   }
+   
    public void savePlotAs(FileSystemItem file,
                           String format,
                           int width,
@@ -2163,6 +2182,7 @@ public class RemoteServer implements Server
                                      String objectAccess,
                                      JsArrayString tags,
                                      int fromIndex,
+                                     int count,
                                      ServerRequestCallback<ObjectExplorerInspectionResult> requestCallback)
    {
       JSONArray params = new JSONArrayBuilder()
@@ -2172,6 +2192,7 @@ public class RemoteServer implements Server
             .add(objectAccess)
             .add(tags)
             .add(fromIndex)
+            .add(count)
             .get();
       
       sendRequest(RPC_SCOPE, EXPLORER_INSPECT_OBJECT, params, requestCallback);
@@ -2187,6 +2208,20 @@ public class RemoteServer implements Server
       sendRequest(RPC_SCOPE, EXPLORER_BEGIN_INSPECT, params, requestCallback);
    }
    
+   public void explorerSearchObject(String handleId,
+                                    String filter,
+                                    int limit,
+                                    ServerRequestCallback<ObjectExplorerSearchResult> requestCallback)
+   {
+      JSONArray params = new JSONArrayBuilder()
+            .add(handleId)
+            .add(filter)
+            .add(limit)
+            .get();
+      
+      sendRequest(RPC_SCOPE, EXPLORER_SEARCH_OBJECT, params, requestCallback);
+   }
+   
    public void explorerEndInspect(String handleId,
                                   ServerRequestCallback<Void> requestCallback)
    {
@@ -5069,6 +5104,22 @@ public class RemoteServer implements Server
             params,
             requestCallback);
    }
+
+   @Override
+   public void getDeploymentDirFiles(String target,
+         boolean asMultipleRmd,
+         String dir,
+         ServerRequestCallback<RSConnectDeploymentFiles> requestCallback)
+   {
+      JSONArray params = new JSONArray();
+      params.set(0, new JSONString(target));
+      params.set(1, JSONBoolean.getInstance(asMultipleRmd));
+      params.set(2, new JSONString(dir));
+      sendRequest(RPC_SCOPE,
+            GET_DEPLOYMENT_DIR_FILES,
+            params,
+            requestCallback);
+   }
    
    @Override
    public void getLintResults(String target,
@@ -5554,6 +5605,11 @@ public class RemoteServer implements Server
                                    String documentPath,
                                    boolean showMarkersPane,
                                    boolean explicit,
+                                   String revision,
+                                   String baseRevision,
+                                   String replacement,
+                                   int offset,
+                                   int length,
                                    ServerRequestCallback<JsArray<LintItem>> requestCallback)
    {
       JSONArray params = new JSONArray();
@@ -5561,6 +5617,11 @@ public class RemoteServer implements Server
       params.set(1, new JSONString(documentPath));
       params.set(2, JSONBoolean.getInstance(showMarkersPane));
       params.set(3, JSONBoolean.getInstance(explicit));
+      params.set(4, new JSONString(revision));
+      params.set(5, new JSONString(baseRevision));
+      params.set(6, new JSONString(replacement));
+      params.set(7, new JSONNumber(offset));
+      params.set(8, new JSONNumber(length));
       sendRequest(RPC_SCOPE, LINT_R_SOURCE_DOCUMENT, params, requestCallback);
    }
    
@@ -5828,11 +5889,19 @@ public class RemoteServer implements Server
    public void connectionListObjects(
                               ConnectionId connectionId,
                               ConnectionObjectSpecifier container,
-                              ServerRequestCallback<JsArray<DatabaseObject>> callback)
+                              int offset,
+                              int limit,
+                              String filter,
+                              boolean refresh,
+                              ServerRequestCallback<DatabaseObjectPage> callback)
    {
       JSONArray params = new JSONArray();
       params.set(0, new JSONObject(connectionId));
       params.set(1, new JSONArray(container.asJsArray()));
+      params.set(2, new JSONNumber(offset));
+      params.set(3, new JSONNumber(limit));
+      params.set(4, new JSONString(filter));
+      params.set(5, JSONBoolean.getInstance(refresh));
       sendRequest(RPC_SCOPE, CONNECTION_LIST_OBJECTS, params, callback);
    }
 
@@ -5977,15 +6046,36 @@ public class RemoteServer implements Server
 
    @Override
    public void setJobListening(String id, boolean listening, boolean bypassLauncherCall,
-                               ServerRequestCallback<JsArray<JobOutput>> callback)
+                               int maxEntries,
+                               ServerRequestCallback<JobOutputPage> callback)
    {
       JSONArray params = new JSONArray();
       params.set(0, new JSONString(id));
       params.set(1, JSONBoolean.getInstance(listening));
       params.set(2, JSONBoolean.getInstance(bypassLauncherCall));
+      params.set(3, new JSONNumber(maxEntries));
       sendRequest(RPC_SCOPE, "set_job_listening", params, callback);
    }
    
+   @Override
+   public void jobOutput(String id, int position, int count,
+                         ServerRequestCallback<JsArray<JobOutput>> callback)
+   {
+      JSONArray params = new JSONArray();
+      params.set(0, new JSONString(id));
+      params.set(1, new JSONNumber(position));
+      params.set(2, new JSONNumber(count));
+      sendRequest(RPC_SCOPE, "job_output", params, callback);
+   }
+   
+   @Override
+   public String getJobOutputUrl(Job job)
+   {
+      return getApplicationURL(JOB_OUTPUT_SCOPE) + "/" + 
+         URL.encodePathSegment(job.name + ".txt") + "?" +
+         "id=" + URL.encodeQueryString(job.id);
+   }
+   
    @Override
    public void executeJobAction(String id, String action, 
                                 ServerRequestCallback<Void> callback)
@@ -6185,6 +6275,7 @@ public class RemoteServer implements Server
    private static final String EVENTS_SCOPE = "events";
    private static final String UPLOAD_SCOPE = "upload";
    private static final String EXPORT_SCOPE = "export";
+   private static final String JOB_OUTPUT_SCOPE = "job_output";
    private static final String GRAPHICS_SCOPE = "graphics";
    private static final String SOURCE_SCOPE = "source";
    private static final String LOG_SCOPE = "log";
@@ -6277,6 +6368,7 @@ public class RemoteServer implements Server
    private static final String DISCOVER_PACKAGE_DEPENDENCIES = "discover_package_dependencies";
 
    private static final String GET_HELP = "get_help";
+   private static final String GET_HELP_TOPIC_INDEX = "get_help_topic_index";
    private static final String SHOW_HELP_TOPIC = "show_help_topic";
    private static final String SEARCH = "search";
    private static final String GET_CUSTOM_HELP = "get_custom_help";
@@ -6301,6 +6393,7 @@ public class RemoteServer implements Server
    private static final String REMOVE_PLOT = "remove_plot";
    private static final String CLEAR_PLOTS = "clear_plots";
    private static final String REFRESH_PLOT = "refresh_plot";
+   private static final String GET_PLOT_IMAGE_FILENAMES = "get_plot_image_filenames";
    private static final String SAVE_PLOT_AS = "save_plot_as";
    private static final String SAVE_PLOT_AS_PDF = "save_plot_as_pdf";
    private static final String COPY_PLOT_TO_CLIPBOARD_METAFILE = "copy_plot_to_clipboard_metafile";
@@ -6358,6 +6451,7 @@ public class RemoteServer implements Server
    private static final String EXPLORER_INSPECT_OBJECT = "explorer_inspect_object";
    private static final String EXPLORER_BEGIN_INSPECT = "explorer_begin_inspect";
    private static final String EXPLORER_END_INSPECT = "explorer_end_inspect";
+   private static final String EXPLORER_SEARCH_OBJECT = "explorer_search_object";
    
    private static final String GET_EDITOR_CONTEXT_COMPLETED = "get_editor_context_completed";
 
@@ -6554,6 +6648,7 @@ public class RemoteServer implements Server
    private static final String RSCONNECT_PUBLISH = "rsconnect_publish";
    private static final String CANCEL_PUBLISH = "cancel_publish";
    private static final String GET_DEPLOYMENT_FILES = "get_deployment_files";
+   private static final String GET_DEPLOYMENT_DIR_FILES = "get_deployment_dir_files";
    private static final String VALIDATE_SERVER_URL = "validate_server_url";
    private static final String GET_SERVER_URLS = "get_server_urls";
    private static final String GET_AUTH_TOKEN = "get_auth_token";
@@ -0,0 +1,148 @@
+/*
+ * ShowTypingLatency.java
+ *
+ * Copyright (C) 2020 by RStudio, PBC
+ *
+ * Unless you have received this program directly from RStudio pursuant
+ * to the terms of a commercial license agreement with RStudio, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.workbench;
+
+import org.rstudio.core.client.TypingLatency;
+import org.rstudio.core.client.command.CommandBinder;
+import org.rstudio.core.client.command.Handler;
+import org.rstudio.core.client.widget.MiniPopupPanel;
+import org.rstudio.studio.client.workbench.commands.Commands;
+
+import com.google.gwt.event.logical.shared.AttachEvent;
+import com.google.gwt.i18n.client.NumberFormat;
+import com.google.gwt.safehtml.shared.SafeHtmlBuilder;
+import com.google.gwt.user.client.Timer;
+import com.google.gwt.user.client.ui.HTML;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+// Shows rolling percentiles of typing latency (by where the typing occurred)
+// and of the time taken by handlers which run in response to typing.
+@Singleton
+public class ShowTypingLatency
+{
+   interface Binder extends CommandBinder<Commands, ShowTypingLatency>
+   {
+   }
+
+   @Inject
+   public ShowTypingLatency(Binder binder,
+                            Commands commands)
+   {
+      binder.bind(commands, this);
+
+      panel_ = new MiniPopupPanel();
+      html_ = new HTML();
+      panel_.add(html_);
+
+      timer_ = new Timer()
+      {
+         @Override
+         public void run()
+         {
+            update();
+         }
+      };
+
+      panel_.addAttachHandler(new AttachEvent.Handler()
+      {
+         @Override
+         public void onAttachOrDetach(AttachEvent event)
+         {
+            if (event.isAttached())
+            {
+               TypingLatency.reset();
+               TypingLatency.setEnabled(true);
+               update();
+               timer_.scheduleRepeating(UPDATE_INTERVAL_MS);
+            }
+            else
+            {
+               timer_.cancel();
+               TypingLatency.setEnabled(false);
+            }
+         }
+      });
+   }
+
+   @Handler
+   public void onShowTypingLatency()
+   {
+      if (panel_.isShowing())
+      {
+         panel_.hide();
+      }
+      else
+      {
+         panel_.show();
+      }
+   }
+
+   private void update()
+   {
+      SafeHtmlBuilder builder = new SafeHtmlBuilder();
+      builder.appendHtmlConstant("<table style='border-spacing: 8px 2px'>");
+
+      appendHeader(builder, "Key to paint (ms)");
+      for (String category : TypingLatency.getCategories())
+         appendRow(builder, category, TypingLatency.getLatency(category));
+
+      appendHeader(builder, "Handler time (ms)");
+      for (String handler : TypingLatency.getHandlers())
+         appendRow(builder, handler, TypingLatency.getHandlerTime(handler));
+
+      builder.appendHtmlConstant("</table>");
+      html_.setHTML(builder.toSafeHtml());
+   }
+
+   private void appendHeader(SafeHtmlBuilder builder, String title)
+   {
+      builder.appendHtmlConstant("<tr style='font-weight: bold'><td>");
+      builder.appendEscaped(title);
+      builder.appendHtmlConstant("</td>");
+      for (String column : new String[] { "n", "p50", "p90", "p99", "max" })
+      {
+         builder.appendHtmlConstant("<td>");
+         builder.appendEscaped(column);
+         builder.appendHtmlConstant("</td>");
+      }
+      builder.appendHtmlConstant("</tr>");
+   }
+
+   private void appendRow(SafeHtmlBuilder builder,
+                          String name,
+                          TypingLatency.Samples samples)
+   {
+      builder.appendHtmlConstant("<tr><td>");
+      builder.appendEscaped(name);
+      builder.appendHtmlConstant("</td><td>");
+      builder.append(samples.getCount());
+      builder.appendHtmlConstant("</td>");
+      for (double percentile : new double[] { 50, 90, 99, 100 })
+      {
+         builder.appendHtmlConstant("<td>");
+         builder.appendEscaped(FORMAT.format(samples.getPercentile(percentile)));
+         builder.appendHtmlConstant("</td>");
+      }
+      builder.appendHtmlConstant("</tr>");
+   }
+
+   private final MiniPopupPanel panel_;
+   private final HTML html_;
+   private final Timer timer_;
+
+   private static final int UPDATE_INTERVAL_MS = 1000;
+   private static final NumberFormat FORMAT = NumberFormat.getFormat("0.0");
+}
@@ -657,5 +657,6 @@ public abstract class
 
    // Internal
    public abstract AppCommand showDomElements();
+   public abstract AppCommand showTypingLatency();
    public abstract AppCommand showShortcutCommand();
 }
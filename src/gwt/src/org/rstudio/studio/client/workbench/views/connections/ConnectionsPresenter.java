@@ -15,7 +15,9 @@ package org.rstudio.studio.client.workbench.views.connections;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.google.gwt.core.client.GWT;
 import com.google.gwt.core.client.JsArray;
+import com.google.gwt.core.client.RunAsyncCallback;
 import com.google.gwt.event.dom.client.ClickEvent;
 import com.google.gwt.event.dom.client.ClickHandler;
 import com.google.gwt.event.dom.client.HasClickHandlers;
@@ -319,31 +321,49 @@ public class ConnectionsPresenter extends BasePresenter
              @Override
              protected void onSuccess(final NewConnectionContext context)
              {
-                // show dialog
-                NewConnectionWizard newConnectionWizard = new NewConnectionWizard(
-                   context,
-                   new ProgressOperationWithInput<ConnectionOptions>() {
-                      @Override
-                      public void execute(ConnectionOptions result,
-                                          ProgressIndicator indicator)
-                      {
-                         indicator.onCompleted();
+                // the wizard is loaded on demand
+                GWT.runAsync(new RunAsyncCallback()
+                {
+                   public void onFailure(Throwable reason)
+                   {
+                      globalDisplay_.showErrorMessage(
+                            "New Connection", reason.getMessage());
+                   }
 
-                         eventBus_.fireEvent(new PerformConnectionEvent(
-                            result.getConnectVia(),
-                            result.getConnectCode())
-                         );
-                      }
-                   },
-                   installersWarning_
-                );
-               
-                newConnectionWizard.showModal();
+                   public void onSuccess()
+                   {
+                      showWizard(context);
+                   }
+                });
              }
           }
        );  
    }
    
+   private void showWizard(final NewConnectionContext context)
+   {
+      // show dialog
+      NewConnectionWizard newConnectionWizard = new NewConnectionWizard(
+         context,
+         new ProgressOperationWithInput<ConnectionOptions>() {
+            @Override
+            public void execute(ConnectionOptions result,
+                                ProgressIndicator indicator)
+            {
+               indicator.onCompleted();
+
+               eventBus_.fireEvent(new PerformConnectionEvent(
+                  result.getConnectVia(),
+                  result.getConnectCode())
+               );
+            }
+         },
+         installersWarning_
+      );
+
+      newConnectionWizard.showModal();
+   }
+   
    @Override
    public void onPerformConnection(PerformConnectionEvent event)
    {
@@ -33,9 +33,22 @@ public interface ConnectionsServerOperations extends CryptoServerOperations
                                 String action,
                                 ServerRequestCallback<Void> callback);
    
+   /**
+    * Lists a page of the objects in a container.
+    * 
+    * @param offset The index of the first object to list
+    * @param limit The maximum number of objects to list
+    * @param filter When non-empty, list only those data objects (e.g. tables)
+    *    whose names contain the filter; containers are always listed
+    * @param refresh Whether to discard the connection's cached listings
+    */
    void connectionListObjects(ConnectionId connectionId,
                               ConnectionObjectSpecifier object,
-                              ServerRequestCallback<JsArray<DatabaseObject>> callback);
+                              int offset,
+                              int limit,
+                              String filter,
+                              boolean refresh,
+                              ServerRequestCallback<DatabaseObjectPage> callback);
    
    void connectionListFields(ConnectionId connectionId,
                              ConnectionObjectSpecifier object,
@@ -79,7 +79,8 @@ public class ObjectBrowser extends Composite implements RequiresResize
          }, null);
 
       // create new widget
-      objects_ = new CellTree(objectsModel_, null, RES, MESSAGES, 512);
+      objects_ = new CellTree(objectsModel_, null, RES, MESSAGES, 
+            ObjectBrowserModel.PAGE_SIZE);
       
       // create the top level list of objects
       objects_.getElement().getStyle().setBorderStyle(BorderStyle.NONE);
@@ -192,12 +193,11 @@ public class ObjectBrowser extends Composite implements RequiresResize
    
    public void setFilterText(String text)
    {
-      objectsModel_.setFilterText(text);
-      
-      // defer execution of the matched element filter so the celltree can
-      // render
-      Scheduler.get().scheduleDeferred(() ->
-         hideUnmatchedElements(objects_.getElement()));
+      // once the objects have been filtered, defer execution of the matched
+      // element filter so the celltree can render
+      objectsModel_.setFilterText(text, () ->
+         Scheduler.get().scheduleDeferred(() ->
+            hideUnmatchedElements(objects_.getElement())));
    }
    
    /**
@@ -19,9 +19,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Set;
 
-import org.rstudio.core.client.CommandWithArg;
 import org.rstudio.core.client.Debug;
-import org.rstudio.core.client.JsArrayUtil;
 import org.rstudio.core.client.SafeHtmlUtil;
 import org.rstudio.core.client.StringUtil;
 import org.rstudio.core.client.js.JsObject;
@@ -36,6 +34,7 @@ import org.rstudio.studio.client.workbench.views.connections.model.ConnectionObj
 import org.rstudio.studio.client.workbench.views.connections.model.ConnectionObjectType;
 import org.rstudio.studio.client.workbench.views.connections.model.ConnectionsServerOperations;
 import org.rstudio.studio.client.workbench.views.connections.model.DatabaseObject;
+import org.rstudio.studio.client.workbench.views.connections.model.DatabaseObjectPage;
 import org.rstudio.studio.client.workbench.views.connections.model.Field;
 
 import com.google.gwt.cell.client.AbstractCell;
@@ -47,9 +46,11 @@ import com.google.gwt.dom.client.Element;
 import com.google.gwt.dom.client.NativeEvent;
 import com.google.gwt.safehtml.shared.SafeHtmlBuilder;
 import com.google.gwt.user.client.Command;
+import com.google.gwt.user.client.Timer;
 import com.google.gwt.view.client.AsyncDataProvider;
 import com.google.gwt.view.client.HasData;
 import com.google.gwt.view.client.NoSelectionModel;
+import com.google.gwt.view.client.Range;
 import com.google.gwt.view.client.TreeViewModel;
 import com.google.inject.Inject;
 
@@ -85,15 +86,27 @@ public class ObjectBrowserModel implements TreeViewModel
    public void clear()
    {
       connection_ = null;
+      fieldCache_.clear();
       if (objectProvider_ != null)
          objectProvider_.clear();
    }
    
-   public void setFilterText(String filterText)
+   /**
+    * Filters the objects shown. Data objects (e.g. tables) are filtered on
+    * the server, so the expanded containers are listed again; containers
+    * are then marked as matching if their name or any listed object inside
+    * them matches.
+    * 
+    * @param filterText The text to filter on
+    * @param onFilterApplied Executed once the objects have been listed again
+    *    and marked
+    */
+   public void setFilterText(String filterText, Command onFilterApplied)
    {
       filter_ = filterText;
-      objectProvider_.applyFilter(filterText);
-    }
+      onFilterApplied_ = onFilterApplied;
+      filterTimer_.schedule(FILTER_DELAY_MS);
+   }
    
    @Override
    public <T> NodeInfo<?> getNodeInfo(T value)
@@ -168,6 +181,7 @@ public class ObjectBrowserModel implements TreeViewModel
    
    public void refresh()
    {
+      fieldCache_.clear();
       if (objectProvider_ != null)
          objectProvider_.refresh();
    }
@@ -180,6 +194,55 @@ public class ObjectBrowserModel implements TreeViewModel
          objectProviders_.get(object).refresh();
    }
 
+   private void applyFilter()
+   {
+      if (objectProvider_ == null)
+         return;
+      
+      // list the objects in the root and each expanded container again
+      ArrayList<ObjectProvider> providers = new ArrayList<ObjectProvider>();
+      providers.add(objectProvider_);
+      for (ObjectProvider provider : objectProviders_.values())
+      {
+         if (!provider.getDataDisplays().isEmpty())
+            providers.add(provider);
+      }
+      
+      // once all have been listed, mark the matches (ignoring listings for
+      // a filter that has since been replaced)
+      final int generation = ++filterGeneration_;
+      pendingFilterListings_ = providers.size();
+      for (ObjectProvider provider : providers)
+      {
+         provider.reload(() ->
+         {
+            if (generation != filterGeneration_ || --pendingFilterListings_ > 0)
+               return;
+            
+            objectProvider_.applyFilter(getFilter());
+            if (onFilterApplied_ != null)
+            {
+               onFilterApplied_.execute();
+               onFilterApplied_ = null;
+            }
+         });
+      }
+   }
+   
+   private String getFilter()
+   {
+      return StringUtil.notNull(filter_);
+   }
+   
+   // identifies an object by its path, e.g. "schema:public/table:flights/"
+   private static String getCacheKey(DatabaseObject object)
+   {
+      StringBuilder key = new StringBuilder();
+      for (DatabaseObject o = object; o != null; o = o.getParent())
+         key.insert(0, o.getType() + ":" + o.getName() + "/");
+      return key.toString();
+   }
+   
    private void dequeNodeExpansion(DatabaseObject object)
    {
       if (expandedNodeRefreshQueue_ != null)
@@ -211,7 +274,7 @@ public class ObjectBrowserModel implements TreeViewModel
 
       public void clear()
       {
-         prefetchedObjectList_ = null;
+         objects_ = null;
          fieldProviders_.clear();
          clearData();
       }
@@ -223,16 +286,33 @@ public class ObjectBrowserModel implements TreeViewModel
         
          // prefetch the objects so there is no gap between clearing the table
          // and redrawing the nodes
-         listObjects(new CommandWithArg<JsArray<DatabaseObject>>() {
-            @Override
-            public void execute(JsArray<DatabaseObject> objects)
+         loadObjects(true, true, () ->
+         {
+            for (HasData<DatabaseObject> display : getDataDisplays())
             {
-               for (HasData<DatabaseObject> display : getDataDisplays())
-               {
-                 display.setVisibleRangeAndClearData(display.getVisibleRange(), 
-                                                     true);
-               }
+              display.setVisibleRangeAndClearData(display.getVisibleRange(), 
+                                                  true);
+            }
+         });
+      }
+      
+      /**
+       * Lists the first page of objects again (e.g. with a new filter), then
+       * redraws them.
+       */
+      public void reload(final Command onReloaded)
+      {
+         if (connection_ == null)
+            return;
+         
+         loadObjects(true, false, () ->
+         {
+            for (HasData<DatabaseObject> display : getDataDisplays())
+            {
+               display.setVisibleRangeAndClearData(
+                     new Range(0, PAGE_SIZE), true);
             }
+            onReloaded.execute();
          });
       }
       
@@ -244,7 +324,7 @@ public class ObjectBrowserModel implements TreeViewModel
       public boolean applyFilter(String filter)
       {
          // ignore if not fetched yet
-         if (prefetchedObjectList_ == null)
+         if (objects_ == null)
             return false;
 
          boolean anyMatched = false;
@@ -252,10 +332,9 @@ public class ObjectBrowserModel implements TreeViewModel
          // don't be case sensitive
          String lowerFilter = filter.toLowerCase();
          
-         for (int i = 0; i < prefetchedObjectList_.length(); i++)
+         for (DatabaseObject object : objects_)
          {
             // retrieve name of object for matching
-            DatabaseObject object = prefetchedObjectList_.get(i);
             String name = object.getName();
             if (name == null)
                continue;
@@ -279,7 +358,7 @@ public class ObjectBrowserModel implements TreeViewModel
          }
          
          // redraw
-         updateData(prefetchedObjectList_);
+         updateData();
 
          // indicate whether any of the child nodes matched
          return anyMatched;
@@ -288,52 +367,60 @@ public class ObjectBrowserModel implements TreeViewModel
       @Override
       protected void onRangeChanged(final HasData<DatabaseObject> display)
       {
-        if (connection_ == null)
-        {
-           clearData();
-        }
-        else if (prefetchedObjectList_ != null)
-        {
-           JsArray<DatabaseObject> objects = prefetchedObjectList_;
-           updateData(objects);
-        }
-        else
-        {
-           listObjects(new CommandWithArg<JsArray<DatabaseObject>>() {
-               @Override
-               public void execute(JsArray<DatabaseObject> objects)
-               {
-                  updateData(objects);
-               }
-           });
-        }
+         if (connection_ == null)
+         {
+            clearData();
+            return;
+         }
+         
+         // show the objects we have if they fill the range (or there are no
+         // more); otherwise list the next page, then look again
+         Range range = display.getVisibleRange();
+         int end = range.getStart() + range.getLength();
+         if (objects_ != null && (!more_ || objects_.size() >= end))
+            updateData();
+         else
+            loadObjects(false, false, () -> onRangeChanged(display));
       } 
       
       private void clearData()
       {
          updateRowCount(0, true);
          updateRowData(0, new ArrayList<DatabaseObject>());
-         prefetchedObjectList_ = null; 
+         objects_ = null; 
+         more_ = false;
          fireUpdateCompleted();
       }
       
-      private void updateData(JsArray<DatabaseObject> objects)
+      private void updateData()
       {
-         updateRowCount(objects.length(), true);
-         ArrayList<DatabaseObject> data = JsArrayUtil.toArrayList(objects);
-         updateRowData(0, data);
+         // when there are more objects, report an (inexact) extra row so that
+         // the tree offers to show more
+         updateRowCount(objects_.size() + (more_ ? 1 : 0), !more_);
+         updateRowData(0, objects_);
          fireUpdateCompleted();
       }
       
-      private void listObjects(final CommandWithArg<JsArray<DatabaseObject>> onCompleted)
+      /**
+       * Lists the next page of objects (or the first, if reset is true).
+       * Requests made while a page is being listed are combined with it.
+       */
+      private void loadObjects(boolean reset, 
+                               boolean refresh, 
+                               Command onLoaded)
       {
-         objectListContinuations_.add(onCompleted);
-         if (objectListContinuations_.size() > 1)
-         {
-            // if we're currently waiting for objects to come back, just leave this one on the stack
-            return;
-         }
+         reset_ |= reset || objects_ == null;
+         refresh_ |= refresh;
+         continuations_.add(onLoaded);
          
+         // if we're currently waiting for objects to come back, the
+         // continuation will be executed when they do
+         if (!loading_)
+            fetchObjects();
+      }
+      
+      private void fetchObjects()
+      {
          // create the specifier
          ConnectionObjectSpecifier specifier = null;
          if (parent_ == null)
@@ -341,27 +428,69 @@ public class ObjectBrowserModel implements TreeViewModel
          else
             specifier = parent_.createSpecifier();
          
+         final boolean reset = reset_ || objects_ == null;
+         final String filter = getFilter();
+         int offset = reset ? 0 : objects_.size();
+         boolean refresh = refresh_;
+         reset_ = false;
+         refresh_ = false;
+         loading_ = true;
+         
          server_.connectionListObjects(
             connection_.getId(), 
             specifier,
-            new SimpleRequestCallback<JsArray<DatabaseObject>>() {
+            offset,
+            PAGE_SIZE,
+            filter,
+            refresh,
+            new SimpleRequestCallback<DatabaseObjectPage>() {
                @Override
-               public void onResponseReceived(JsArray<DatabaseObject> objects)
+               public void onResponseReceived(DatabaseObjectPage page)
                {
-                  for (int i = 0; i < objects.length(); i++)
-                     objects.get(i).setParent(parent_);
+                  loading_ = false;
+                  
+                  // ignore if the connection was cleared while we were waiting
+                  if (connection_ == null)
+                  {
+                     continuations_.clear();
+                     return;
+                  }
+                  
+                  // if the filter changed while we were waiting, start over
+                  if (!filter.equals(getFilter()))
+                     reset_ = true;
                   
-                  // save object list for later manipulation
-                  prefetchedObjectList_ = objects;
+                  // keep the page unless another was requested in the meantime
+                  if (!reset_ && !refresh_)
+                  {
+                     JsArray<DatabaseObject> objects = page.getObjects();
+                     if (reset || objects_ == null)
+                        objects_ = new ArrayList<DatabaseObject>();
+                     for (int i = 0; i < objects.length(); i++)
+                     {
+                        objects.get(i).setParent(parent_);
+                        objects_.add(objects.get(i));
+                     }
+                     more_ = page.hasMore() && objects.length() > 0;
+                  }
+                  
+                  if (reset_ || refresh_)
+                  {
+                     fetchObjects();
+                     return;
+                  }
                   
                   // execute each continuation, w/ try/catch so that any that throw exceptions
                   // won't prevent execution of further continuations (nor leave us with a stack
                   // of uncompleted continuations)
-                  for (CommandWithArg<JsArray<DatabaseObject>> cmd: objectListContinuations_)
+                  ArrayList<Command> continuations = 
+                        new ArrayList<Command>(continuations_);
+                  continuations_.clear();
+                  for (Command cmd: continuations)
                   {
                      try
                      {
-                        cmd.execute(objects);
+                        cmd.execute();
                      }
                      catch (Exception e)
                      {
@@ -369,8 +498,6 @@ public class ObjectBrowserModel implements TreeViewModel
                      }
                   }
                   
-                  // clear completed continuations
-                  objectListContinuations_.clear();
                   dequeNodeExpansion(parent_);
                }
                
@@ -378,7 +505,10 @@ public class ObjectBrowserModel implements TreeViewModel
                public void onError(ServerError error)
                {
                   super.onError(error);
-                  objectListContinuations_.clear();
+                  loading_ = false;
+                  reset_ = false;
+                  refresh_ = false;
+                  continuations_.clear();
                   clearData();
                }
             });
@@ -407,7 +537,12 @@ public class ObjectBrowserModel implements TreeViewModel
       }
       
       private final DatabaseObject parent_;
-      private JsArray<DatabaseObject> prefetchedObjectList_ = null;
+      private final ArrayList<Command> continuations_ = new ArrayList<Command>();
+      private ArrayList<DatabaseObject> objects_ = null;
+      private boolean more_ = false;
+      private boolean loading_ = false;
+      private boolean reset_ = false;
+      private boolean refresh_ = false;
    }
    
    private class FieldProvider extends AsyncDataProvider<Field>
@@ -419,6 +554,7 @@ public class ObjectBrowserModel implements TreeViewModel
       
       public void refresh()
       {
+         fieldCache_.remove(getCacheKey(table_));
          for (HasData<Field> display : getDataDisplays())  
            display.setVisibleRangeAndClearData(display.getVisibleRange(), true);
       }
@@ -431,6 +567,14 @@ public class ObjectBrowserModel implements TreeViewModel
             clearData();
             return;
          }
+         
+         // fields are listed once per table, until refreshed
+         final String key = getCacheKey(table_);
+         if (fieldCache_.containsKey(key))
+         {
+            updateData(fieldCache_.get(key));
+            return;
+         }
 
          server_.connectionListFields(
                connection_.getId(),
@@ -439,15 +583,9 @@ public class ObjectBrowserModel implements TreeViewModel
                   @Override
                   public void onResponseReceived(JsArray<Field> fields)
                   {
-                     ArrayList<Field> data = new ArrayList<Field>();
                      if (fields != null)
-                     {
-                        for (int i=0; i<fields.length(); i++)
-                           data.add(fields.get(i));
-                     }
-                     updateRowCount(data.size(), true);
-                     updateRowData(0, data);
-                     dequeNodeExpansion(table_);
+                        fieldCache_.put(key, fields);
+                     updateData(fields);
                   }
                   
                   @Override
@@ -459,6 +597,19 @@ public class ObjectBrowserModel implements TreeViewModel
                });
       }
       
+      private void updateData(JsArray<Field> fields)
+      {
+         ArrayList<Field> data = new ArrayList<Field>();
+         if (fields != null)
+         {
+            for (int i=0; i<fields.length(); i++)
+               data.add(fields.get(i));
+         }
+         updateRowCount(data.size(), true);
+         updateRowData(0, data);
+         dequeNodeExpansion(table_);
+      }
+      
       private void clearData()
       {
          updateRowCount(0, true);
@@ -540,8 +691,22 @@ public class ObjectBrowserModel implements TreeViewModel
    private HashMap<DatabaseObject,ObjectProvider> objectProviders_ 
                               = new HashMap<DatabaseObject,ObjectProvider>();
    
+   private HashMap<String,JsArray<Field>> fieldCache_
+                              = new HashMap<String,JsArray<Field>>();
+   
    private Connection connection_;
    private String filter_;
+   private Command onFilterApplied_ = null;
+   private int filterGeneration_ = 0;
+   private int pendingFilterListings_ = 0;
+   private final Timer filterTimer_ = new Timer()
+   {
+      @Override
+      public void run()
+      {
+         applyFilter();
+      }
+   };
    
    private Set<DatabaseObject> expandedNodeRefreshQueue_ = null;
    private Command onTableUpdateCompleted_ = null;
@@ -550,13 +715,15 @@ public class ObjectBrowserModel implements TreeViewModel
    private ConnectionsServerOperations server_;
    private EventBus eventBus_;
 
-   private final ArrayList<CommandWithArg<JsArray<DatabaseObject>>> objectListContinuations_ = 
-         new ArrayList<CommandWithArg<JsArray<DatabaseObject>>>();
-   
    private static NoSelectionModel<DatabaseObject> noObjectSelectionModel_ = 
          new NoSelectionModel<DatabaseObject>();
    private static NoSelectionModel<Field> noFieldSelectionModel_ =
          new NoSelectionModel<Field>();
    
    static final ObjectBrowser.Resources RES = ObjectBrowser.RES;
+   
+   // objects are listed a page at a time (the tree's node size)
+   static final int PAGE_SIZE = 512;
+   
+   private static final int FILTER_DELAY_MS = 300;
 }
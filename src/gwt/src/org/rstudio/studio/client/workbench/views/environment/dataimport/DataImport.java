@@ -62,7 +62,15 @@ public class DataImport extends Composite
    private DataImportServerOperations server_;
    private GlobalDisplay globalDisplay_;
    
-   private final int maxRows_ = 50;
+   // the preview starts with a few rows, and shows more (up to a limit) as
+   // the user scrolls to the end of them
+   private final int initialRows_ = 50;
+   private final int maxPreviewRows_ = 5000;
+   private int maxRows_ = initialRows_;
+   private boolean hasMoreRows_ = false;
+   private boolean previewing_ = false;
+   private int previewCount_ = 0;
+   private int requestedPreview_ = 0;
    private final int maxCols_ = 5000;
    private final int maxFactors_ = 64;
    
@@ -507,11 +515,18 @@ public class DataImport extends Composite
    }
    
    private void setGridViewerData(DataImportPreviewResponse response)
+   {
+      setGridViewerData(response, false);
+   }
+   
+   private void setGridViewerData(DataImportPreviewResponse response,
+                                  boolean keepScrollPosition)
    {
       gridViewer_.setOption("nullsAsNAs", "true");
       gridViewer_.setOption("ordering", "false");
       gridViewer_.setOption("rowNumbers", "false");
-      gridViewer_.setData(response);
+      gridViewer_.setScrollEndCallback(() -> previewMoreRows());
+      gridViewer_.setData(response, keepScrollPosition);
       
       if (response.getSupportedColumnTypes() != null && response.getSupportedColumnTypes().length > 0)
       {
@@ -528,6 +543,26 @@ public class DataImport extends Composite
    
    private void previewDataImport()
    {
+      // the options have changed, so start over with the first rows (this
+      // also supersedes any preview in progress)
+      maxRows_ = initialRows_;
+      previewDataImport(false);
+   }
+   
+   private void previewMoreRows()
+   {
+      if (previewing_ || !hasMoreRows_ || maxRows_ >= maxPreviewRows_)
+         return;
+      
+      maxRows_ = Math.min(maxRows_ * 4, maxPreviewRows_);
+      previewDataImport(true);
+   }
+   
+   private void previewDataImport(final boolean morePreviewRows)
+   {
+      final int previewIndex = ++previewCount_;
+      hasMoreRows_ = false;
+      
       Operation previewDataImportOperation = new Operation()
       {
          @Override
@@ -537,6 +572,8 @@ public class DataImport extends Composite
             
             if (dataImportFileChooser_.getText() == "")
             {
+               previewing_ = false;
+               progressIndicator_.clearProgress();
                gridViewer_.setData(null);
                return;
             }
@@ -568,12 +605,23 @@ public class DataImport extends Composite
                }
             });
             
+            requestedPreview_ = previewIndex;
+            previewing_ = true;
             server_.previewDataImportAsync(previewImportOptions, maxCols_, maxFactors_,
                   new ServerRequestCallback<DataImportPreviewResponse>()
             {
                @Override
                public void onResponseReceived(DataImportPreviewResponse response)
                {
+                  // ignore previews which have been superseded (the server
+                  // stops them with an empty response)
+                  if (previewIndex != previewCount_)
+                  {
+                     onPreviewSuperseded();
+                     return;
+                  }
+                  previewing_ = false;
+                  
                   if (response == null || response.getErrorMessage() != null)
                   {
                      if (response != null)
@@ -600,8 +648,11 @@ public class DataImport extends Composite
                      localFiles_ = response.getLocalFiles();
                   }
                   
+                  // if the preview is full, there may be more rows to show
+                  hasMoreRows_ = response.getRowCount() >= maxRows_;
+                  
                   gridViewer_.setOption("status",
-                        "Previewing first " + toLocaleString(maxRows_) + 
+                        "Previewing first " + toLocaleString(response.getRowCount()) + 
                         " entries. " + (
                               response.getParsingErrors() > 0 ?
                               Integer.toString(response.getParsingErrors()) + " parsing errors." : "")
@@ -609,7 +660,7 @@ public class DataImport extends Composite
                   
                   assignColumnDefinitions(response, importOptions_.getColumnDefinitions());
                   
-                  setGridViewerData(response);
+                  setGridViewerData(response, morePreviewRows);
                   
                   progressIndicator_.onCompleted();
                }
@@ -617,6 +668,13 @@ public class DataImport extends Composite
                @Override
                public void onError(ServerError error)
                {
+                  if (previewIndex != previewCount_)
+                  {
+                     onPreviewSuperseded();
+                     return;
+                  }
+                  previewing_ = false;
+                  
                   Debug.logError(error);
                   cleanPreviewResources();
                   gridViewer_.setData(null);
@@ -626,7 +684,23 @@ public class DataImport extends Composite
          }
       };
       
-      assembleDataImport(previewDataImportOperation);
+      // more rows of the same preview don't change the import code
+      if (morePreviewRows)
+         previewDataImportOperation.execute();
+      else
+         assembleDataImport(previewDataImportOperation);
+   }
+   
+   private void onPreviewSuperseded()
+   {
+      // the newest preview clears the progress once it's requested; until
+      // then (or if it never is, e.g. because assembling the import failed)
+      // no preview is in progress
+      if (requestedPreview_ == previewCount_)
+         return;
+      
+      previewing_ = false;
+      progressIndicator_.clearProgress();
    }
    
    private void setCodeAreaDefaults()
@@ -15,12 +15,15 @@
 
 package org.rstudio.studio.client.workbench.views.environment.dataimport;
 
+import com.google.gwt.core.client.GWT;
+import com.google.gwt.core.client.RunAsyncCallback;
 import com.google.gwt.user.client.Command;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 
 import org.rstudio.core.client.widget.OperationWithInput;
 import org.rstudio.studio.client.application.events.EventBus;
+import org.rstudio.studio.client.common.GlobalDisplay;
 import org.rstudio.studio.client.common.dependencies.DependencyManager;
 import org.rstudio.studio.client.workbench.views.console.events.SendToConsoleEvent;
 
@@ -29,10 +32,12 @@ public class DataImportPresenter
 {
    @Inject
    public DataImportPresenter(EventBus eventBus,
-                              DependencyManager dependencyManager)
+                              DependencyManager dependencyManager,
+                              GlobalDisplay globalDisplay)
    {
       eventBus_ = eventBus;
       dependencyManager_ = dependencyManager;
+      globalDisplay_ = globalDisplay;
    }
    
    public Command getImportDatasetCommandFromMode(
@@ -45,24 +50,44 @@ public class DataImportPresenter
              @Override
              public void execute()
              {
-                DataImportDialog dataImportDialog = new DataImportDialog(
-                      dataImportMode,
-                      dialogTitle,
-                      path,
-                      new OperationWithInput<String>()
+                // the import dialogs are loaded on demand
+                GWT.runAsync(new RunAsyncCallback()
                 {
-                   @Override
-                   public void execute(final String importCode)
+                   public void onFailure(Throwable reason)
                    {
-                      eventBus_.fireEvent(new SendToConsoleEvent(importCode, true, true)); 
+                      globalDisplay_.showErrorMessage(dialogTitle,
+                                                      reason.getMessage());
+                   }
+
+                   public void onSuccess()
+                   {
+                      showImportDialog(dataImportMode, dialogTitle, path);
                    }
                 });
-                
-                dataImportDialog.showModal();
              }
           };
    }
    
+   private void showImportDialog(DataImportModes dataImportMode,
+                                 String dialogTitle,
+                                 String path)
+   {
+      DataImportDialog dataImportDialog = new DataImportDialog(
+            dataImportMode,
+            dialogTitle,
+            path,
+            new OperationWithInput<String>()
+      {
+         @Override
+         public void execute(final String importCode)
+         {
+            eventBus_.fireEvent(new SendToConsoleEvent(importCode, true, true)); 
+         }
+      });
+
+      dataImportDialog.showModal();
+   }
+   
    public void openImportDatasetFromCSV(String path)
    {
       dependencyManager_.withDataImportCSV(
@@ -120,6 +145,7 @@ public class DataImportPresenter
 
    private EventBus eventBus_;
    private DependencyManager dependencyManager_;
+   private GlobalDisplay globalDisplay_;
    
    final String dataImportDependecyUserAction_ = "Preparing data import";
 }
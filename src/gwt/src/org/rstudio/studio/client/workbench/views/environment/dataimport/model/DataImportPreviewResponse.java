@@ -27,6 +27,10 @@ public class DataImportPreviewResponse extends JavaScriptObject
       return (this.error && this.error.message) ? this.error.message.join(' ') : null;
    }-*/;
    
+   public final native int getRowCount() /*-{
+      return (this.data && this.data.length > 0) ? this.data[0].length : 0;
+   }-*/;
+   
    public final native int getParsingErrors() /*-{
       return this.parsingErrors;
    }-*/;
@@ -0,0 +1,129 @@
+/*
+ * HelpTopicIndex.java
+ *
+ * Copyright (C) 2020 by RStudio, PBC
+ *
+ * Unless you have received this program directly from RStudio pursuant
+ * to the terms of a commercial license agreement with RStudio, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.workbench.views.help.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+import org.rstudio.core.client.StringUtil;
+import org.rstudio.studio.client.workbench.codesearch.CodeSearchOracle;
+
+import com.google.gwt.core.client.JsArrayString;
+
+/**
+ * Suggests help topics (and aliases) from a list fetched from the server,
+ * so that suggestions don't need a round trip to R.
+ *
+ * Suggestions match those made by suggest_topics (see SessionHelp.R):
+ * topics which contain the query as a (case-insensitive) subsequence and
+ * whose first character (ignoring leading '.'s) is the query's first
+ * character, ordered by match score. Topics are bucketed by that first
+ * character, so only the topics in one bucket are checked.
+ */
+public class HelpTopicIndex
+{
+   /**
+    * @param topics The topics, without duplicates
+    */
+   public HelpTopicIndex(JsArrayString topics)
+   {
+      int n = topics.length();
+      topics_ = new String[n];
+      lower_ = new String[n];
+      for (int i = 0; i < n; i++)
+      {
+         topics_[i] = topics.get(i);
+         lower_[i] = topics_[i].toLowerCase();
+
+         int first = 0;
+         while (first < topics_[i].length() && topics_[i].charAt(first) == '.')
+            first++;
+
+         if (first > 0)
+            addToBucket('.', i);
+         if (first < topics_[i].length())
+            addToBucket(topics_[i].charAt(first), i);
+      }
+   }
+
+   public List<String> search(String query, int limit)
+   {
+      List<String> results = new ArrayList<String>();
+      if (query.isEmpty())
+      {
+         for (int i = 0; i < topics_.length && results.size() < limit; i++)
+            results.add(topics_[i]);
+         return results;
+      }
+
+      List<Integer> candidates = buckets_.get(query.charAt(0));
+      if (candidates == null)
+         return results;
+
+      String queryLower = query.toLowerCase();
+      List<Match> matches = new ArrayList<Match>();
+      for (int i : candidates)
+      {
+         if (StringUtil.isSubsequence(lower_[i], queryLower))
+         {
+            matches.add(new Match(
+                  i,
+                  CodeSearchOracle.scoreMatch(lower_[i], queryLower, false)));
+         }
+      }
+
+      // order by score; topics with the same score stay in index order
+      Collections.sort(matches, (lhs, rhs) ->
+      {
+         if (lhs.score != rhs.score)
+            return lhs.score < rhs.score ? -1 : 1;
+         return lhs.index - rhs.index;
+      });
+
+      for (int i = 0; i < matches.size() && i < limit; i++)
+         results.add(topics_[matches.get(i).index]);
+      return results;
+   }
+
+   private void addToBucket(char key, int index)
+   {
+      List<Integer> bucket = buckets_.get(key);
+      if (bucket == null)
+      {
+         bucket = new ArrayList<Integer>();
+         buckets_.put(key, bucket);
+      }
+      bucket.add(index);
+   }
+
+   private static class Match
+   {
+      public Match(int index, int score)
+      {
+         this.index = index;
+         this.score = score;
+      }
+
+      public final int index;
+      public final int score;
+   }
+
+   private final String[] topics_;
+   private final String[] lower_;
+   private final HashMap<Character, List<Integer>> buckets_ =
+         new HashMap<Character, List<Integer>>();
+}
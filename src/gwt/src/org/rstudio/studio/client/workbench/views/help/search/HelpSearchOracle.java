@@ -15,26 +15,67 @@
 package org.rstudio.studio.client.workbench.views.help.search;
 
 import com.google.gwt.core.client.JsArrayString;
+import com.google.gwt.user.client.Timer;
 import com.google.gwt.user.client.ui.SuggestOracle;
 import com.google.inject.Inject;
+import org.rstudio.studio.client.application.events.EventBus;
 import org.rstudio.studio.client.server.ServerError;
 import org.rstudio.studio.client.server.ServerRequestCallback;
 import org.rstudio.studio.client.workbench.views.help.model.HelpServerOperations;
+import org.rstudio.studio.client.workbench.views.help.model.HelpTopicIndex;
+import org.rstudio.studio.client.workbench.views.packages.events.PackageStateChangedEvent;
+import org.rstudio.studio.client.workbench.views.packages.events.PackageStatusChangedEvent;
 
 import java.util.ArrayList;
+import java.util.List;
 
 public class HelpSearchOracle extends SuggestOracle
 {
    @Inject
-   public HelpSearchOracle(HelpServerOperations server)
+   public HelpSearchOracle(HelpServerOperations server, EventBus events)
    {
       server_ = server;
+
+      // the topics available change as packages are attached and detached
+      // (status changes) and installed and removed (state changes); the
+      // current index is used until the new one arrives
+      refreshTimer_ = new Timer()
+      {
+         @Override
+         public void run()
+         {
+            if (index_ != null)
+               loadIndex();
+         }
+      };
+      events.addHandler(PackageStateChangedEvent.TYPE,
+            event -> refreshTimer_.schedule(REFRESH_DELAY_MS));
+      events.addHandler(PackageStatusChangedEvent.TYPE,
+            event -> refreshTimer_.schedule(REFRESH_DELAY_MS));
    }
 
    @Override
    public void requestSuggestions(final Request request, 
                                   final Callback callback)
    {
+      // any earlier request is now stale
+      pendingRequest_ = null;
+      pendingCallback_ = null;
+
+      if (index_ != null)
+      {
+         suggest(request, callback, index_.search(request.getQuery(),
+                                                  request.getLimit()));
+         return;
+      }
+
+      // until the index has been fetched, ask the server; if the index
+      // arrives first, the request is answered from it instead
+      pendingRequest_ = request;
+      pendingCallback_ = callback;
+      if (!indexLoading_)
+         loadIndex();
+
       String query = request.getQuery();
       server_.suggestTopics(query,
                              new ServerRequestCallback<JsArrayString>() {
@@ -46,17 +87,67 @@ public class HelpSearchOracle extends SuggestOracle
          @Override
          public void onResponseReceived(JsArrayString suggestions)
          {
-            int maxCount = Math.min(suggestions.length(), request.getLimit());
-
-            ArrayList<SearchSuggestion> results =
-               new ArrayList<SearchSuggestion>();
-            for (int i = 0; i< maxCount; i++)
-               results.add(new SearchSuggestion(suggestions.get(i)));
-            
-            callback.onSuggestionsReady(request, new Response(results));
+            // ignore stale responses
+            if (pendingRequest_ != request)
+               return;
+            pendingRequest_ = null;
+            pendingCallback_ = null;
+
+            List<String> values = new ArrayList<String>();
+            for (int i = 0; i < suggestions.length(); i++)
+               values.add(suggestions.get(i));
+            suggest(request, callback, values);
+         }
+      });
+   }
+
+   private void loadIndex()
+   {
+      final int indexRequestId = ++indexRequestId_;
+      indexLoading_ = true;
+      server_.getHelpTopicIndex(new ServerRequestCallback<JsArrayString>()
+      {
+         @Override
+         public void onResponseReceived(JsArrayString topics)
+         {
+            // ignore all but the most recently requested index
+            if (indexRequestId != indexRequestId_)
+               return;
+
+            indexLoading_ = false;
+            index_ = new HelpTopicIndex(topics);
+
+            if (pendingRequest_ != null)
+            {
+               Request request = pendingRequest_;
+               Callback callback = pendingCallback_;
+               pendingRequest_ = null;
+               pendingCallback_ = null;
+               suggest(request, callback, index_.search(request.getQuery(),
+                                                        request.getLimit()));
+            }
+         }
+
+         @Override
+         public void onError(ServerError error)
+         {
+            if (indexRequestId == indexRequestId_)
+               indexLoading_ = false;
          }
       });
    }
+
+   private void suggest(Request request, Callback callback, List<String> values)
+   {
+      int maxCount = Math.min(values.size(), request.getLimit());
+
+      ArrayList<SearchSuggestion> results =
+         new ArrayList<SearchSuggestion>();
+      for (int i = 0; i < maxCount; i++)
+         results.add(new SearchSuggestion(values.get(i)));
+      
+      callback.onSuggestionsReady(request, new Response(results));
+   }
    
    private class SearchSuggestion implements Suggestion
    {
@@ -79,4 +170,15 @@ public class HelpSearchOracle extends SuggestOracle
    }
 
    private final HelpServerOperations server_;
+
+   private HelpTopicIndex index_;
+   private boolean indexLoading_ = false;
+   private int indexRequestId_ = 0;
+   private final Timer refreshTimer_;
+
+   private Request pendingRequest_;
+   private Callback pendingCallback_;
+
+   // attaching a package often attaches several; refresh once for all
+   private static final int REFRESH_DELAY_MS = 500;
 }
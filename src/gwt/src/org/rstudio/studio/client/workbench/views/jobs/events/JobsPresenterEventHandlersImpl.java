@@ -14,7 +14,6 @@
  */
 package org.rstudio.studio.client.workbench.views.jobs.events;
 
-import com.google.gwt.core.client.JsArray;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 import org.rstudio.core.client.Debug;
@@ -29,10 +28,11 @@ import org.rstudio.studio.client.server.ServerRequestCallback;
 import org.rstudio.studio.client.workbench.views.jobs.model.Job;
 import org.rstudio.studio.client.workbench.views.jobs.model.JobConstants;
 import org.rstudio.studio.client.workbench.views.jobs.model.JobManager;
-import org.rstudio.studio.client.workbench.views.jobs.model.JobOutput;
+import org.rstudio.studio.client.workbench.views.jobs.model.JobOutputPage;
 import org.rstudio.studio.client.workbench.views.jobs.model.JobState;
 import org.rstudio.studio.client.workbench.views.jobs.model.JobsServerOperations;
 import org.rstudio.studio.client.workbench.views.jobs.model.LauncherJobManager;
+import org.rstudio.studio.client.workbench.views.jobs.view.JobOutputPanel;
 import org.rstudio.studio.client.workbench.views.jobs.view.JobsDisplay;
 
 import java.util.ArrayList;
@@ -153,10 +153,10 @@ public class JobsPresenterEventHandlersImpl implements JobsPresenterEventHandler
    {
       boolean bypassLauncherCall = (isLauncherJob && getSessionServer() != null);
 
-      server_.setJobListening(id, false, bypassLauncherCall, new ServerRequestCallback<JsArray<JobOutput>>()
+      server_.setJobListening(id, false, bypassLauncherCall, 0, new ServerRequestCallback<JobOutputPage>()
       {
          @Override
-         public void onResponseReceived(JsArray<JobOutput> output)
+         public void onResponseReceived(JobOutputPage output)
          {
             if (bypassLauncherCall && Desktop.hasDesktopFrame())
             {
@@ -182,10 +182,11 @@ public class JobsPresenterEventHandlersImpl implements JobsPresenterEventHandler
    {
       boolean bypassLauncherCall = (isLauncherJob && getSessionServer() != null);
 
-      server_.setJobListening(id, true, bypassLauncherCall, new ServerRequestCallback<JsArray<JobOutput>>()
+      server_.setJobListening(id, true, bypassLauncherCall, JobOutputPanel.PAGE_SIZE,
+            new ServerRequestCallback<JobOutputPage>()
       {
          @Override
-         public void onResponseReceived(JsArray<JobOutput> output)
+         public void onResponseReceived(JobOutputPage output)
          {
             if (bypassLauncherCall && Desktop.hasDesktopFrame())
             {
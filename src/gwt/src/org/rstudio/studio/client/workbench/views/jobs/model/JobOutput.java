@@ -22,6 +22,10 @@ public class JobOutput extends JavaScriptObject
    {
    }
    
+   public static final native JobOutput create(int type, String output) /*-{
+      return [type, output];
+   }-*/;
+   
    public final native int type() /*-{
       return this[0];
    }-*/;
@@ -0,0 +1,40 @@
+/*
+ * JobOutputPage.java
+ *
+ * Copyright (C) 2020 by RStudio, PBC
+ *
+ * Unless you have received this program directly from RStudio pursuant
+ * to the terms of a commercial license agreement with RStudio, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.workbench.views.jobs.model;
+
+import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.core.client.JsArray;
+
+/**
+ * A contiguous range of a job's output.
+ */
+public class JobOutputPage extends JavaScriptObject
+{
+   protected JobOutputPage()
+   {
+   }
+   
+   public final native JsArray<JobOutput> getOutput() /*-{
+      return this.output || [];
+   }-*/;
+
+   /**
+    * @return The position (within all of the job's output) of the first
+    *    entry in the page
+    */
+   public final native int getPosition() /*-{
+      return this.position || 0;
+   }-*/;
+}
@@ -21,8 +21,16 @@ import com.google.gwt.core.client.JsArray;
 
 public interface JobsServerOperations
 {
+   /**
+    * Starts or stops listening to a job's output; when starting, returns
+    * (at most) the last maxEntries entries of output.
+    */
    void setJobListening(String id, boolean listening, boolean bypassLauncherCall,
-                        ServerRequestCallback<JsArray<JobOutput> > output);
+                        int maxEntries,
+                        ServerRequestCallback<JobOutputPage> output);
+   void jobOutput(String id, int position, int count,
+                  ServerRequestCallback<JsArray<JobOutput>> output);
+   String getJobOutputUrl(Job job);
    void startJob(JobLaunchSpec spec, ServerRequestCallback<String> callback);
    void clearJobs(ServerRequestCallback<Void> callback);
    void executeJobAction(String id, String action, ServerRequestCallback<Void> callback);
@@ -14,17 +14,34 @@
  */
 package org.rstudio.studio.client.workbench.views.jobs.view;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import org.rstudio.core.client.StringUtil;
+import org.rstudio.core.client.widget.BottomScrollPanel;
 import org.rstudio.studio.client.common.compile.CompileOutput;
 import org.rstudio.studio.client.common.compile.CompileOutputBufferWithHighlight;
 import org.rstudio.studio.client.common.compile.CompilePanel;
+import org.rstudio.studio.client.server.ServerError;
+import org.rstudio.studio.client.server.ServerRequestCallback;
+import org.rstudio.studio.client.workbench.views.jobs.model.JobOutput;
+import org.rstudio.studio.client.workbench.views.jobs.model.JobOutputPage;
+import org.rstudio.studio.client.workbench.views.jobs.model.JobsServerOperations;
 
 import com.google.gwt.core.client.GWT;
+import com.google.gwt.core.client.JsArray;
 import com.google.gwt.uibinder.client.UiBinder;
 import com.google.gwt.uibinder.client.UiField;
 import com.google.gwt.user.client.ui.Composite;
 import com.google.gwt.user.client.ui.Label;
 import com.google.gwt.user.client.ui.Widget;
 
+/**
+ * Shows a job's output. Only a window of the output (at most MAX_ENTRIES
+ * entries, plus one page) is kept in the panel; it starts at the tail of the
+ * output, and earlier (or later) pages are fetched from the server as the
+ * user scrolls toward the top (or bottom) of the window.
+ */
 public class JobOutputPanel extends Composite
 {
    private static JobOutputPanelUiBinder uiBinder = GWT.create(JobOutputPanelUiBinder.class);
@@ -33,41 +50,283 @@ public class JobOutputPanel extends Composite
    {
    }
 
-   public JobOutputPanel()
+   public JobOutputPanel(JobsServerOperations server)
    {
-      output_ = new CompilePanel(new CompileOutputBufferWithHighlight());
+      server_ = server;
+      buffer_ = new CompileOutputBufferWithHighlight();
+      output_ = new CompilePanel(buffer_);
       output_.setHeight("100%");
 
       initWidget(uiBinder.createAndBindUi(this));
-      
+
+      buffer_.getScrollPanel().addScrollHandler(event -> onScroll());
+
       // initially empty
       clearOutput();
    }
-   
+
    public void clearOutput()
    {
+      id_ = null;
+      entries_.clear();
+      start_ = 0;
+      total_ = 0;
+      requestId_++;
+      loading_ = false;
+
       output_.clearOutput();
       output_.setVisible(false);
       empty_.setVisible(true);
    }
-   
+
    public void scrollToBottom()
    {
       output_.scrollToBottom();
    }
-   
+
+   /**
+    * Shows the given page of a job's output (normally its tail), replacing
+    * any output currently shown.
+    */
+   public void showJobOutput(String id, JobOutputPage page)
+   {
+      clearOutput();
+      id_ = id;
+      start_ = page.getPosition();
+
+      JsArray<JobOutput> output = page.getOutput();
+      for (int i = 0; i < output.length(); i++)
+         entries_.add(output.get(i));
+      total_ = start_ + entries_.size();
+
+      renderWindow(0);
+      scrollToBottom();
+   }
+
+   /**
+    * Adds output emitted by the job being shown.
+    */
+   public void addJobOutput(int type, String text)
+   {
+      // the server doesn't record empty output, so don't count it
+      if (StringUtil.isNullOrEmpty(text))
+         return;
+
+      total_++;
+
+      // if a later page is being shown, the new output will be fetched when
+      // the user scrolls down to it
+      if (!isAtTail())
+         return;
+
+      JobOutput entry = JobOutput.create(type, text);
+      entries_.add(entry);
+
+      if (entries_.size() <= MAX_ENTRIES + PAGE_SIZE)
+      {
+         showOutput(entry, true);
+         return;
+      }
+
+      // the window is full; drop a page from the top
+      BottomScrollPanel scrollPanel = buffer_.getScrollPanel();
+      boolean atBottom = scrollPanel.isScrolledToBottom();
+      int oldPos = scrollPanel.getVerticalScrollPosition();
+      int oldHeight = getContentHeight();
+
+      entries_.subList(0, PAGE_SIZE).clear();
+      start_ += PAGE_SIZE;
+      renderWindow(0);
+
+      if (atBottom)
+         scrollToBottom();
+      else
+         scrollPanel.setVerticalScrollPosition(
+               Math.max(0, oldPos - (oldHeight - getContentHeight())));
+   }
+
    public void showOutput(CompileOutput output, boolean scrollToBottom)
    {
       if (output.getOutput().isEmpty())
          return;
-      
+
       // make sure output is visible
       empty_.setVisible(false);
       output_.setVisible(true);
 
       output_.showOutput(output, scrollToBottom);
    }
-   
+
+   private void showOutput(JobOutput entry, boolean scrollToBottom)
+   {
+      showOutput(CompileOutput.create(entry.type(), entry.output()),
+            scrollToBottom);
+   }
+
+   private boolean isAtTail()
+   {
+      return start_ + entries_.size() >= total_;
+   }
+
+   private void onScroll()
+   {
+      if (id_ == null || loading_)
+         return;
+
+      BottomScrollPanel scrollPanel = buffer_.getScrollPanel();
+      int pos = scrollPanel.getVerticalScrollPosition();
+      if (start_ > 0 && pos < LOAD_THRESHOLD_PX)
+      {
+         loadEarlier();
+      }
+      else if (!isAtTail() &&
+               pos > scrollPanel.getMaximumVerticalScrollPosition() - LOAD_THRESHOLD_PX)
+      {
+         loadLater();
+      }
+   }
+
+   private void loadEarlier()
+   {
+      final int position = Math.max(0, start_ - PAGE_SIZE);
+      final int count = start_ - position;
+      fetchOutput(position, count, output ->
+      {
+         List<JobOutput> earlier = new ArrayList<>();
+         for (int i = 0; i < output.length(); i++)
+            earlier.add(output.get(i));
+         entries_.addAll(0, earlier);
+         start_ = position;
+
+         // drop entries from the bottom of the window
+         if (entries_.size() > MAX_ENTRIES)
+            entries_.subList(MAX_ENTRIES, entries_.size()).clear();
+
+         // keep the entries which were already shown where they were on
+         // screen: they now begin below the entries just added
+         BottomScrollPanel scrollPanel = buffer_.getScrollPanel();
+         int oldPos = scrollPanel.getVerticalScrollPosition();
+         int emptyHeight = getEmptyHeight();
+         int anchor = renderWindow(earlier.size());
+         scrollPanel.setVerticalScrollPosition(oldPos + anchor - emptyHeight);
+      });
+   }
+
+   private void loadLater()
+   {
+      final int position = start_ + entries_.size();
+      fetchOutput(position, PAGE_SIZE, output ->
+      {
+         int shown = entries_.size();
+         for (int i = 0; i < output.length(); i++)
+            entries_.add(output.get(i));
+
+         // drop entries from the top of the window
+         int dropped = Math.max(0, entries_.size() - MAX_ENTRIES);
+         entries_.subList(0, dropped).clear();
+         start_ += dropped;
+
+         // keep the entries which were already shown where they were on
+         // screen: they now end above the entries just added
+         BottomScrollPanel scrollPanel = buffer_.getScrollPanel();
+         int oldPos = scrollPanel.getVerticalScrollPosition();
+         int oldHeight = getContentHeight();
+         int anchor = renderWindow(shown - dropped);
+         scrollPanel.setVerticalScrollPosition(
+               Math.max(0, oldPos + anchor - oldHeight));
+      });
+   }
+
+   private void fetchOutput(int position,
+                            int count,
+                            final OutputHandler onOutput)
+   {
+      final int requestId = ++requestId_;
+      loading_ = true;
+      server_.jobOutput(id_, position, count,
+            new ServerRequestCallback<JsArray<JobOutput>>()
+      {
+         @Override
+         public void onResponseReceived(JsArray<JobOutput> output)
+         {
+            // ignore responses for output which is no longer shown
+            if (requestId != requestId_)
+               return;
+            loading_ = false;
+            onOutput.onOutput(output);
+         }
+
+         @Override
+         public void onError(ServerError error)
+         {
+            if (requestId != requestId_)
+               return;
+            loading_ = false;
+         }
+      });
+   }
+
+   /**
+    * Re-renders the window of output.
+    *
+    * @param anchor The index of an entry in the window
+    * @return The height of the output before the anchor entry
+    */
+   private int renderWindow(int anchor)
+   {
+      output_.clearOutput();
+
+      int anchorHeight = getContentHeight();
+      for (int i = 0; i < entries_.size(); i++)
+      {
+         if (i == anchor)
+            anchorHeight = getContentHeight();
+         showOutput(entries_.get(i), false);
+      }
+      if (anchor >= entries_.size())
+         anchorHeight = getContentHeight();
+
+      return anchorHeight;
+   }
+
+   // the height of the output, including its padding
+   private int getContentHeight()
+   {
+      Widget content = buffer_.getScrollPanel().getWidget();
+      return content == null ? 0 : content.getOffsetHeight();
+   }
+
+   private int getEmptyHeight()
+   {
+      output_.clearOutput();
+      return getContentHeight();
+   }
+
+   private interface OutputHandler
+   {
+      void onOutput(JsArray<JobOutput> output);
+   }
+
    @UiField(provided=true) CompilePanel output_;
    @UiField Label empty_;
+
+   private final JobsServerOperations server_;
+   private final CompileOutputBufferWithHighlight buffer_;
+
+   // the entries shown, and their position within all of the job's output
+   private final ArrayList<JobOutput> entries_ = new ArrayList<>();
+   private String id_;
+   private int start_;
+   private int total_;
+
+   private int requestId_ = 0;
+   private boolean loading_ = false;
+
+   // the number of entries fetched at a time
+   public static final int PAGE_SIZE = 1000;
+
+   // the number of entries kept in the window when paging
+   private static final int MAX_ENTRIES = 5000;
+
+   private static final int LOAD_THRESHOLD_PX = 200;
 }
@@ -14,10 +14,9 @@
  */
 package org.rstudio.studio.client.workbench.views.jobs.view;
 
-import com.google.gwt.core.client.JsArray;
 import org.rstudio.studio.client.workbench.WorkbenchView;
 import org.rstudio.studio.client.workbench.views.jobs.model.Job;
-import org.rstudio.studio.client.workbench.views.jobs.model.JobOutput;
+import org.rstudio.studio.client.workbench.views.jobs.model.JobOutputPage;
 
 import java.util.List;
 
@@ -25,7 +24,7 @@ public interface JobsDisplay extends WorkbenchView
 {
    void updateJob(int updateType, Job job);
    void setInitialJobs(List<Job> jobs);
-   void showJobOutput(String id, JsArray<JobOutput> output, boolean animate);
+   void showJobOutput(String id, JobOutputPage output, boolean animate);
    void addJobOutput(String id, int type, String output);
    void hideJobOutput(String id, boolean animate);
    void syncElapsedTime(int timestamp);
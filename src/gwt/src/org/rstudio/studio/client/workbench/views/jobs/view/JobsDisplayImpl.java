@@ -14,18 +14,16 @@
  */
 package org.rstudio.studio.client.workbench.views.jobs.view;
 
-import com.google.gwt.core.client.JsArray;
 import com.google.inject.Inject;
 import org.rstudio.core.client.Debug;
 import org.rstudio.core.client.widget.SlidingLayoutPanel;
 import org.rstudio.studio.client.RStudioGinjector;
 import org.rstudio.studio.client.application.events.EventBus;
-import org.rstudio.studio.client.common.compile.CompileOutput;
 import org.rstudio.studio.client.workbench.ui.WorkbenchPane;
 import org.rstudio.studio.client.workbench.views.jobs.events.JobSelectionEvent;
 import org.rstudio.studio.client.workbench.views.jobs.model.Job;
 import org.rstudio.studio.client.workbench.views.jobs.model.JobConstants;
-import org.rstudio.studio.client.workbench.views.jobs.model.JobOutput;
+import org.rstudio.studio.client.workbench.views.jobs.model.JobOutputPage;
 
 import java.util.List;
 
@@ -99,21 +97,11 @@ public class JobsDisplayImpl implements JobsDisplay
    }
    
    @Override
-   public void showJobOutput(String id, JsArray<JobOutput> output, boolean animate)
+   public void showJobOutput(String id, JobOutputPage output, boolean animate)
    {
-       // clear any existing output in the pane
-      widgets_.getOutputPanel().clearOutput();
-
-      // display all the output, but don't scroll as we go
-      for (int i = 0; i < output.length(); i++)
-      {
-         widgets_.getOutputPanel().showOutput(CompileOutput.create(
-               output.get(i).type(),
-               output.get(i).output()), false /* scroll */);
-      }
-      
-      // scroll to show all output so far
-      widgets_.getOutputPanel().scrollToBottom();
+      // display the most recent output (replacing any existing output in the
+      // pane), scrolled to the bottom
+      widgets_.getOutputPanel().showJobOutput(id, output);
       
       // remove the progress for the current job if we're showing it
       widgets_.removeProgressWidget();
@@ -138,7 +126,7 @@ public class JobsDisplayImpl implements JobsDisplay
       }
       
       // add the output
-      widgets_.getOutputPanel().showOutput(CompileOutput.create(type, output), true /* scroll */);
+      widgets_.getOutputPanel().addJobOutput(type, output);
    }
    
    @Override
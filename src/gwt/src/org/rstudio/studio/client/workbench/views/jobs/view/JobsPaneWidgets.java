@@ -21,11 +21,13 @@ import org.rstudio.core.client.widget.SlidingLayoutPanel;
 import org.rstudio.core.client.widget.Toolbar;
 import org.rstudio.core.client.widget.ToolbarButton;
 import org.rstudio.studio.client.application.events.EventBus;
+import org.rstudio.studio.client.common.GlobalDisplay;
 import org.rstudio.studio.client.workbench.commands.Commands;
 import org.rstudio.studio.client.workbench.prefs.model.UserPrefs;
 import org.rstudio.studio.client.workbench.views.jobs.events.JobSelectionEvent;
 import org.rstudio.studio.client.workbench.views.jobs.model.Job;
 import org.rstudio.studio.client.workbench.views.jobs.model.JobConstants;
+import org.rstudio.studio.client.workbench.views.jobs.model.JobsServerOperations;
 
 import java.util.Comparator;
 import java.util.List;
@@ -36,12 +38,16 @@ public class JobsPaneWidgets implements JobsPaneOperations
    public JobsPaneWidgets(Commands commands,
                           EventBus events,
                           UserPrefs userPrefs,
-                          JobsList list)
+                          JobsList list,
+                          JobsServerOperations server,
+                          GlobalDisplay globalDisplay)
    {
       commands_ = commands;
       events_ = events;
       userPrefs_ = userPrefs;
       list_ = list;
+      server_ = server;
+      globalDisplay_ = globalDisplay;
 
       toolbar_ = new Toolbar("Jobs Tab");
       
@@ -55,13 +61,23 @@ public class JobsPaneWidgets implements JobsPaneOperations
                JobConstants.JOB_TYPE_SESSION, false, !userPrefs_.reducedMotion().getValue()));
       });
       
+      downloadOutput_ = new ToolbarButton(
+            ToolbarButton.NoText,
+            "Download job output",
+            commands_.saveSourceDoc().getImageResource(), evt ->
+      {
+         Job job = list_.getJob(current_);
+         if (job != null)
+            globalDisplay_.openWindow(server_.getJobOutputUrl(job));
+      });
+      
       installMainToolbar();
    }
    
    @Override
    public Widget createMainWidget()
    {
-      output_ = new JobOutputPanel();
+      output_ = new JobOutputPanel(server_);
 
       panel_ = new SlidingLayoutPanel(list_, output_);
       panel_.addStyleName("ace_editor_theme");
@@ -89,6 +105,10 @@ public class JobsPaneWidgets implements JobsPaneOperations
          progress_ = new JobProgress(events_);
          toolbar_.addLeftWidget(progress_);
          progress_.showJob(job);
+         
+         // the pane only holds part of a long job's output, so offer all of
+         // it as a download
+         toolbar_.addRightWidget(downloadOutput_);
       }
    }
    
@@ -226,6 +246,7 @@ public class JobsPaneWidgets implements JobsPaneOperations
    private SlidingLayoutPanel panel_;
    private final Toolbar toolbar_;
    private final ToolbarButton allJobs_;
+   private final ToolbarButton downloadOutput_;
    private JobProgress progress_;
    
    // internal state
@@ -236,4 +257,6 @@ public class JobsPaneWidgets implements JobsPaneOperations
    private final EventBus events_;
    private final UserPrefs userPrefs_;
    private final JobsList list_;
+   private final JobsServerOperations server_;
+   private final GlobalDisplay globalDisplay_;
 }
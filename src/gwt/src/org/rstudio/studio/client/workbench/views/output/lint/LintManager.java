@@ -16,6 +16,9 @@ package org.rstudio.studio.client.workbench.views.output.lint;
 
 import org.rstudio.core.client.Debug;
 import org.rstudio.core.client.Invalidation;
+import org.rstudio.core.client.StringUtil;
+import org.rstudio.core.client.TypingLatency;
+import org.rstudio.core.client.patch.SubstringDiff;
 import org.rstudio.studio.client.RStudioGinjector;
 import org.rstudio.studio.client.application.events.EventBus;
 import org.rstudio.studio.client.common.RetinaStyleInjector;
@@ -126,6 +129,15 @@ public class LintManager
          }
       };
 
+      spellingTimer_ = new Timer()
+      {
+         @Override
+         public void run()
+         {
+            showSpellingLint();
+         }
+      };
+
       // Background linting
       docDisplay_.addValueChangeHandler(new ValueChangeHandler<Void>()
       {
@@ -146,12 +158,16 @@ public class LintManager
                @Override
                public void execute()
                {
+                  double start = TypingLatency.start();
+                  
                   // only remove spelling markers at cursor position
                   docDisplay_.removeMarkersAtCursorPosition();
                   showMarkers_ = false;
                   excludeCurrentStatement_ = true;
                   explicit_ = false;
                   timer_.schedule(userPrefs_.backgroundDiagnosticsDelayMs().getValue());
+                  
+                  TypingLatency.stop("Lint scheduling", start);
                }
             });
          }
@@ -208,14 +224,9 @@ public class LintManager
       }
       else
       {
-         target_.withSavedDoc(new Command()
-         {
-            @Override
-            public void execute()
-            {
-               performLintServerRequest(context);
-            }
-         });
+         // the document's contents are sent along with the lint request,
+         // so there's no need to save it first
+         performLintServerRequest(context);
       }
    }
 
@@ -253,11 +264,8 @@ public class LintManager
                   final JsArray<LintItem> cppLint =
                         CppCompletionRequest.asLintArray(diag);
                   
-                  server_.lintRSourceDocument(
-                        target_.getId(),
-                        target_.getPath(),
-                        context.showMarkers,
-                        context.explicit,
+                  lintRSourceDocument(
+                        context,
                         new ServerRequestCallback<JsArray<LintItem>>()
                         {
                            @Override
@@ -295,11 +303,8 @@ public class LintManager
    private void performRLintServerRequest(final LintContext context)
    {
 
-      server_.lintRSourceDocument(
-            target_.getId(),
-            target_.getPath(),
-            context.showMarkers,
-            context.explicit,
+      lintRSourceDocument(
+            context,
             new ServerRequestCallback<JsArray<LintItem>>()
             {
                @Override
@@ -319,6 +324,56 @@ public class LintManager
             });
    }
    
+   // Sends the document's current contents to be linted, as the changes
+   // since the contents which were last linted when possible
+   private void lintRSourceDocument(
+         final LintContext context,
+         final ServerRequestCallback<JsArray<LintItem>> requestCallback)
+   {
+      final String contents = docDisplay_.getCode();
+      final String revision = StringUtil.makeRandomId(16);
+      
+      SubstringDiff diff = lintedRevision_ != null
+            ? new SubstringDiff(lintedContents_, contents)
+            : null;
+      final boolean incremental = diff != null && diff.isValid();
+      
+      server_.lintRSourceDocument(
+            target_.getId(),
+            target_.getPath(),
+            context.showMarkers,
+            context.explicit,
+            revision,
+            incremental ? lintedRevision_ : "",
+            incremental ? diff.getReplacement() : contents,
+            incremental ? diff.getOffset() : 0,
+            incremental ? diff.getLength() : 0,
+            new ServerRequestCallback<JsArray<LintItem>>()
+            {
+               @Override
+               public void onResponseReceived(JsArray<LintItem> lint)
+               {
+                  lintedRevision_ = revision;
+                  lintedContents_ = contents;
+                  requestCallback.onResponseReceived(lint);
+               }
+               
+               @Override
+               public void onError(ServerError error)
+               {
+                  lintedRevision_ = null;
+                  lintedContents_ = null;
+                  
+                  // the server may no longer have the contents our changes
+                  // were based on; try again with the complete contents
+                  if (incremental && !context.token.isInvalid())
+                     lintRSourceDocument(context, requestCallback);
+                  else
+                     requestCallback.onError(error);
+               }
+            });
+   }
+   
    private void showLint(LintContext context, JsArray<LintItem> lint)
    {
       if (docDisplay_.isPopupVisible())
@@ -338,15 +393,29 @@ public class LintManager
       else
          finalLint = lint;
 
+      docDisplay_.showLint(finalLint, LintItem.LAYER_DIAGNOSTICS);
+      showSpellingLint();
+   }
+   
+   // Spelling lint is shown in its own layer, so that it can be updated
+   // (e.g. as the document is scrolled) without linting the document
+   private void showSpellingLint()
+   {
+      if (!isLintableDocument() || docDisplay_.isPopupVisible())
+         return;
+      
+      JsArray<LintItem> spellingLint = JsArray.createArray().cast();
       if (userPrefs_.realTimeSpellchecking().getValue() && TypoSpellChecker.isLoaded())
-      {
-         JsArray<LintItem> spellingLint = target_.getSpellingTarget().getLint();
-         for (int i = 0; i < spellingLint.length(); i++)
-         {
-            finalLint.push(spellingLint.get(i));
-         }
-      }
-      docDisplay_.showLint(finalLint);
+         spellingLint = target_.getSpellingTarget().getLint();
+      docDisplay_.showLint(spellingLint, LintItem.LAYER_SPELLING);
+   }
+   
+   /**
+    * Updates spelling lint (only) after the background diagnostics delay.
+    */
+   public void respellAfterDelay()
+   {
+      spellingTimer_.schedule(userPrefs_.backgroundDiagnosticsDelayMs().getValue());
    }
    
    public void schedule(int milliseconds)
@@ -392,10 +461,15 @@ public class LintManager
    public final static int DEFAULT_LINT_DELAY = -1;
 
    private final Timer timer_;
+   private final Timer spellingTimer_;
    private final TextEditingTarget target_;
    private final DocDisplay docDisplay_;
    private final Invalidation invalidation_;
    
+   // the revision (and contents) the server last linted
+   private String lintedRevision_;
+   private String lintedContents_;
+   
    private boolean explicit_;
    private boolean showMarkers_;
    private boolean excludeCurrentStatement_;
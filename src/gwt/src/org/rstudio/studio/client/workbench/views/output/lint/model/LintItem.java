@@ -24,6 +24,10 @@ public class LintItem extends JavaScriptObject
 {
    protected LintItem() {}
    
+   // editors show each layer of lint independently of the others
+   public static final String LAYER_DIAGNOSTICS = "diagnostics";
+   public static final String LAYER_SPELLING = "spelling";
+   
    public static final native LintItem create(int startRow,
                                               int startColumn,
                                               int endRow,
@@ -22,10 +22,21 @@ import com.google.gwt.core.client.JsArray;
 
 public interface LintServerOperations
 {
+   /**
+    * Lints the document's in-memory contents. The contents are sent as a
+    * replacement of the range [offset, offset+length) of the contents
+    * previously linted at the base revision, or (when the base revision is
+    * empty) as the complete contents.
+    */
    void lintRSourceDocument(String documentId,
                             String documentPath,
                             boolean showMarkersPane,
                             boolean explicit,
+                            String revision,
+                            String baseRevision,
+                            String replacement,
+                            int offset,
+                            int length,
                             ServerRequestCallback<JsArray<LintItem>> requestCallback);
    
    void getCppDiagnostics(
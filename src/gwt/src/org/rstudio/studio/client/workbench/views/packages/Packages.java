@@ -77,6 +77,7 @@ import org.rstudio.studio.client.workbench.views.packages.model.PackageInstallOp
 import org.rstudio.studio.client.workbench.views.packages.model.PackageInstallRequest;
 import org.rstudio.studio.client.workbench.views.packages.model.PackageLibraryUtils;
 import org.rstudio.studio.client.workbench.views.packages.model.PackageLibraryUtils.PackageLibraryType;
+import org.rstudio.studio.client.workbench.views.packages.model.PackageSearchIndex;
 import org.rstudio.studio.client.workbench.views.packages.model.PackageState;
 import org.rstudio.studio.client.workbench.views.packages.model.PackageStatus;
 import org.rstudio.studio.client.workbench.views.packages.model.PackageUpdate;
@@ -88,6 +89,7 @@ import org.rstudio.studio.client.workbench.views.packages.ui.CleanUnusedDialog;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Set;
@@ -843,43 +845,14 @@ public class Packages
    
    private void setViewPackageList()
    {
-      ArrayList<PackageInfo> packages = null;
+      List<PackageInfo> packages = null;
       
       // apply filter (if any)
       if (packageFilter_.length() > 0)
       {
-         packages = new ArrayList<PackageInfo>();
-         
-         // first do prefix search
-         for (PackageInfo pkgInfo : allPackages_)
-         {
-            if (pkgInfo.getName().toLowerCase().startsWith(packageFilter_))
-               packages.add(pkgInfo);
-         }
-         
-         // then do contains search on name & desc
-         for (PackageInfo pkgInfo : allPackages_)
-         { 
-            if (pkgInfo.getName().toLowerCase().contains(packageFilter_) ||
-                pkgInfo.getDesc().toLowerCase().contains(packageFilter_))
-            {
-               if (!packages.contains(pkgInfo))
-                  packages.add(pkgInfo);
-            }
-         }
-
-         // sort results by library (to preserve grouping)
-         Collections.sort(packages, new Comparator<PackageInfo>()
-               {
-                  @Override
-                  public int compare(PackageInfo o1, PackageInfo o2)
-                  {
-                     return PackageLibraryUtils.typeOfLibrary(
-                                   session_, o1.getLibrary()).compareTo(
-                             PackageLibraryUtils.typeOfLibrary(
-                                   session_, o2.getLibrary()));
-                  }
-               });
+         if (searchIndex_ == null)
+            searchIndex_ = new PackageSearchIndex(allPackages_, libraryGroups_);
+         packages = searchIndex_.search(packageFilter_);
       }
       else
       {
@@ -1221,20 +1194,30 @@ public class Packages
 
    private void setPackageState(PackageState newState)
    {
-      // sort the packages
+      // look up the type of each library once, rather than once per
+      // comparison
+      final HashMap<String, PackageLibraryType> libraryTypes =
+            new HashMap<String, PackageLibraryType>();
       allPackages_ = new ArrayList<PackageInfo>();
       JsArray<PackageInfo> serverPackages = newState.getPackageList();
       for (int i = 0; i < serverPackages.length(); i++)
-         allPackages_.add(serverPackages.get(i));
+      {
+         PackageInfo pkgInfo = serverPackages.get(i);
+         allPackages_.add(pkgInfo);
+         if (!libraryTypes.containsKey(pkgInfo.getLibrary()))
+         {
+            libraryTypes.put(pkgInfo.getLibrary(), 
+                  PackageLibraryUtils.typeOfLibrary(session_, pkgInfo.getLibrary()));
+         }
+      }
+      
+      // sort the packages
       Collections.sort(allPackages_, new Comparator<PackageInfo>() {
          public int compare(PackageInfo o1, PackageInfo o2)
          {
             // sort first by library, then by name
-            int library = 
-                  PackageLibraryUtils.typeOfLibrary(
-                        session_, o1.getLibrary()).compareTo(
-                  PackageLibraryUtils.typeOfLibrary(
-                        session_, o2.getLibrary()));
+            int library = libraryTypes.get(o1.getLibrary()).compareTo(
+                          libraryTypes.get(o2.getLibrary()));
             return library == 0 ? 
                   o1.getName().compareToIgnoreCase(o2.getName()) :
                   library;
@@ -1244,17 +1227,22 @@ public class Packages
       // Mark  which packages are first in their respective libraries (used
       // later to render headers)
       PackageLibraryType libraryType = PackageLibraryType.None;
-      for (PackageInfo pkgInfo: allPackages_)
+      libraryGroups_ = new int[allPackages_.size()];
+      for (int i = 0; i < allPackages_.size(); i++)
       {
-         PackageLibraryType pkgLibraryType = PackageLibraryUtils.typeOfLibrary(
-               session_, pkgInfo.getLibrary());
+         PackageInfo pkgInfo = allPackages_.get(i);
+         PackageLibraryType pkgLibraryType = libraryTypes.get(pkgInfo.getLibrary());
          if (pkgLibraryType != libraryType)
          {
             pkgInfo.setFirstInLibrary(true);
             libraryType = pkgLibraryType;
          }
+         libraryGroups_[i] = pkgLibraryType.ordinal();
       }
       
+      // the search index is built when the list is first filtered
+      searchIndex_ = null;
+      
       projectContext_ = newState.getProjectContext();
       view_.setProgress(false);
       setViewPackageList();
@@ -1277,6 +1265,8 @@ public class Packages
    private final RenvServerOperations renvServer_;
    private ArrayList<PackageInfo> allPackages_ = new ArrayList<PackageInfo>();
    private ProjectContext projectContext_;
+   private int[] libraryGroups_ = new int[0];
+   private PackageSearchIndex searchIndex_;
    private String packageFilter_ = new String();
    private HandlerRegistration consolePromptHandlerReg_ = null;
    private final EventBus events_;
@@ -61,18 +61,20 @@ import com.google.gwt.core.shared.GWT;
 import com.google.gwt.dom.builder.shared.TableCellBuilder;
 import com.google.gwt.dom.builder.shared.TableRowBuilder;
 import com.google.gwt.dom.client.Style.Unit;
+import com.google.gwt.event.dom.client.ScrollEvent;
+import com.google.gwt.event.dom.client.ScrollHandler;
 import com.google.gwt.event.logical.shared.ValueChangeEvent;
 import com.google.gwt.event.logical.shared.ValueChangeHandler;
 import com.google.gwt.safehtml.shared.SafeHtmlBuilder;
 import com.google.gwt.user.cellview.client.AbstractCellTable;
 import com.google.gwt.user.cellview.client.Column;
-import com.google.gwt.user.cellview.client.DataGrid;
 import com.google.gwt.user.cellview.client.DefaultCellTableBuilder;
 import com.google.gwt.user.cellview.client.HasKeyboardSelectionPolicy.KeyboardSelectionPolicy;
 import com.google.gwt.user.cellview.client.TextColumn;
 import com.google.gwt.user.cellview.client.TextHeader;
 import com.google.gwt.user.client.Timer;
 import com.google.gwt.user.client.ui.LayoutPanel;
+import com.google.gwt.user.client.ui.ScrollPanel;
 import com.google.gwt.user.client.ui.SuggestOracle;
 import com.google.gwt.user.client.ui.Widget;
 import com.google.gwt.view.client.HasData;
@@ -109,8 +111,21 @@ public class PackagesPane extends WorkbenchPane implements Packages.Display
                                List<PackageInfo> packages)
    {
       projectContext_ = projectContext;
-      packagesDataProvider_.setList(packages);
-      createPackagesTable();
+      
+      // the table's columns depend on whether a project is active; if that
+      // hasn't changed, update the rows in place (so that e.g. filtering or
+      // loading a package only redraws the rows which changed)
+      boolean projectActive = projectContext_.isActive();
+      if (packagesTable_ == null || projectActive != tableProjectActive_)
+      {
+         tableProjectActive_ = projectActive;
+         packagesDataProvider_.setList(new ArrayList<PackageInfo>(packages));
+         createPackagesTable();
+      }
+      else
+      {
+         updatePackageList(packages);
+      }
 
       // manage visibility of Packrat / renv menu buttons
       PackratContext packratContext = projectContext_.getPackratContext();
@@ -166,6 +181,33 @@ public class PackagesPane extends WorkbenchPane implements Packages.Display
       }
    }
    
+   private void updatePackageList(List<PackageInfo> packages)
+   {
+      List<PackageInfo> current = packagesDataProvider_.getList();
+      
+      // find the rows at the start and end of the list which are unchanged
+      int n = Math.min(current.size(), packages.size());
+      int prefix = 0;
+      while (prefix < n && 
+             current.get(prefix).isEquivalentTo(packages.get(prefix)))
+      {
+         prefix++;
+      }
+      
+      int suffix = 0;
+      while (suffix < n - prefix &&
+             current.get(current.size() - suffix - 1).isEquivalentTo(
+                   packages.get(packages.size() - suffix - 1)))
+      {
+         suffix++;
+      }
+      
+      // replace the rows in between
+      List<PackageInfo> changed = current.subList(prefix, current.size() - suffix);
+      changed.clear();
+      changed.addAll(packages.subList(prefix, packages.size() - suffix));
+   }
+   
    private int packageRow(String packageName, String packageLib)
    {
       // if we haven't retrieved packages yet then return not found
@@ -335,7 +377,7 @@ public class PackagesPane extends WorkbenchPane implements Packages.Display
       {
          packagesTableContainer_.clear();
          packagesTable_ = new RStudioDataGrid<PackageInfo>(
-            packagesDataProvider_.getList().size(), dataGridRes_);
+            ROWS_PER_PAGE, dataGridRes_);
       }
       catch (Exception e)
       {
@@ -538,6 +580,18 @@ public class PackagesPane extends WorkbenchPane implements Packages.Display
             PackageTableBuilder(packagesTable_));
       packagesTable_.setSkipRowHoverCheck(true);
       
+      // rows are drawn a page at a time, as the table is scrolled (rows
+      // aren't of uniform height, because of the library headers, so the
+      // table can't be virtualized)
+      packagesTable_.addScrollHandler(new ScrollHandler()
+      {
+         @Override
+         public void onScroll(ScrollEvent event)
+         {
+            maybeShowMoreRows();
+         }
+      });
+      
       packagesTableContainer_.add(packagesTable_);
       layoutPackagesTable();
       
@@ -548,6 +602,21 @@ public class PackagesPane extends WorkbenchPane implements Packages.Display
       packagesDataProvider_.addDataDisplay(packagesTable_);
    }
 
+   private void maybeShowMoreRows()
+   {
+      int pageSize = packagesTable_.getPageSize();
+      if (pageSize >= packagesDataProvider_.getList().size())
+         return;
+      
+      // draw another page once the table is scrolled to within a screenful
+      // of the last drawn row
+      ScrollPanel panel = packagesTable_.getScrollPanel();
+      int remaining = panel.getMaximumVerticalScrollPosition() - 
+                      panel.getVerticalScrollPosition();
+      if (remaining < panel.getOffsetHeight())
+         packagesTable_.setPageSize(pageSize + ROWS_PER_PAGE);
+   }
+   
    private void layoutPackagesTable()
    {
       layoutPackagesTable(0);
@@ -683,7 +752,7 @@ public class PackagesPane extends WorkbenchPane implements Packages.Display
       }
    }
    
-   private DataGrid<PackageInfo> packagesTable_;
+   private RStudioDataGrid<PackageInfo> packagesTable_;
    private ListDataProvider<PackageInfo> packagesDataProvider_;
    private SearchWidget searchWidget_;
    private PackagesDisplayObserver observer_;
@@ -695,9 +764,12 @@ public class PackagesPane extends WorkbenchPane implements Packages.Display
    private LayoutPanel packagesTableContainer_;
    private int gridRenderRetryCount_;
    private ProjectContext projectContext_;
+   private boolean tableProjectActive_;
 
    private final Commands commands_;
    private final Session session_;
    private final GlobalDisplay display_;
    private final PackagesDataGridResources dataGridRes_;
+   
+   private static final int ROWS_PER_PAGE = 200;
 }
@@ -128,6 +128,20 @@ public class PackageInfo extends JavaScriptObject
       return asLoadedState(false);
    }
    
+   // whether the two packages have the same fields (so that a row showing
+   // one needn't be redrawn to show the other)
+   public final native boolean isEquivalentTo(PackageInfo other) /*-{
+      if (this === other)
+         return true;
+      for (var key in this)
+         if (this.hasOwnProperty(key) && this[key] !== other[key])
+            return false;
+      for (var key in other)
+         if (other.hasOwnProperty(key) && !this.hasOwnProperty(key))
+            return false;
+      return true;
+   }-*/;
+   
    private final native PackageInfo asLoadedState(boolean loaded) /*-{
       var packageInfo = new Object();
       for (var key in this)
@@ -0,0 +1,177 @@
+/*
+ * PackageSearchIndex.java
+ *
+ * Copyright (C) 2020 by RStudio, PBC
+ *
+ * Unless you have received this program directly from RStudio pursuant
+ * to the terms of a commercial license agreement with RStudio, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.workbench.views.packages.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Searches a list of packages by name and description. Names and
+ * descriptions are lowercased once, up front; packages are bucketed by the
+ * first character of their name (for prefix matches) and by each pair of
+ * adjacent characters in their name and description (for substring
+ * matches), so a search only needs to check the packages in one bucket.
+ *
+ * The list must be grouped by library. Results are ordered as the packages
+ * pane shows them: by library, and within a library, packages whose names
+ * start with the filter come before other matches.
+ *
+ * The list is read when searching, so elements may be replaced (e.g. when
+ * a package is loaded) as long as their name and description don't change.
+ */
+public class PackageSearchIndex
+{
+   /**
+    * @param packages The packages, grouped by library
+    * @param libraryGroups The library group of each package (packages in
+    *    the same library have the same group)
+    */
+   public PackageSearchIndex(List<PackageInfo> packages, int[] libraryGroups)
+   {
+      packages_ = packages;
+      libraryGroups_ = libraryGroups;
+
+      int n = packages.size();
+      names_ = new String[n];
+      descs_ = new String[n];
+      for (int i = 0; i < n; i++)
+      {
+         PackageInfo pkgInfo = packages.get(i);
+         names_[i] = pkgInfo.getName().toLowerCase();
+         descs_[i] = pkgInfo.getDesc().toLowerCase();
+      }
+   }
+
+   /**
+    * @param filter The (lowercase) filter
+    */
+   public List<PackageInfo> search(String filter)
+   {
+      ensureBuckets();
+
+      int n = names_.length;
+      boolean[] prefixMatch = new boolean[n];
+      boolean[] otherMatch = new boolean[n];
+
+      List<Integer> prefixCandidates = prefixBuckets_.get(filter.charAt(0));
+      if (prefixCandidates != null)
+      {
+         for (int i : prefixCandidates)
+            prefixMatch[i] = names_[i].startsWith(filter);
+      }
+
+      List<Integer> candidates = substringBuckets_.get(
+            filter.substring(0, Math.min(2, filter.length())));
+      if (filter.length() > 2)
+      {
+         // use the smallest bucket of any pair in the filter
+         for (int i = 1; i < filter.length() - 1 && candidates != null; i++)
+         {
+            List<Integer> bucket = substringBuckets_.get(filter.substring(i, i + 2));
+            if (bucket == null || bucket.size() < candidates.size())
+               candidates = bucket;
+         }
+      }
+
+      if (candidates != null)
+      {
+         for (int i : candidates)
+         {
+            otherMatch[i] = !prefixMatch[i] &&
+                  (names_[i].contains(filter) || descs_[i].contains(filter));
+         }
+      }
+
+      // packages are grouped by library; within each library, list the
+      // prefix matches first
+      List<PackageInfo> results = new ArrayList<PackageInfo>();
+      int start = 0;
+      while (start < n)
+      {
+         int end = start;
+         while (end < n && libraryGroups_[end] == libraryGroups_[start])
+            end++;
+
+         for (int i = start; i < end; i++)
+            if (prefixMatch[i])
+               results.add(packages_.get(i));
+
+         for (int i = start; i < end; i++)
+            if (otherMatch[i])
+               results.add(packages_.get(i));
+
+         start = end;
+      }
+
+      return results;
+   }
+
+   // buckets are built on first use, since most package lists are never
+   // searched
+   private void ensureBuckets()
+   {
+      if (prefixBuckets_ != null)
+         return;
+
+      prefixBuckets_ = new HashMap<Character, List<Integer>>();
+      substringBuckets_ = new HashMap<String, List<Integer>>();
+      HashSet<String> keys = new HashSet<String>();
+      for (int i = 0; i < names_.length; i++)
+      {
+         if (!names_[i].isEmpty())
+            addToBucket(prefixBuckets_, names_[i].charAt(0), i);
+
+         keys.clear();
+         addKeys(keys, names_[i]);
+         addKeys(keys, descs_[i]);
+         for (String key : keys)
+            addToBucket(substringBuckets_, key, i);
+      }
+   }
+
+   // single characters (for one-character filters) and adjacent pairs
+   private static void addKeys(HashSet<String> keys, String text)
+   {
+      for (int i = 0; i < text.length(); i++)
+      {
+         keys.add(text.substring(i, i + 1));
+         if (i < text.length() - 1)
+            keys.add(text.substring(i, i + 2));
+      }
+   }
+
+   private static <K> void addToBucket(HashMap<K, List<Integer>> buckets,
+                                       K key,
+                                       int index)
+   {
+      List<Integer> bucket = buckets.get(key);
+      if (bucket == null)
+      {
+         bucket = new ArrayList<Integer>();
+         buckets.put(key, bucket);
+      }
+      bucket.add(index);
+   }
+
+   private final List<PackageInfo> packages_;
+   private final int[] libraryGroups_;
+   private final String[] names_;
+   private final String[] descs_;
+
+   private HashMap<Character, List<Integer>> prefixBuckets_;
+   private HashMap<String, List<Integer>> substringBuckets_;
+}
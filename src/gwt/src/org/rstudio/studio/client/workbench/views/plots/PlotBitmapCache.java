@@ -0,0 +1,318 @@
+/*
+ * PlotBitmapCache.java
+ *
+ * Copyright (C) 2020 by RStudio, PBC
+ *
+ * Unless you have received this program directly from RStudio pursuant
+ * to the terms of a commercial license agreement with RStudio, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.workbench.views.plots;
+
+import java.util.HashMap;
+
+import org.rstudio.core.client.CommandWithArg;
+import org.rstudio.core.client.Functional;
+import org.rstudio.core.client.LruCache;
+import org.rstudio.core.client.Size;
+
+import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.dom.client.ImageElement;
+
+/**
+ * Keeps recently rendered plot bitmaps in browser memory, keyed by plot
+ * index, pixel size and device pixel ratio. The server replaces a plot's
+ * image file each time it is re-rendered, so bitmaps are copied (from the
+ * image already loaded for display) into blob URLs which remain valid until
+ * evicted.
+ *
+ * A second, larger history of the most recent render of each plot (of any
+ * size) is kept for navigating the plot history; these entries can be shown
+ * (scaled) while the server renders the plot at the current size.
+ */
+public class PlotBitmapCache
+{
+   public PlotBitmapCache()
+   {
+      cache_ = new LruCache<Key, String>(CAPACITY,
+            new LruCache.EvictionHandler<Key, String>()
+      {
+         @Override
+         public void onEvicted(Key key, String blobUrl)
+         {
+            revokeObjectUrl(blobUrl);
+         }
+      });
+      history_ = new LruCache<Integer, HistoryEntry>(HISTORY_CAPACITY,
+            new LruCache.EvictionHandler<Integer, HistoryEntry>()
+      {
+         @Override
+         public void onEvicted(Integer plotIndex, HistoryEntry entry)
+         {
+            revokeObjectUrl(entry.blobUrl);
+         }
+      });
+   }
+
+   /**
+    * Copies a rendered plot into the cache, and makes it the most recent
+    * render of the plot in the plot history.
+    *
+    * @param plotIndex The index of the plot in the plot history
+    * @param size The size the plot was rendered at, in pixels
+    * @param devicePixelRatio The device pixel ratio the plot was rendered at
+    * @param filename The server's (strongly named) image filename
+    * @param image The loaded image of the plot
+    */
+   public void add(final int plotIndex, Size size, double devicePixelRatio,
+                   final String filename, ImageElement image)
+   {
+      if (!isSupported())
+         return;
+
+      final Key key = new Key(plotIndex, size.width, size.height, devicePixelRatio);
+      final int generation = getGeneration(plotIndex);
+      copyImage(image, new CommandWithArg<JavaScriptObject>()
+      {
+         @Override
+         public void execute(JavaScriptObject blob)
+         {
+            // discard if the plot was invalidated while we were copying
+            if (blob == null || generation != getGeneration(plotIndex))
+               return;
+
+            // each cache has its own URL for the blob, so that evicting it
+            // from one doesn't affect the other
+            cache_.put(key, createObjectUrl(blob));
+            history_.put(plotIndex,
+                  new HistoryEntry(filename, createObjectUrl(blob)));
+         }
+      });
+   }
+
+   /**
+    * Fetches the most recent render of a plot (which isn't being displayed)
+    * into the plot history. Does nothing if the given image is already in
+    * the history.
+    *
+    * @param plotIndex The index of the plot in the plot history
+    * @param filename The server's (strongly named) image filename
+    * @param url The URL of the image
+    */
+   public void addHistory(final int plotIndex, final String filename, String url)
+   {
+      if (!isSupported())
+         return;
+
+      HistoryEntry existing = history_.get(plotIndex);
+      if (existing != null && existing.filename.equals(filename))
+         return;
+
+      final int generation = getGeneration(plotIndex);
+      fetchBlobUrl(url, new CommandWithArg<String>()
+      {
+         @Override
+         public void execute(String blobUrl)
+         {
+            if (blobUrl == null)
+               return;
+
+            if (generation != getGeneration(plotIndex))
+            {
+               revokeObjectUrl(blobUrl);
+               return;
+            }
+
+            history_.put(plotIndex, new HistoryEntry(filename, blobUrl));
+         }
+      });
+   }
+
+   /**
+    * Finds the best bitmap to show for the given plot: a render at
+    * (approximately) the given size if there is one, or otherwise the plot's
+    * most recent render at any size.
+    *
+    * @return A URL for the bitmap, or null if none is cached
+    */
+   public String getAnySize(int plotIndex, Size size, double devicePixelRatio)
+   {
+      String blobUrl = get(plotIndex, size, devicePixelRatio);
+      if (blobUrl != null)
+         return blobUrl;
+
+      HistoryEntry entry = history_.get(plotIndex);
+      return entry == null ? null : entry.blobUrl;
+   }
+
+   /**
+    * Finds a cached bitmap for the given plot rendered at (approximately) the
+    * given size.
+    *
+    * @return A URL for the bitmap, or null if none is cached
+    */
+   public String get(int plotIndex, Size size, double devicePixelRatio)
+   {
+      for (Key key: cache_.keys())
+      {
+         if (key.plotIndex == plotIndex &&
+             key.devicePixelRatio == devicePixelRatio &&
+             Math.abs(key.width - size.width) <= SIZE_TOLERANCE &&
+             Math.abs(key.height - size.height) <= SIZE_TOLERANCE)
+         {
+            return cache_.get(key);
+         }
+      }
+      return null;
+   }
+
+   /**
+    * Discards all cached sizes of the given plot (e.g. because its content
+    * changed).
+    */
+   public void invalidate(final int plotIndex)
+   {
+      generations_.put(plotIndex, ++lastGeneration_);
+      cache_.removeIf(new Functional.Predicate<Key>()
+      {
+         @Override
+         public boolean test(Key key)
+         {
+            return key.plotIndex == plotIndex;
+         }
+      });
+      history_.remove(plotIndex);
+   }
+
+   public void clear()
+   {
+      generations_.clear();
+      clearGeneration_ = ++lastGeneration_;
+      cache_.clear();
+      history_.clear();
+   }
+
+   // identifies the cached content of the given plot; changes whenever it's
+   // invalidated, so that in-flight copies of the plot can be discarded
+   private int getGeneration(int plotIndex)
+   {
+      Integer generation = generations_.get(plotIndex);
+      return generation == null ? clearGeneration_ : generation;
+   }
+
+   private static class HistoryEntry
+   {
+      public HistoryEntry(String filename, String blobUrl)
+      {
+         this.filename = filename;
+         this.blobUrl = blobUrl;
+      }
+
+      public final String filename;
+      public final String blobUrl;
+   }
+
+   private static class Key
+   {
+      public Key(int plotIndex, int width, int height, double devicePixelRatio)
+      {
+         this.plotIndex = plotIndex;
+         this.width = width;
+         this.height = height;
+         this.devicePixelRatio = devicePixelRatio;
+      }
+
+      @Override
+      public boolean equals(Object other)
+      {
+         if (!(other instanceof Key))
+            return false;
+         Key key = (Key) other;
+         return plotIndex == key.plotIndex &&
+                width == key.width &&
+                height == key.height &&
+                devicePixelRatio == key.devicePixelRatio;
+      }
+
+      @Override
+      public int hashCode()
+      {
+         return ((plotIndex * 31 + width) * 31 + height) * 31 +
+               (int) (devicePixelRatio * 100);
+      }
+
+      public final int plotIndex;
+      public final int width;
+      public final int height;
+      public final double devicePixelRatio;
+   }
+
+   private static native boolean isSupported() /*-{
+      return !!($wnd.URL && $wnd.URL.createObjectURL && $wnd.Blob);
+   }-*/;
+
+   private static native void fetchBlobUrl(String url,
+                                           CommandWithArg<String> onFetched) /*-{
+      var xhr = new $wnd.XMLHttpRequest();
+      xhr.open("GET", url, true);
+      xhr.responseType = "blob";
+      xhr.onload = $entry(function() {
+         var blobUrl = null;
+         if (xhr.status === 200 && xhr.response)
+            blobUrl = $wnd.URL.createObjectURL(xhr.response);
+         onFetched.@org.rstudio.core.client.CommandWithArg::execute(*)(blobUrl);
+      });
+      xhr.onerror = $entry(function() {
+         onFetched.@org.rstudio.core.client.CommandWithArg::execute(*)(null);
+      });
+      xhr.send();
+   }-*/;
+
+   // copies the image into a PNG blob (or null if it can't be copied)
+   private static native void copyImage(ImageElement image,
+                                        CommandWithArg<JavaScriptObject> onCopied) /*-{
+      var blob = null;
+      try {
+         var canvas = $doc.createElement("canvas");
+         canvas.width = image.naturalWidth;
+         canvas.height = image.naturalHeight;
+         if (canvas.width > 0 && canvas.height > 0 && canvas.toBlob) {
+            canvas.getContext("2d").drawImage(image, 0, 0);
+            canvas.toBlob($entry(function(blob) {
+               onCopied.@org.rstudio.core.client.CommandWithArg::execute(*)(blob);
+            }), "image/png");
+            return;
+         }
+      }
+      catch (e) {
+      }
+      onCopied.@org.rstudio.core.client.CommandWithArg::execute(*)(null);
+   }-*/;
+
+   private static native String createObjectUrl(JavaScriptObject blob) /*-{
+      return $wnd.URL.createObjectURL(blob);
+   }-*/;
+
+   private static native void revokeObjectUrl(String url) /*-{
+      $wnd.URL.revokeObjectURL(url);
+   }-*/;
+
+   private final LruCache<Key, String> cache_;
+   private final LruCache<Integer, HistoryEntry> history_;
+
+   // the generation of each plot invalidated since the cache was last
+   // cleared, and of every other plot
+   private final HashMap<Integer, Integer> generations_ =
+         new HashMap<Integer, Integer>();
+   private int clearGeneration_ = 0;
+   private int lastGeneration_ = 0;
+
+   private static final int CAPACITY = 16;
+   private static final int HISTORY_CAPACITY = 64;
+   private static final int SIZE_TOLERANCE = 2;
+}
@@ -15,9 +15,13 @@
 package org.rstudio.studio.client.workbench.views.plots;
 
 import com.google.gwt.core.client.GWT;
+import com.google.gwt.core.client.JsArrayString;
+import com.google.gwt.dom.client.ImageElement;
 import com.google.gwt.event.dom.client.ClickEvent;
 import com.google.gwt.event.dom.client.ClickHandler;
 import com.google.gwt.event.logical.shared.HasResizeHandlers;
+import com.google.gwt.event.logical.shared.ResizeEvent;
+import com.google.gwt.event.logical.shared.ResizeHandler;
 import com.google.gwt.event.logical.shared.SelectionEvent;
 import com.google.gwt.event.logical.shared.SelectionHandler;
 import com.google.gwt.json.client.JSONObject;
@@ -26,6 +30,7 @@ import com.google.inject.Inject;
 import com.google.inject.Provider;
 
 import org.rstudio.core.client.BrowseCap;
+import org.rstudio.core.client.CommandWithArg;
 import org.rstudio.core.client.Point;
 import org.rstudio.core.client.Size;
 import org.rstudio.core.client.dom.WindowEx;
@@ -80,7 +85,8 @@ public class Plots extends BasePresenter implements PlotsChangedHandler,
    public interface Display extends WorkbenchView, HasResizeHandlers
    {
       void showEmptyPlot();
-      void showPlot(String plotUrl);
+      void showPlot(String plotUrl, CommandWithArg<ImageElement> onLoaded);
+      void showPlotBitmap(String bitmapUrl);
       String getPlotUrl();
       
       void refresh();
@@ -175,6 +181,16 @@ public class Plots extends BasePresenter implements PlotsChangedHandler,
          }
       );
       
+      // show a cached render (if we have one) as soon as the pane is resized
+      view_.addResizeHandler(new ResizeHandler()
+      {
+         @Override
+         public void onResize(ResizeEvent event)
+         {
+            showCachedPlot();
+         }
+      });
+
       events.addHandler(DeferredInitCompletedEvent.TYPE, this);
       events.addHandler(PlotsZoomSizeChangedEvent.TYPE, this);
 }
@@ -193,14 +209,34 @@ public class Plots extends BasePresenter implements PlotsChangedHandler,
       // the server. this is shown as a blank pane by Webkit, however
       // firefox shows the full URI of the empty.png rather than a blank
       // pane. therefore, we put in this workaround. 
+      Size size = new Size(plotsState.getWidth(), plotsState.getHeight());
+      int plotIndex = plotsState.getPlotIndex();
       if (plotsState.getFilename().startsWith("empty."))
       {
          view_.showEmptyPlot(); 
+         bitmapCache_.clear();
+         plotIndex = -1;
       }
       else
       {
-         String url = server_.getGraphicsUrl(plotsState.getFilename());
-         view_.showPlot(url);
+         // plots may have been removed, shifting indices
+         if (plotsState.getPlotCount() < plotCount_)
+            bitmapCache_.clear();
+         
+         // a new render of the same plot at the same size means the plot
+         // itself changed, so renders at other sizes are stale
+         else if (plotIndex == plotIndex_ && size.equals(plotSize_))
+            bitmapCache_.invalidate(plotIndex);
+         
+         // cache the plot from the image the pane loads, rather than
+         // fetching it again
+         final int index = plotIndex;
+         final String filename = plotsState.getFilename();
+         final double devicePixelRatio = getDevicePixelRatio();
+         view_.showPlot(server_.getGraphicsUrl(filename), (image) ->
+         {
+            bitmapCache_.add(index, size, devicePixelRatio, filename, image);
+         });
       }
       
       // activate the plots tab if requested
@@ -208,7 +244,15 @@ public class Plots extends BasePresenter implements PlotsChangedHandler,
          view_.bringToFront();
       
       // update plot size
-      plotSize_ = new Size(plotsState.getWidth(), plotsState.getHeight());
+      plotSize_ = size;
+      plotIndex_ = plotIndex;
+      navigationIndex_ = plotIndex;
+      plotCount_ = plotsState.getPlotCount();
+      
+      // fetch the plots around this one so that navigating to them is
+      // instant
+      if (plotIndex >= 0)
+         prefetchNeighbors(plotIndex);
 
       // manipulator
       manipulatorManager_.setManipulator(plotsState.getManipulator(),
@@ -229,14 +273,14 @@ public class Plots extends BasePresenter implements PlotsChangedHandler,
    void onNextPlot()
    {
       view_.bringToFront();
-      setChangePlotProgress();
+      navigatePlot(1);
       server_.nextPlot(new PlotRequestCallback());
    }
 
    void onPreviousPlot()
    {
       view_.bringToFront();
-      setChangePlotProgress();
+      navigatePlot(-1);
       server_.previousPlot(new PlotRequestCallback());
    }
    
@@ -565,6 +609,84 @@ public class Plots extends BasePresenter implements PlotsChangedHandler,
       zoomWindowDefaultSize_ = new Size(event.getWidth(), event.getHeight());
    }
    
+   private void navigatePlot(int delta)
+   {
+      // show the target plot from the cache (if we have it) while the
+      // server renders it; otherwise, blank the pane until it arrives
+      int index = navigationIndex_ + delta;
+      String bitmapUrl = null;
+      if (navigationIndex_ >= 0 && index >= 0 && index < plotCount_)
+      {
+         bitmapUrl = bitmapCache_.getAnySize(index,
+                                             view_.getPlotFrameSize(),
+                                             getDevicePixelRatio());
+         navigationIndex_ = index;
+      }
+      
+      if (bitmapUrl != null)
+         view_.showPlotBitmap(bitmapUrl);
+      else
+         setChangePlotProgress();
+   }
+   
+   private void prefetchNeighbors(final int plotIndex)
+   {
+      int first = Math.max(0, plotIndex - PREFETCH_COUNT);
+      int last = Math.min(plotCount_ - 1, plotIndex + PREFETCH_COUNT);
+      if (first == plotIndex && last == plotIndex)
+         return;
+      
+      final int firstIndex = first;
+      server_.getPlotImageFilenames(first, last,
+            new ServerRequestCallback<JsArrayString>()
+      {
+         @Override
+         public void onResponseReceived(JsArrayString filenames)
+         {
+            // ignore if plots changed while we were waiting
+            if (plotIndex != plotIndex_)
+               return;
+            
+            for (int i = 0; i < filenames.length(); i++)
+            {
+               int index = firstIndex + i;
+               String filename = filenames.get(i);
+               if (index == plotIndex || filename.isEmpty())
+                  continue;
+               bitmapCache_.addHistory(index, filename,
+                     server_.getGraphicsUrl(filename));
+            }
+         }
+         
+         @Override
+         public void onError(ServerError error)
+         {
+            // prefetching is opportunistic; nothing to do
+         }
+      });
+   }
+   
+   private void showCachedPlot()
+   {
+      if (plotIndex_ < 0)
+         return;
+      
+      String bitmapUrl = bitmapCache_.get(plotIndex_,
+                                          view_.getPlotFrameSize(),
+                                          getDevicePixelRatio());
+      if (bitmapUrl != null)
+         view_.showPlotBitmap(bitmapUrl);
+   }
+   
+   private double getDevicePixelRatio()
+   {
+      // matches the ratio reported to the server in the workbench metrics
+      if (BrowseCap.isMacintoshDesktop())
+         return BrowseCap.devicePixelRatio();
+      else
+         return 1.0;
+   }
+   
    private Size getPlotSize()
    {
       // NOTE: the reason we capture the plotSize_ from the PlotChangedEvent
@@ -619,6 +741,20 @@ public class Plots extends BasePresenter implements PlotsChangedHandler,
    // export plot impl
    private final ExportPlot exportPlot_;
    
+   // renders of recently shown plots
+   private final PlotBitmapCache bitmapCache_ = new PlotBitmapCache();
+   
    // size of most recently rendered plot
    Size plotSize_ = null;
+   
+   // index of the current plot (-1 when there is none) and number of plots
+   private int plotIndex_ = -1;
+   private int plotCount_ = 0;
+   
+   // index of the plot most recently navigated to (may be ahead of the
+   // server while a navigation request is pending)
+   private int navigationIndex_ = -1;
+   
+   // number of plots on either side of the current plot to prefetch
+   private static final int PREFETCH_COUNT = 2;
 }
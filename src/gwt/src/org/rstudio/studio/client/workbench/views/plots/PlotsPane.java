@@ -15,6 +15,7 @@
 
 package org.rstudio.studio.client.workbench.views.plots;
 
+import com.google.gwt.dom.client.ImageElement;
 import com.google.gwt.dom.client.Style.Unit;
 import com.google.gwt.event.logical.shared.HasResizeHandlers;
 import com.google.gwt.event.logical.shared.ResizeEvent;
@@ -152,17 +153,24 @@ public class PlotsPane extends WorkbenchPane implements Plots.Display,
       plotsToolbar_.invalidateSeparators();
    }
 
-   public void showPlot(String plotUrl)
+   public void showPlot(String plotUrl, CommandWithArg<ImageElement> onLoaded)
    {
       // save plot url for refresh
       plotUrl_ = plotUrl;
 
       // use frame.contentWindow.location.replace to avoid having the plot
       // enter the browser's history
-      frame_.setImageUrl(plotUrl);
+      frame_.setImageUrl(plotUrl, onLoaded);
       plotsToolbar_.invalidateSeparators();
    }
        
+   public void showPlotBitmap(String bitmapUrl)
+   {
+      // show a cached render of the current plot; plotUrl_ continues to
+      // refer to the plot on the server
+      frame_.setImageUrl(bitmapUrl);
+   }
+       
    public String getPlotUrl()
    {
       return plotUrl_;
@@ -20,6 +20,7 @@ import org.rstudio.studio.client.server.ServerRequestCallback;
 import org.rstudio.studio.client.server.Void;
 import org.rstudio.studio.client.workbench.exportplot.model.SavePlotAsImageContext;
 
+import com.google.gwt.core.client.JsArrayString;
 import com.google.gwt.json.client.JSONObject;
 
 
@@ -43,6 +44,11 @@ public interface PlotsServerOperations
       
    void refreshPlot(ServerRequestCallback<Void> requestCallback);
    
+   // image filenames for plots first..last (empty if not rendered)
+   void getPlotImageFilenames(int first,
+                              int last,
+                              ServerRequestCallback<JsArrayString> requestCallback);
+   
    void setManipulatorValues(JSONObject values,
                              ServerRequestCallback<Void> requestCallback);
    
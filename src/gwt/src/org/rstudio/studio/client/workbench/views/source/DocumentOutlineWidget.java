@@ -48,6 +48,7 @@ import com.google.gwt.event.dom.client.ClickEvent;
 import com.google.gwt.event.dom.client.ClickHandler;
 import com.google.gwt.resources.client.ClientBundle;
 import com.google.gwt.resources.client.CssResource;
+import com.google.gwt.user.client.Command;
 import com.google.gwt.user.client.ui.Composite;
 import com.google.gwt.user.client.ui.DockLayoutPanel;
 import com.google.gwt.user.client.ui.FlowPanel;
@@ -309,17 +310,24 @@ public class DocumentOutlineWidget extends Composite
          }
       }));
       
+      final Command updateScope = new Command()
+      {
+         @Override
+         public void execute()
+         {
+            currentScope_ = target_.getDocDisplay().getCurrentScope();
+            currentVisibleScope_ = getCurrentVisibleScope(currentScope_);
+            resetTreeStyles();
+         }
+      };
+      
       handlers_.add(target_.getDocDisplay().addCursorChangedHandler(new CursorChangedHandler()
       {
          @Override
          public void onCursorChanged(CursorChangedEvent event)
          {
-            if (target_.getDocDisplay().isScopeTreeReady(event.getPosition().getRow()))
-            {
-               currentScope_ = target_.getDocDisplay().getCurrentScope();
-               currentVisibleScope_ = getCurrentVisibleScope(currentScope_);
-               resetTreeStyles();
-            }
+            target_.getDocDisplay().whenScopeTreeReady(
+                  event.getPosition().getRow(), updateScope);
          }
       }));
       
@@ -68,6 +68,7 @@ import org.rstudio.studio.client.application.ApplicationAction;
 import org.rstudio.studio.client.application.ApplicationUtils;
 import org.rstudio.studio.client.application.AriaLiveService;
 import org.rstudio.studio.client.application.Desktop;
+import org.rstudio.studio.client.application.BootstrapTimings;
 import org.rstudio.studio.client.application.events.AriaLiveStatusEvent.Severity;
 import org.rstudio.studio.client.application.events.AriaLiveStatusEvent.Timing;
 import org.rstudio.studio.client.application.ui.CommandPaletteEntry;
@@ -138,6 +139,7 @@ import org.rstudio.studio.client.workbench.views.source.NewShinyWebApplication.R
 import org.rstudio.studio.client.workbench.views.source.SourceWindowManager.NavigationResult;
 import org.rstudio.studio.client.workbench.views.source.editors.EditingTarget;
 import org.rstudio.studio.client.workbench.views.source.editors.EditingTargetSource;
+import org.rstudio.studio.client.workbench.views.source.editors.PlaceholderEditingTarget;
 import org.rstudio.studio.client.workbench.views.source.editors.codebrowser.CodeBrowserEditingTarget;
 import org.rstudio.studio.client.workbench.views.source.editors.data.DataEditingTarget;
 import org.rstudio.studio.client.workbench.views.source.editors.explorer.ObjectExplorerEditingTarget;
@@ -174,6 +176,7 @@ import org.rstudio.studio.client.workbench.views.source.model.SourcePosition;
 import org.rstudio.studio.client.workbench.views.source.model.SourceServerOperations;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -672,6 +675,9 @@ public class Source implements InsertSourceHandler,
          });
       }
          
+      // restored documents which aren't immediately needed get placeholder
+      // editors; the active tab's editor is created once it's known
+      restoringDocuments_ = true;
       restoreDocuments(session_);
       
       // get the key to use for active tab persistence; use ordinal-based key
@@ -709,6 +715,9 @@ public class Source implements InsertSourceHandler,
          }
       };
       
+      restoringDocuments_ = false;
+      materializeActiveEditor();
+      
       AceEditorNative.syncUiPrefs(userPrefs_);
       
       // As tabs were added before, manageCommands() was suppressed due to
@@ -802,21 +811,25 @@ public class Source implements InsertSourceHandler,
             ? activeEditor_
             : getEditingTargetForId(id);
       
-      if (target == null)
+      int index = editors_.indexOf(target);
+      if (index < 0)
       {
          if (onFailure != null)
             onFailure.execute();
          return;
       }
       
-      if (!(target instanceof TextEditingTarget))
+      materialize(index, (editor) ->
       {
-         if (onFailure != null)
-            onFailure.execute();
-         return;
-      }
-      
-      command.execute((TextEditingTarget) target);
+         if (!(editor instanceof TextEditingTarget))
+         {
+            if (onFailure != null)
+               onFailure.execute();
+            return;
+         }
+         
+         command.execute((TextEditingTarget) editor);
+      });
    }
    
    private void getEditorContext(String id, String path, DocDisplay docDisplay)
@@ -913,7 +926,7 @@ public class Source implements InsertSourceHandler,
                   public void execute(EditingTarget editingTarget,
                                       Command continuation)
                   {
-                     view_.closeTab(editingTarget.asWidget(),
+                     view_.closeTab(getTabWidget(editingTarget),
                            false,
                            continuation);
                   }
@@ -2489,11 +2502,12 @@ public class Source implements InsertSourceHandler,
    }
           
    
+   // NOTE: this may be a placeholder (see materialize)
    private EditingTarget getEditingTargetForId(String id)
    {
-      for (EditingTarget target : editors_)
-         if (id == target.getId())
-            return target;
+      for (int i = 0; i < editors_.size(); i++)
+         if (id == editors_.get(i).getId())
+            return editors_.get(i);
 
       return null;
    }
@@ -2567,7 +2581,7 @@ public class Source implements InsertSourceHandler,
                   }
                   else
                   {
-                     view_.closeTab(target.asWidget(), false, continuation);
+                     view_.closeTab(getTabWidget(target), false, continuation);
                   }
                }
             });
@@ -2754,7 +2768,7 @@ public class Source implements InsertSourceHandler,
                else
                {
                   // untitled document -- just close the tab non-interactively
-                  view_.closeTab(saveTarget.asWidget(), false, continuation);
+                  view_.closeTab(getTabWidget(saveTarget), false, continuation);
                }
             }
          },
@@ -3099,20 +3113,19 @@ public class Source implements InsertSourceHandler,
          
          for (int i = 0; i < editors_.size(); i++)
          {
-            EditingTarget target = editors_.get(i);
-            String path = target.getPath();
+            String path = editors_.get(i).getPath();
             if (path != null && path.equalsIgnoreCase(file.getPath()))
             {
                // the file's open; just update its highlighting 
-               if (navMethod == NavigationMethods.DEBUG_END)
-               {
-                  target.endDebugHighlighting();
-               }
-               else
-               {
+               if (navMethod != NavigationMethods.DEBUG_END)
                   view_.selectTab(i);
-                  editingTargetAction.execute(target);
-               }
+               materialize(i, (target) ->
+               {
+                  if (navMethod == NavigationMethods.DEBUG_END)
+                     target.endDebugHighlighting();
+                  else
+                     editingTargetAction.execute(target);
+               });
                return;
             }
          }
@@ -3370,15 +3383,17 @@ public class Source implements InsertSourceHandler,
       // check to see if any local editors have the file open
       for (int i = 0; i < editors_.size(); i++)
       {
-         EditingTarget target = editors_.get(i);
-         String thisPath = target.getPath();
+         String thisPath = editors_.get(i).getPath();
          if (thisPath != null
              && thisPath.equalsIgnoreCase(file.getPath()))
          {
             view_.selectTab(i);
             pMruList_.get().add(thisPath);
-            if (resultCallback != null)
-               resultCallback.onSuccess(target);
+            materialize(i, (target) ->
+            {
+               if (resultCallback != null)
+                  resultCallback.onSuccess(target);
+            });
             return true;
          }
       }
@@ -3543,15 +3558,13 @@ public class Source implements InsertSourceHandler,
    private EditingTarget addTab(SourceDocument doc, Integer position, 
          int mode)
    {
-      final String defaultNamePrefix = editingTargetSource_.getDefaultNamePrefix(doc);
-      final EditingTarget target = editingTargetSource_.getEditingTarget(
-            doc, fileContext_, new Provider<String>()
-            {
-               public String get()
-               {
-                  return getNextDefaultName(defaultNamePrefix);
-               }
-            });
+      FileType type = fileTypeRegistry_.getTypeByTypeName(doc.getType());
+      final EditingTarget target;
+      if (PlaceholderEditingTarget.canDefer(doc, type) &&
+          (restoringDocuments_ || doc.isContentsDeferred()))
+         target = new PlaceholderEditingTarget(doc, (TextFileType) type);
+      else
+         target = createEditingTarget(doc);
       
       final Widget widget = createWidget(target);
 
@@ -3584,6 +3597,185 @@ public class Source implements InsertSourceHandler,
                    true);
       fireDocTabsChanged();
 
+      if (!(target instanceof PlaceholderEditingTarget))
+         attachEditingTarget(target, widget);
+      
+      events_.fireEvent(new SourceDocAddedEvent(doc, mode));
+      
+      if (target instanceof TextEditingTarget && doc.isReadOnly())
+      {
+         ((TextEditingTarget) target).setIntendedAsReadOnly(
+               JsUtil.toList(doc.getReadOnlyAlternatives()));
+      }
+      
+      // adding a tab may enable commands that are only available when 
+      // multiple documents are open; if this is the second document, go check
+      if (editors_.size() == 2)
+         manageMultiTabCommands();
+      
+      // if the target had an editing session active, attempt to resume it
+      if (doc.getCollabParams() != null)
+         target.beginCollabSession(doc.getCollabParams());
+      
+      return target;
+   }
+   
+   private EditingTarget createEditingTarget(final SourceDocument doc)
+   {
+      return editingTargetSource_.getEditingTarget(
+            doc, fileContext_, new Provider<String>()
+            {
+               public String get()
+               {
+                  // looking up the prefix constructs an editing target, so
+                  // only do it for documents which need a default name
+                  return getNextDefaultName(
+                        editingTargetSource_.getDefaultNamePrefix(doc));
+               }
+            });
+   }
+   
+   // Runs the command with the editing target at the given index, first
+   // replacing it with a real editing target if it's a placeholder. If the
+   // placeholder's contents must be fetched first, the command runs once
+   // they have been.
+   private void materialize(int index,
+                            CommandWithArg<EditingTarget> onMaterialized)
+   {
+      EditingTarget target = editors_.get(index);
+      if (target instanceof PlaceholderEditingTarget &&
+          ((PlaceholderEditingTarget) target).needsContents())
+      {
+         PlaceholderEditingTarget placeholder = (PlaceholderEditingTarget) target;
+         placeholder.addMaterializedCommand(onMaterialized);
+         loadDeferredContents(placeholder);
+         return;
+      }
+      
+      onMaterialized.execute(replacePlaceholder(index));
+   }
+   
+   // Replaces the placeholder at the given index (if any) with a real editing
+   // target, shown inside the placeholder's tab. If the placeholder's contents
+   // haven't been fetched yet, they're requested and the placeholder itself
+   // is returned; callers which need the real editing target should use
+   // materialize instead.
+   private EditingTarget replacePlaceholder(int index)
+   {
+      EditingTarget target = editors_.get(index);
+      if (!(target instanceof PlaceholderEditingTarget))
+         return target;
+      
+      PlaceholderEditingTarget placeholder = (PlaceholderEditingTarget) target;
+      if (placeholder.needsContents())
+      {
+         // the document's contents weren't included in the session info;
+         // the placeholder stays in place until they've been fetched
+         loadDeferredContents(placeholder);
+         return placeholder;
+      }
+      
+      EditingTarget editor = createEditingTarget(placeholder.getDocument());
+      editors_.set(index, editor);
+      
+      Widget widget = placeholder.asWidget();
+      placeholder.host(createWidget(editor));
+      hostWidgets_.put(editor, widget);
+      attachEditingTarget(editor, widget);
+      
+      String extendedType = placeholder.getChangedExtendedType();
+      if (extendedType != null)
+         editor.adaptToExtendedFileType(extendedType);
+      
+      if (activeEditor_ == placeholder)
+         activeEditor_ = editor;
+      
+      return editor;
+   }
+   
+   private void materializeActiveEditor()
+   {
+      int index = view_.getActiveTabIndex();
+      if (index < 0 || index >= editors_.size())
+         return;
+      
+      EditingTarget target = editors_.get(index);
+      if (target instanceof PlaceholderEditingTarget)
+         materializeActivated((PlaceholderEditingTarget) target);
+      else
+         BootstrapTimings.mark(BootstrapTimings.ACTIVE_DOCUMENT_SHOWN);
+   }
+   
+   // Materializes a placeholder which may have been activated (or initially
+   // loaded) before it could be replaced, and replays those notifications
+   private void materializeActivated(PlaceholderEditingTarget placeholder)
+   {
+      int index = editors_.indexOf(placeholder);
+      if (index < 0)
+         return;
+      
+      boolean active = activeEditor_ == placeholder;
+      EditingTarget editor = replacePlaceholder(index);
+      if (editor == placeholder)
+         return;
+      
+      if (active)
+      {
+         editor.onActivate();
+         BootstrapTimings.mark(BootstrapTimings.ACTIVE_DOCUMENT_SHOWN);
+         if (initialized_)
+            manageCommands();
+      }
+      if (placeholder.wasInitiallyLoaded())
+         editor.onInitiallyLoaded();
+      
+      // run anything that was waiting for the real editing target
+      for (CommandWithArg<EditingTarget> command :
+            placeholder.takeMaterializedCommands())
+      {
+         command.execute(editor);
+      }
+   }
+   
+   private void loadDeferredContents(final PlaceholderEditingTarget placeholder)
+   {
+      if (placeholder.isLoadingContents())
+         return;
+      
+      placeholder.setLoadingContents(true);
+      server_.getSourceDocument(placeholder.getId(),
+            new ServerRequestCallback<SourceDocument>()
+      {
+         @Override
+         public void onResponseReceived(SourceDocument document)
+         {
+            placeholder.setLoadingContents(false);
+            placeholder.setDocument(document);
+            materializeActivated(placeholder);
+         }
+         
+         @Override
+         public void onError(ServerError error)
+         {
+            // anything waiting for the document can't be done
+            placeholder.setLoadingContents(false);
+            placeholder.takeMaterializedCommands();
+            Debug.logError(error);
+         }
+      });
+   }
+   
+   // Materialized editors are hosted in their placeholder's widget, which
+   // remains the tab's widget
+   private Widget getTabWidget(EditingTarget target)
+   {
+      Widget widget = hostWidgets_.get(target);
+      return widget != null ? widget : target.asWidget();
+   }
+   
+   private void attachEditingTarget(final EditingTarget target,
+                                    final Widget widget)
+   {
       target.getName().addValueChangeHandler(new ValueChangeHandler<String>()
       {
          public void onValueChange(ValueChangeEvent<String> event)
@@ -3621,25 +3813,6 @@ public class Source implements InsertSourceHandler,
             view_.closeTab(widget, false);
          }
       });
-      
-      events_.fireEvent(new SourceDocAddedEvent(doc, mode));
-      
-      if (target instanceof TextEditingTarget && doc.isReadOnly())
-      {
-         ((TextEditingTarget) target).setIntendedAsReadOnly(
-               JsUtil.toList(doc.getReadOnlyAlternatives()));
-      }
-      
-      // adding a tab may enable commands that are only available when 
-      // multiple documents are open; if this is the second document, go check
-      if (editors_.size() == 2)
-         manageMultiTabCommands();
-      
-      // if the target had an editing session active, attempt to resume it
-      if (doc.getCollabParams() != null)
-         target.beginCollabSession(doc.getCollabParams());
-      
-      return target;
    }
 
    private String getNextDefaultName(String defaultNamePrefix)
@@ -3741,6 +3914,7 @@ public class Source implements InsertSourceHandler,
    private void closeTabIndex(int idx, boolean closeDocument)
    {
       EditingTarget target = editors_.remove(idx);
+      hostWidgets_.remove(target);
 
       tabOrder_.remove(new Integer(idx));
       for (int i = 0; i < tabOrder_.size(); i++)
@@ -3869,7 +4043,11 @@ public class Source implements InsertSourceHandler,
 
       if (event.getSelectedItem() >= 0)
       {
-         activeEditor_ = editors_.get(event.getSelectedItem());
+         // placeholders selected while restoring documents are materialized
+         // once restoration completes
+         activeEditor_ = restoringDocuments_
+               ? editors_.get(event.getSelectedItem())
+               : replacePlaceholder(event.getSelectedItem());
          activeEditor_.onActivate();
          
          // let any listeners know this tab was activated
@@ -4461,13 +4639,25 @@ public class Source implements InsertSourceHandler,
             suspendSourceNavigationAdding_ = true;
             try
             {
-               view_.selectTab(target.asWidget());
-               target.restorePosition(navigation.getPosition());
+               view_.selectTab(getTabWidget(target));
             }
             finally
             {
                suspendSourceNavigationAdding_ = false;
             }
+            
+            materialize(editors_.indexOf(target), (editor) ->
+            {
+               suspendSourceNavigationAdding_ = true;
+               try
+               {
+                  editor.restorePosition(navigation.getPosition());
+               }
+               finally
+               {
+                  suspendSourceNavigationAdding_ = false;
+               }
+            });
          }
       }
       
@@ -4893,7 +5083,7 @@ public class Source implements InsertSourceHandler,
             {
               if (JsArrayUtil.jsArrayStringContains(ids, target.getId()))
               {
-                 view_.closeTab(target.asWidget(), false /* non interactive */);
+                 view_.closeTab(getTabWidget(target), false /* non interactive */);
               }
             }
          }
@@ -4942,7 +5132,7 @@ public class Source implements InsertSourceHandler,
          String editorPath = editors_.get(i).getPath();
          if (editorPath != null && editorPath.equals(path))
          {
-            onEditorLocated.execute(editors_.get(i));
+            materialize(i, (editor) -> onEditorLocated.execute(editor));
             break;
          }
       }
@@ -4956,7 +5146,7 @@ public class Source implements InsertSourceHandler,
          String editorId = editors_.get(i).getId();
          if (editorId != null && editorId.equals(id))
          {
-            onEditorLocated.execute(editors_.get(i));
+            materialize(i, (editor) -> onEditorLocated.execute(editor));
             break;
          }
       }
@@ -5119,6 +5309,9 @@ public class Source implements InsertSourceHandler,
    final Queue<StatFileEntry> statQueue_ = new LinkedList<StatFileEntry>();
    final Queue<OpenFileEntry> openFileQueue_ = new LinkedList<OpenFileEntry>();
    ArrayList<EditingTarget> editors_ = new ArrayList<EditingTarget>();
+   // tab widgets of editors which replaced placeholders
+   private final HashMap<EditingTarget, Widget> hostWidgets_ =
+         new HashMap<EditingTarget, Widget>();
    ArrayList<Integer> tabOrder_ = new ArrayList<Integer>();
    private EditingTarget activeEditor_;
    private final Commands commands_;
@@ -5148,6 +5341,7 @@ public class Source implements InsertSourceHandler,
 
    private boolean suspendSourceNavigationAdding_;
    private boolean suspendDocumentClose_ = false;
+   private boolean restoringDocuments_ = false;
   
    private static final String MODULE_SOURCE = "source-pane";
    private static final String KEY_ACTIVETAB = "activeTab";
@@ -66,7 +66,12 @@ public interface EditingTargetSource
          else if (type instanceof CodeBrowserType)
             return pCodeBrowserEditingTarget_.get();
          else if (type instanceof ProfilerType)
+         {
+            // not loaded on demand (unlike e.g. the publishing UI): editing
+            // targets are created synchronously, and the profile itself is
+            // shown in a frame, so little would be split out
             return pProfilerEditingTarget_.get();
+         }
          else if (type instanceof ObjectExplorerFileType)
             return pObjectExplorerEditingTarget_.get();
          else
@@ -0,0 +1,500 @@
+/*
+ * PlaceholderEditingTarget.java
+ *
+ * Copyright (C) 2020 by RStudio, PBC
+ *
+ * Unless you have received this program directly from RStudio pursuant
+ * to the terms of a commercial license agreement with RStudio, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.workbench.views.source.editors;
+
+import com.google.gwt.event.logical.shared.CloseHandler;
+import com.google.gwt.event.shared.GwtEvent;
+import com.google.gwt.event.shared.HandlerRegistration;
+import com.google.gwt.user.client.Command;
+import com.google.gwt.user.client.ui.HasValue;
+import com.google.gwt.user.client.ui.SimpleLayoutPanel;
+import com.google.gwt.user.client.ui.Widget;
+import com.google.inject.Provider;
+
+import org.rstudio.core.client.CommandWithArg;
+import org.rstudio.core.client.StringUtil;
+import org.rstudio.core.client.command.AppCommand;
+import org.rstudio.core.client.events.EnsureHeightHandler;
+import org.rstudio.core.client.events.EnsureVisibleHandler;
+import org.rstudio.core.client.files.FileSystemContext;
+import org.rstudio.core.client.files.FileSystemItem;
+import org.rstudio.studio.client.application.ui.CommandPaletteEntry;
+import org.rstudio.studio.client.common.ReadOnlyValue;
+import org.rstudio.studio.client.common.Value;
+import org.rstudio.studio.client.common.filetypes.FileIcon;
+import org.rstudio.studio.client.common.filetypes.FileType;
+import org.rstudio.studio.client.common.filetypes.TextFileType;
+import org.rstudio.studio.client.workbench.views.source.editors.text.ace.Position;
+import org.rstudio.studio.client.workbench.views.source.events.CollabEditStartParams;
+import org.rstudio.studio.client.workbench.views.source.model.SourceDocument;
+import org.rstudio.studio.client.workbench.views.source.model.SourcePosition;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Stands in for the editing target of a restored document until its tab is
+ * first used. It knows only what the tab strip needs (name, icon, path and
+ * dirty state); the source pane replaces it with the real editing target,
+ * hosted in this placeholder's widget, when the document is activated or
+ * otherwise needs an editor.
+ *
+ * Only clean, file-backed text documents are restored as placeholders, so
+ * there is never anything to save or revert here. The contents of large
+ * documents may be left out of the session info; those are fetched before
+ * the placeholder is replaced.
+ */
+public class PlaceholderEditingTarget implements EditingTarget
+{
+   public PlaceholderEditingTarget(SourceDocument document, TextFileType type)
+   {
+      doc_ = document;
+      fileType_ = type;
+      extendedType_ = document.getExtendedType();
+      name_.setValue(FileSystemItem.getNameFromPath(document.getPath()), false);
+   }
+
+   /**
+    * @return Whether the given document can be restored as a placeholder
+    */
+   public static boolean canDefer(SourceDocument document, FileType type)
+   {
+      return type instanceof TextFileType &&
+             document.getPath() != null &&
+             !document.isDirty() &&
+             !document.isReadOnly() &&
+             document.getCollabParams() == null;
+   }
+
+   public SourceDocument getDocument()
+   {
+      return doc_;
+   }
+
+   /**
+    * @return Whether the document's contents must be fetched before a real
+    *    editing target can be created
+    */
+   public boolean needsContents()
+   {
+      return doc_.isContentsDeferred();
+   }
+
+   /**
+    * Supplies the complete document (including its contents).
+    */
+   public void setDocument(SourceDocument document)
+   {
+      doc_ = document;
+   }
+
+   public boolean isLoadingContents()
+   {
+      return loadingContents_;
+   }
+
+   public void setLoadingContents(boolean loading)
+   {
+      loadingContents_ = loading;
+   }
+
+   /**
+    * Queues a command to run with the real editing target once it has
+    * replaced this placeholder (i.e. once the contents have been fetched).
+    */
+   public void addMaterializedCommand(CommandWithArg<EditingTarget> command)
+   {
+      materializedCommands_.add(command);
+   }
+
+   /**
+    * @return The queued commands, which are removed from the queue
+    */
+   public List<CommandWithArg<EditingTarget>> takeMaterializedCommands()
+   {
+      List<CommandWithArg<EditingTarget>> commands = materializedCommands_;
+      materializedCommands_ = new ArrayList<CommandWithArg<EditingTarget>>();
+      return commands;
+   }
+
+   /**
+    * @return The extended type reported for the document since it was
+    *    restored, if it differs from the one it was restored with
+    */
+   public String getChangedExtendedType()
+   {
+      if (StringUtil.equals(extendedType_, doc_.getExtendedType()))
+         return null;
+      return extendedType_;
+   }
+
+   /**
+    * Shows the real editing target's widget in this placeholder's tab.
+    */
+   public void host(Widget widget)
+   {
+      panel_.setWidget(widget);
+   }
+
+   public boolean wasInitiallyLoaded()
+   {
+      return initiallyLoaded_;
+   }
+
+   @Override
+   public String getId()
+   {
+      return doc_.getId();
+   }
+
+   @Override
+   public HasValue<String> getName()
+   {
+      return name_;
+   }
+
+   @Override
+   public String getTitle()
+   {
+      return name_.getValue();
+   }
+
+   @Override
+   public String getPath()
+   {
+      return doc_.getPath();
+   }
+
+   @Override
+   public String getContext()
+   {
+      return null;
+   }
+
+   @Override
+   public FileIcon getIcon()
+   {
+      return fileType_.getDefaultFileIcon();
+   }
+
+   @Override
+   public String getTabTooltip()
+   {
+      return getPath();
+   }
+
+   @Override
+   public FileType getFileType()
+   {
+      return fileType_;
+   }
+
+   @Override
+   public TextFileType getTextFileType()
+   {
+      return fileType_;
+   }
+
+   @Override
+   public void adaptToExtendedFileType(String extendedType)
+   {
+      extendedType_ = extendedType;
+   }
+
+   @Override
+   public String getExtendedFileType()
+   {
+      return extendedType_;
+   }
+
+   @Override
+   public HashSet<AppCommand> getSupportedCommands()
+   {
+      return new HashSet<AppCommand>();
+   }
+
+   @Override
+   public void manageCommands()
+   {
+   }
+
+   @Override
+   public boolean canCompilePdf()
+   {
+      return false;
+   }
+
+   @Override
+   public void verifyCppPrerequisites()
+   {
+   }
+
+   @Override
+   public void verifyPythonPrerequisites()
+   {
+   }
+
+   @Override
+   public void verifyD3Prerequisites()
+   {
+   }
+
+   @Override
+   public void verifyNewSqlPrerequisites()
+   {
+   }
+
+   @Override
+   public void focus()
+   {
+   }
+
+   @Override
+   public void onActivate()
+   {
+   }
+
+   @Override
+   public void onDeactivate()
+   {
+   }
+
+   @Override
+   public void onInitiallyLoaded()
+   {
+      initiallyLoaded_ = true;
+   }
+
+   @Override
+   public List<CommandPaletteEntry> getCommandPaletteEntries()
+   {
+      return null;
+   }
+
+   @Override
+   public void recordCurrentNavigationPosition()
+   {
+   }
+
+   @Override
+   public void navigateToPosition(SourcePosition position,
+                                  boolean recordCurrent)
+   {
+   }
+
+   @Override
+   public void navigateToPosition(SourcePosition position,
+                                  boolean recordCurrent,
+                                  boolean highlightLine)
+   {
+   }
+
+   @Override
+   public void restorePosition(SourcePosition position)
+   {
+   }
+
+   @Override
+   public SourcePosition currentPosition()
+   {
+      return null;
+   }
+
+   @Override
+   public boolean isAtSourceRow(SourcePosition position)
+   {
+      return false;
+   }
+
+   @Override
+   public void forceLineHighlighting()
+   {
+   }
+
+   @Override
+   public void setSourceOnSave(boolean sourceOnSave)
+   {
+   }
+
+   @Override
+   public void setCursorPosition(Position position)
+   {
+   }
+
+   @Override
+   public void ensureCursorVisible()
+   {
+   }
+
+   @Override
+   public Position search(String regex)
+   {
+      return null;
+   }
+
+   @Override
+   public Position search(Position startPos, String regex)
+   {
+      return null;
+   }
+
+   @Override
+   public void highlightDebugLocation(SourcePosition startPos,
+                                      SourcePosition endPos,
+                                      boolean executing)
+   {
+   }
+
+   @Override
+   public void endDebugHighlighting()
+   {
+   }
+
+   @Override
+   public void beginCollabSession(CollabEditStartParams params)
+   {
+   }
+
+   @Override
+   public void endCollabSession()
+   {
+   }
+
+   @Override
+   public boolean onBeforeDismiss()
+   {
+      return true;
+   }
+
+   @Override
+   public void onDismiss(int dismissType)
+   {
+   }
+
+   @Override
+   public ReadOnlyValue<Boolean> dirtyState()
+   {
+      return dirtyState_;
+   }
+
+   @Override
+   public boolean isSaveCommandActive()
+   {
+      return false;
+   }
+
+   @Override
+   public void forceSaveCommandActive()
+   {
+   }
+
+   @Override
+   public void save(Command onCompleted)
+   {
+      onCompleted.execute();
+   }
+
+   @Override
+   public void saveWithPrompt(Command onCompleted, Command onCancelled)
+   {
+      onCompleted.execute();
+   }
+
+   @Override
+   public void revertChanges(Command onCompleted)
+   {
+      onCompleted.execute();
+   }
+
+   @Override
+   public void initialize(SourceDocument document,
+                          FileSystemContext fileContext,
+                          FileType type,
+                          Provider<String> defaultNameProvider)
+   {
+      assert false : "Placeholders are constructed from their document";
+   }
+
+   @Override
+   public long getFileSizeLimit()
+   {
+      return Long.MAX_VALUE;
+   }
+
+   @Override
+   public long getLargeFileSize()
+   {
+      return Long.MAX_VALUE;
+   }
+
+   @Override
+   public String getDefaultNamePrefix()
+   {
+      return null;
+   }
+
+   @Override
+   public String getCurrentStatus()
+   {
+      return "Loading " + getTitle();
+   }
+
+   @Override
+   public Widget asWidget()
+   {
+      return panel_;
+   }
+
+   @Override
+   public HandlerRegistration addEnsureVisibleHandler(EnsureVisibleHandler handler)
+   {
+      return new HandlerRegistration()
+      {
+         public void removeHandler()
+         {
+         }
+      };
+   }
+
+   @Override
+   public HandlerRegistration addEnsureHeightHandler(EnsureHeightHandler handler)
+   {
+      return addEnsureVisibleHandler(null);
+   }
+
+   @Override
+   public HandlerRegistration addCloseHandler(CloseHandler<Void> handler)
+   {
+      return addEnsureVisibleHandler(null);
+   }
+
+   @Override
+   public void fireEvent(GwtEvent<?> event)
+   {
+      assert false : "Not implemented";
+   }
+
+   private SourceDocument doc_;
+   private final TextFileType fileType_;
+   private final SimpleLayoutPanel panel_ = new SimpleLayoutPanel();
+   private final Value<String> name_ = new Value<String>(null);
+   private final Value<Boolean> dirtyState_ = new Value<Boolean>(false);
+   private String extendedType_;
+   private boolean initiallyLoaded_ = false;
+   private boolean loadingContents_ = false;
+   private List<CommandWithArg<EditingTarget>> materializedCommands_ =
+         new ArrayList<CommandWithArg<EditingTarget>>();
+}
@@ -17,6 +17,7 @@ package org.rstudio.studio.client.workbench.views.source.editors.explorer;
 import org.rstudio.studio.client.server.ServerRequestCallback;
 import org.rstudio.studio.client.server.Void;
 import org.rstudio.studio.client.workbench.views.source.editors.explorer.model.ObjectExplorerInspectionResult;
+import org.rstudio.studio.client.workbench.views.source.editors.explorer.model.ObjectExplorerSearchResult;
 
 import com.google.gwt.core.client.JsArrayString;
 
@@ -29,6 +30,7 @@ public interface ObjectExplorerServerOperations
          String objectAccess,
          JsArrayString tags,
          int fromIndex,
+         int count,
          ServerRequestCallback<ObjectExplorerInspectionResult> requestCallback);
    
    void explorerBeginInspect(
@@ -36,6 +38,12 @@ public interface ObjectExplorerServerOperations
          String objectName,
          ServerRequestCallback<ObjectExplorerInspectionResult> requestCallback);
    
+   void explorerSearchObject(
+         String handleId,
+         String filter,
+         int limit,
+         ServerRequestCallback<ObjectExplorerSearchResult> requestCallback);
+   
    void explorerEndInspect(
          String handleId,
          ServerRequestCallback<Void> requestCallback);
@@ -0,0 +1,35 @@
+/*
+ * ObjectExplorerSearchResult.java
+ *
+ * Copyright (C) 2020 by RStudio, PBC
+ *
+ * Unless you have received this program directly from RStudio pursuant
+ * to the terms of a commercial license agreement with RStudio, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.workbench.views.source.editors.explorer.model;
+
+import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.core.client.JsArray;
+import com.google.gwt.core.client.JsArrayInteger;
+
+// NOTE: synchronize the structure of this object with the
+// R object returned by 'explorer.searchObject'
+// defined in 'SessionObjectExplorer.R'
+public class ObjectExplorerSearchResult extends JavaScriptObject
+{
+   protected ObjectExplorerSearchResult()
+   {
+   }
+   
+   // each path gives the (0-based) index of the child at each level
+   public final native JsArray<JsArrayInteger> getPaths() /*-{ return this["paths"] || []; }-*/;
+   
+   // false if the search stopped before the whole object was searched
+   public final native boolean isComplete() /*-{ return !!this["complete"]; }-*/;
+}
@@ -17,6 +17,7 @@ package org.rstudio.studio.client.workbench.views.source.editors.explorer.view;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.rstudio.core.client.CommandWithArg;
 import org.rstudio.core.client.Debug;
 import org.rstudio.core.client.JsVectorString;
 import org.rstudio.core.client.ListUtil;
@@ -71,12 +72,14 @@ import org.rstudio.studio.client.workbench.views.source.editors.explorer.ObjectE
 
 import org.rstudio.studio.client.workbench.views.source.editors.explorer.model.ObjectExplorerHandle;
 import org.rstudio.studio.client.workbench.views.source.editors.explorer.model.ObjectExplorerInspectionResult;
+import org.rstudio.studio.client.workbench.views.source.editors.explorer.model.ObjectExplorerSearchResult;
 import org.rstudio.studio.client.workbench.views.source.editors.explorer.view.ObjectExplorerDataGrid.Data.ExpansionState;
 import org.rstudio.studio.client.workbench.views.source.model.SourceDocument;
 
 import com.google.gwt.cell.client.AbstractCell;
 import com.google.gwt.core.client.GWT;
 import com.google.gwt.core.client.JsArray;
+import com.google.gwt.core.client.JsArrayInteger;
 import com.google.gwt.core.client.JsArrayString;
 import com.google.gwt.core.client.Scheduler;
 import com.google.gwt.core.client.Scheduler.ScheduledCommand;
@@ -100,6 +103,7 @@ import com.google.gwt.user.cellview.client.RowHoverEvent;
 import com.google.gwt.user.cellview.client.TextHeader;
 import com.google.gwt.user.client.Command;
 import com.google.gwt.user.client.Event;
+import com.google.gwt.user.client.Timer;
 import com.google.gwt.view.client.CellPreviewEvent;
 import com.google.gwt.view.client.ListDataProvider;
 import com.google.inject.Inject;
@@ -135,6 +139,36 @@ public class ObjectExplorerDataGrid
          return !!this["placeholder"];
       }-*/;
       
+      // A placeholder for the children with indices from start (inclusive)
+      // to end (exclusive) which haven't been loaded, although children
+      // after them have (e.g. to reveal a search match).
+      public static final native Data createGapPlaceholder(Data parent,
+                                                           int start,
+                                                           int end)
+      /*-{
+         return {
+            "parent": parent,
+            "placeholder": true,
+            "gap_start": start,
+            "gap_end": end
+         };
+      }-*/;
+      
+      public final native boolean isGapPlaceholder()
+      /*-{
+         return typeof this["gap_start"] === "number";
+      }-*/;
+      
+      public final native int getGapStart()
+      /*-{
+         return this["gap_start"];
+      }-*/;
+      
+      public final native int getGapEnd()
+      /*-{
+         return this["gap_end"];
+      }-*/;
+      
       public final boolean isAttributes()
       {
          return hasTag(TAG_ATTRIBUTES);
@@ -240,6 +274,39 @@ public class ObjectExplorerDataGrid
          return this["children"] || null;
       }-*/;
       
+      public final native void setMoreAvailable(boolean more)
+      /*-{
+         this["more"] = more;
+      }-*/;
+      
+      // Drops this node's loaded children and attributes, so that they
+      // will be requested again if the node is reopened.
+      public final native void clearChildrenData()
+      /*-{
+         delete this["children"];
+         delete this["attributes"];
+         delete this["maxChildRowsShown"];
+      }-*/;
+      
+      // The number of loaded descendants of this node, counting
+      // no further than the given limit.
+      public final native int countLoadedDescendants(int limit)
+      /*-{
+         var count = 0;
+         var stack = [this];
+         while (stack.length > 0 && count < limit)
+         {
+            var node = stack.pop();
+            var children = node["children"] || [];
+            count += children.length;
+            for (var i = 0, n = children.length; i < n; i++)
+               stack.push(children[i]);
+            if (node["attributes"])
+               stack.push(node["attributes"]);
+         }
+         return count;
+      }-*/;
+      
       public final native void addChildrenData(JsArray<Data> data)
       /*-{
          var children = this["children"] || [];
@@ -248,6 +315,70 @@ public class ObjectExplorerDataGrid
          this["children"] = children;
       }-*/;
       
+      // Adds the children with indices from start, after those already
+      // loaded; a gap placeholder stands for any children in between.
+      public final native void addChildrenData(JsArray<Data> data, int start)
+      /*-{
+         var children = this["children"] || [];
+         var end = this.@org.rstudio.studio.client.workbench.views.source.editors.explorer.view.ObjectExplorerDataGrid.Data::getChildIndexEnd()();
+         if (start > end)
+            children.push(@org.rstudio.studio.client.workbench.views.source.editors.explorer.view.ObjectExplorerDataGrid.Data::createGapPlaceholder(*)(this, end, start));
+         for (var i = 0, n = data.length; i < n; i++)
+            children.push(data[i]);
+         this["children"] = children;
+      }-*/;
+      
+      // Replaces part of the gap placeholder at the given position with the
+      // children with indices from start; gap placeholders stand for any
+      // children in the gap still not loaded.
+      public final native void fillGap(int position, int start, JsArray<Data> data)
+      /*-{
+         var children = this["children"];
+         var gap = children[position];
+         var end = Math.min(start + data.length, gap["gap_end"]);
+         
+         var replacement = [];
+         if (start > gap["gap_start"])
+            replacement.push(@org.rstudio.studio.client.workbench.views.source.editors.explorer.view.ObjectExplorerDataGrid.Data::createGapPlaceholder(*)(this, gap["gap_start"], start));
+         for (var i = 0; i < end - start; i++)
+            replacement.push(data[i]);
+         if (end < gap["gap_end"])
+            replacement.push(@org.rstudio.studio.client.workbench.views.source.editors.explorer.view.ObjectExplorerDataGrid.Data::createGapPlaceholder(*)(this, end, gap["gap_end"]));
+         
+         Array.prototype.splice.apply(children, [position, 1].concat(replacement));
+      }-*/;
+      
+      // The index after that of the last loaded child (children in gaps
+      // count towards the index).
+      public final native int getChildIndexEnd()
+      /*-{
+         var children = this["children"] || [];
+         var end = 0;
+         for (var i = 0, n = children.length; i < n; i++)
+         {
+            var child = children[i];
+            end = typeof child["gap_start"] === "number" ? child["gap_end"] : end + 1;
+         }
+         return end;
+      }-*/;
+      
+      // The position (in the children array) of the child with the given
+      // index, or of the gap placeholder which contains it; -1 if the index
+      // is after that of the last loaded child.
+      public final native int findChild(int index)
+      /*-{
+         var children = this["children"] || [];
+         var end = 0;
+         for (var i = 0, n = children.length; i < n; i++)
+         {
+            var child = children[i];
+            end = typeof child["gap_start"] === "number" ? child["gap_end"] : end + 1;
+            if (index < end)
+               return i;
+         }
+         return -1;
+      }-*/;
+      
       // Return the node's depth, or the number of parents.
       public final int getDepth()
       {
@@ -627,6 +758,9 @@ public class ObjectExplorerDataGrid
    {
       filter_ = filter;
       synchronize();
+      
+      // ask the server to find matches which haven't been loaded yet
+      searchTimer_.schedule(SEARCH_DELAY_MS);
    }
    
    public HandlerRegistration addSelectionChangedHandler(SelectionChangedHandler handler)
@@ -1003,15 +1137,7 @@ public class ObjectExplorerDataGrid
          @Override
          public void execute()
          {
-            // set all direct children as visible
-            JsArray<Data> children = data.getChildrenData();
-            for (int i = 0, n = children.length(); i < n; i++)
-               children.get(i).setVisible(true);
-            
-            // set attributes as visible if available
-            Data attributes = data.getObjectAttributes().<Data>cast();
-            if (attributes != null)
-               attributes.setVisible(true);
+            showChildren(data);
             
             // force update of data grid
             synchronize();
@@ -1020,6 +1146,19 @@ public class ObjectExplorerDataGrid
       });
    }
    
+   private void showChildren(Data data)
+   {
+      // set all direct children as visible
+      JsArray<Data> children = data.getChildrenData();
+      for (int i = 0, n = children.length(); i < n; i++)
+         children.get(i).setVisible(true);
+      
+      // set attributes as visible if available
+      Data attributes = data.getObjectAttributes().<Data>cast();
+      if (attributes != null)
+         attributes.setVisible(true);
+   }
+   
    private void closeRow(int row)
    {
       final Data data = getData().get(row);
@@ -1047,6 +1186,14 @@ public class ObjectExplorerDataGrid
             if (attributes != null)
                attributes.setVisible(false);
             
+            // free large collapsed subtrees; they'll be requested
+            // from the server again if the row is reopened
+            if (data != root_ &&
+                data.countLoadedDescendants(EVICTION_THRESHOLD) >= EVICTION_THRESHOLD)
+            {
+               data.clearChildrenData();
+            }
+            
             // force update of data grid
             synchronize();
             setFocusDeferred(true);
@@ -1094,6 +1241,12 @@ public class ObjectExplorerDataGrid
       // select the previous row (so that we don't end up scrolling all over the place)
       selectRowRelative(row);
       
+      if (data.isGapPlaceholder())
+      {
+         retrieveGap(parent, data);
+         return;
+      }
+      
       // update the limit on the number of children we're showing
       parent.setMaximumChildRowsShown(parent.getMaximumChildRowsShown() + DEFAULT_ROW_LIMIT);
       
@@ -1110,6 +1263,14 @@ public class ObjectExplorerDataGrid
    private void withChildren(final Data data,
                              final boolean forceRequest,
                              final Command command)
+   {
+      withChildren(data, forceRequest, DEFAULT_ROW_LIMIT, command);
+   }
+   
+   private void withChildren(final Data data,
+                             final boolean forceRequest,
+                             final int count,
+                             final Command command)
    {
       // if we already have children, exit early
       JsArray<Data> children = data.getChildrenData();
@@ -1121,6 +1282,62 @@ public class ObjectExplorerDataGrid
       }
       
       // no children; make a server RPC request and then call back
+      inspectChildren(data, data.getChildIndexEnd(), count,
+            new CommandWithArg<ObjectExplorerInspectionResult>()
+      {
+         @Override
+         public void execute(ObjectExplorerInspectionResult result)
+         {
+            data.addChildrenData(result.getChildren().<JsArray<Data>>cast());
+            data.setMoreAvailable(result.isMoreAvailable());
+            
+            // set parent ownership for attributes
+            Data attributes = result.getObjectAttributes().<Data>cast();
+            if (attributes != null)
+            {
+               data.setObjectAttributes(attributes);
+               attributes.setParentData(data);
+            }
+            
+            // execute command
+            if (command != null)
+               command.execute();
+         }
+      });
+   }
+   
+   // Loads the first page of the children in a gap.
+   private void retrieveGap(final Data parent, final Data gap)
+   {
+      final int start = gap.getGapStart();
+      int count = Math.min(gap.getGapEnd() - start, DEFAULT_ROW_LIMIT);
+      inspectChildren(parent, start, count,
+            new CommandWithArg<ObjectExplorerInspectionResult>()
+      {
+         @Override
+         public void execute(ObjectExplorerInspectionResult result)
+         {
+            // ignore if the gap was filled while we were waiting
+            int position = parent.findChild(start);
+            if (position < 0 || parent.getChildrenData().get(position) != gap)
+               return;
+            
+            // keep showing the children after the gap
+            JsArray<Data> children = result.getChildren().cast();
+            parent.fillGap(position, start, children);
+            parent.setMaximumChildRowsShown(
+                  parent.getMaximumChildRowsShown() + children.length());
+            synchronize();
+         }
+      });
+   }
+   
+   // Requests the children of the given node with indices from start.
+   private void inspectChildren(final Data data,
+                                final int start,
+                                final int count,
+                                final CommandWithArg<ObjectExplorerInspectionResult> onInspected)
+   {
       String extractingCode = generateExtractingCode(data, "`__OBJECT__`");
       server_.explorerInspectObject(
             handle_.getId(),
@@ -1128,7 +1345,8 @@ public class ObjectExplorerDataGrid
             data.getDisplayName(),
             data.getObjectAccess(),
             data.getTags().<JsArrayString>cast(),
-            data.getNumChildren(),
+            start,
+            count,
             new ServerRequestCallback<ObjectExplorerInspectionResult>()
             {
                @Override
@@ -1136,21 +1354,38 @@ public class ObjectExplorerDataGrid
                {
                   // set parent ownership for children
                   JsArray<Data> children = result.getChildren().cast();
-                  data.addChildrenData(children);
                   for (int i = 0, n = children.length(); i < n; i++)
                      children.get(i).setParentData(data);
                   
-                  // set parent ownership for attributes
-                  Data attributes = result.getObjectAttributes().<Data>cast();
-                  if (attributes != null)
-                  {
-                     data.setObjectAttributes(attributes);
-                     attributes.setParentData(data);
-                  }
-                  
-                  // execute command
-                  if (command != null)
-                     command.execute();
+                  onInspected.execute(result);
+               }
+               
+               @Override
+               public void onError(ServerError error)
+               {
+                  Debug.logError(error);
+               }
+            });
+   }
+   
+   private void search()
+   {
+      final String filter = StringUtil.notNull(filter_).trim();
+      final int searchId = ++searchId_;
+      if (filter.isEmpty() || root_ == null)
+         return;
+      
+      server_.explorerSearchObject(
+            handle_.getId(),
+            filter,
+            MAX_SEARCH_RESULTS,
+            new ServerRequestCallback<ObjectExplorerSearchResult>()
+            {
+               @Override
+               public void onResponseReceived(ObjectExplorerSearchResult result)
+               {
+                  if (searchId == searchId_)
+                     revealPaths(result.getPaths(), 0, searchId);
                }
                
                @Override
@@ -1161,6 +1396,140 @@ public class ObjectExplorerDataGrid
             });
    }
    
+   // Loads (and opens) the nodes leading to each of the given paths in
+   // turn, so that the matches they lead to can be shown.
+   private void revealPaths(final JsArray<JsArrayInteger> paths,
+                            final int index,
+                            final int searchId)
+   {
+      if (searchId != searchId_)
+         return;
+      
+      if (index >= paths.length())
+      {
+         synchronize();
+         return;
+      }
+      
+      revealPath(root_, paths.get(index), 0, new Command()
+      {
+         @Override
+         public void execute()
+         {
+            revealPaths(paths, index + 1, searchId);
+         }
+      });
+   }
+   
+   private void revealPath(final Data node,
+                           final JsArrayInteger path,
+                           final int depth,
+                           final Command onRevealed)
+   {
+      // the last element of the path is the match itself, which
+      // needs to be loaded but not opened
+      if (depth >= path.length())
+      {
+         onRevealed.execute();
+         return;
+      }
+      
+      final int childIndex = path.get(depth);
+      JsArray<Data> children = node.getChildrenData();
+      int position = node.findChild(childIndex);
+      if (position < 0 || children.get(position).isGapPlaceholder())
+      {
+         // the object may have changed since it was searched
+         if (position < 0 && children != null && !node.isMoreAvailable())
+         {
+            onRevealed.execute();
+            return;
+         }
+         
+         // request a page of children around the one we need, rather than
+         // all of those before it; a gap placeholder stands for those not
+         // loaded, which are loaded a page at a time on request
+         final Data gap = position < 0 ? null : children.get(position);
+         final int end = node.getChildIndexEnd();
+         int windowStart = Math.max(childIndex - DEFAULT_ROW_LIMIT / 2,
+               gap == null ? end : gap.getGapStart());
+         int count = gap == null ?
+               DEFAULT_ROW_LIMIT :
+               Math.min(DEFAULT_ROW_LIMIT, gap.getGapEnd() - windowStart);
+         
+         final int start = windowStart;
+         inspectChildren(node, start, count,
+               new CommandWithArg<ObjectExplorerInspectionResult>()
+         {
+            @Override
+            public void execute(ObjectExplorerInspectionResult result)
+            {
+               // the object may have changed since it was searched
+               JsArray<Data> loaded = result.getChildren().cast();
+               if (loaded.length() == 0)
+               {
+                  onRevealed.execute();
+                  return;
+               }
+               
+               if (gap == null)
+               {
+                  // skip the match if children were added while we were
+                  // waiting
+                  if (node.getChildIndexEnd() != end)
+                  {
+                     onRevealed.execute();
+                     return;
+                  }
+                  node.addChildrenData(loaded, start);
+                  node.setMoreAvailable(result.isMoreAvailable());
+               }
+               else
+               {
+                  int gapPosition = node.findChild(start);
+                  if (gapPosition < 0 ||
+                      node.getChildrenData().get(gapPosition) != gap)
+                  {
+                     onRevealed.execute();
+                     return;
+                  }
+                  node.fillGap(gapPosition, start, loaded);
+               }
+               
+               // set parent ownership for attributes
+               Data attributes = result.getObjectAttributes().<Data>cast();
+               if (attributes != null && node.getObjectAttributes() == null)
+               {
+                  node.setObjectAttributes(attributes);
+                  attributes.setParentData(node);
+               }
+               
+               int loadedPosition = node.findChild(childIndex);
+               if (loadedPosition < 0 ||
+                   node.getChildrenData().get(loadedPosition).isGapPlaceholder())
+                  onRevealed.execute();
+               else
+                  revealPath(node, path, depth, onRevealed);
+            }
+         });
+         return;
+      }
+      
+      // open this node, and show enough children to include the one we need
+      node.setExpansionState(ExpansionState.OPEN);
+      showChildren(node);
+      if (position >= node.getMaximumChildRowsShown())
+      {
+         int limit = ((position / DEFAULT_ROW_LIMIT) + 1) * DEFAULT_ROW_LIMIT;
+         node.setMaximumChildRowsShown(limit);
+      }
+      
+      if (depth == path.length() - 1)
+         onRevealed.execute();
+      else
+         revealPath(children.get(position), path, depth + 1, onRevealed);
+   }
+   
    private void initializeColumnWidths()
    {
       setColumnWidth(nameColumn_, DEFAULT_NAME_COLUMN_WIDTH + "px");
@@ -1220,6 +1589,10 @@ public class ObjectExplorerDataGrid
          @Override
          public boolean accept(Data data)
          {
+            // gaps in partially loaded children have no fields to match
+            if (data.isMorePlaceholder())
+               return data.isVisible();
+            
             // detect if this matches the current filter
             if (!filter.isEmpty())
             { 
@@ -1378,6 +1751,16 @@ public class ObjectExplorerDataGrid
    private TableRowElement hoveredRow_;
    private boolean showAttributes_;
    private String filter_;
+   private int searchId_ = 0;
+   
+   private final Timer searchTimer_ = new Timer()
+   {
+      @Override
+      public void run()
+      {
+         search();
+      }
+   };
    private boolean didReceiveNonRepeatingKeyDownEvent_ = false;
    
    // Injected ----
@@ -1392,6 +1775,13 @@ public class ObjectExplorerDataGrid
    // SessionObjectExplorer.R
    private static final int DEFAULT_ROW_LIMIT = 1000;
    
+   // collapsed rows with at least this many loaded descendants are
+   // evicted from the client
+   private static final int EVICTION_THRESHOLD = 5 * DEFAULT_ROW_LIMIT;
+   
+   private static final int MAX_SEARCH_RESULTS = 100;
+   private static final int SEARCH_DELAY_MS = 300;
+   
    private static final String ACTION_OPEN    = "open";
    private static final String ACTION_CLOSE   = "close";
    private static final String ACTION_EXTRACT = "extract";
@@ -15,6 +15,7 @@
 package org.rstudio.studio.client.workbench.views.source.editors.text;
 
 import com.google.gwt.animation.client.AnimationScheduler;
+import com.google.gwt.core.client.Duration;
 import com.google.gwt.core.client.JavaScriptObject;
 import com.google.gwt.core.client.JsArray;
 import com.google.gwt.core.client.JsArrayString;
@@ -133,6 +134,7 @@ import org.rstudio.studio.client.workbench.views.source.editors.text.ace.Selecti
 import org.rstudio.studio.client.workbench.views.source.editors.text.ace.Token;
 import org.rstudio.studio.client.workbench.views.source.editors.text.ace.TokenCursor;
 import org.rstudio.studio.client.workbench.views.source.editors.text.ace.TokenIterator;
+import org.rstudio.studio.client.workbench.views.source.editors.text.ace.TokenSnapshot;
 import org.rstudio.studio.client.workbench.views.source.editors.text.ace.spelling.CharClassifier;
 import org.rstudio.studio.client.workbench.views.source.editors.text.ace.spelling.TokenPredicate;
 import org.rstudio.studio.client.workbench.views.source.editors.text.ace.spelling.WordIterable;
@@ -334,6 +336,7 @@ public class AceEditor implements DocDisplay,
       RStudioGinjector.INSTANCE.injectMembers(this);
       
       backgroundTokenizer_ = new BackgroundTokenizer(this);
+      addDocumentChangedHandler(event -> tokenSnapshot_ = null);
       vim_ = new Vim(this);
       bgLinkHighlighter_ = new AceEditorBackgroundLinkHighlighter(this);
       bgChunkHighlighter_ = new AceBackgroundHighlighter(this);
@@ -2667,6 +2670,23 @@ public class AceEditor implements DocDisplay,
       return getSession().getMode().getRCodeModel().buildScopeTreeUpToRow(row);
    }
 
+   /**
+    * @return A snapshot of the code model's tokens on (at least) the given
+    *    rows; snapshots are shared until the document changes
+    */
+   public TokenSnapshot getTokenSnapshot(int startRow, int endRow)
+   {
+      CodeModel codeModel = getSession().getMode().getCodeModel();
+      if (tokenSnapshot_ == null ||
+          tokenSnapshotModel_ != codeModel ||
+          !tokenSnapshot_.covers(startRow, endRow))
+      {
+         tokenSnapshot_ = TokenSnapshot.create(codeModel, startRow, endRow);
+         tokenSnapshotModel_ = codeModel;
+      }
+      return tokenSnapshot_;
+   }
+
    public JsArray<Scope> getScopeTree()
    {
       if (hasCodeModelScopeTree())
@@ -3069,6 +3089,14 @@ public class AceEditor implements DocDisplay,
       return false;
    }
 
+   public void whenScopeTreeReady(int row, Command command)
+   {
+      if (hasCodeModelScopeTree())
+         backgroundTokenizer_.whenReady(row, command);
+      else if (scopes_ != null)
+         scopes_.whenReady(row, command);
+   }
+
    public HandlerRegistration addScopeTreeReadyHandler(ScopeTreeReadyEvent.Handler handler)
    {
       return handlers_.addHandler(ScopeTreeReadyEvent.TYPE, handler);
@@ -3797,6 +3825,12 @@ public class AceEditor implements DocDisplay,
       widget_.showLint(lint);
    }
 
+   @Override
+   public void showLint(JsArray<LintItem> lint, String layer)
+   {
+      widget_.showLint(lint, layer);
+   }
+
    @Override
    public void clearLint()
    {
@@ -3905,6 +3939,12 @@ public class AceEditor implements DocDisplay,
       return getSession().getTokens(row);
    }
    
+   @Override
+   public String getTokenizerStateKey(int row)
+   {
+      return getSession().getStateKey(row);
+   }
+   
    @Override
    public TokenIterator createTokenIterator()
    {
@@ -4153,6 +4193,9 @@ public class AceEditor implements DocDisplay,
       AceEditor.this.fireEvent(new LineWidgetsChangedEvent());
    }
    
+   // Builds the code model's scope tree in the background, in time slices
+   // short enough that building the tree for a large document never blocks
+   // typing or painting for long.
    private static class BackgroundTokenizer
    {
       public BackgroundTokenizer(final AceEditor editor)
@@ -4164,18 +4207,7 @@ public class AceEditor implements DocDisplay,
             @Override
             public void run()
             {
-               // Stop our timer if we've tokenized up to the end of the document.
-               if (row_ >= editor_.getRowCount())
-               {
-                  editor_.fireEvent(new ScopeTreeReadyEvent(
-                        editor_.getScopeTree(),
-                        editor_.getCurrentScope()));
-                  return;
-               }
-               
-               row_ += ROWS_TOKENIZED_PER_ITERATION;
-               row_ = Math.max(row_, editor.buildScopeTreeUpToRow(row_));
-               timer_.schedule(DELAY_MS);
+               work();
             }
          };
          
@@ -4194,13 +4226,52 @@ public class AceEditor implements DocDisplay,
          return row < row_;
       }
       
+      public void whenReady(int row, Command command)
+      {
+         if (isReady(row))
+         {
+            command.execute();
+            return;
+         }
+         
+         pending_.add(row, command);
+         if (!timer_.isRunning())
+            timer_.schedule(DELAY_MS);
+      }
+      
+      private void work()
+      {
+         Duration duration = new Duration();
+         while (row_ < editor_.getRowCount() &&
+                duration.elapsedMillis() < TIME_SLICE_MS)
+         {
+            row_ += ROWS_TOKENIZED_PER_ITERATION;
+            row_ = Math.max(row_, editor_.buildScopeTreeUpToRow(row_));
+         }
+         
+         pending_.execute(row_);
+         
+         // Stop our timer if we've tokenized up to the end of the document.
+         if (row_ >= editor_.getRowCount())
+         {
+            editor_.fireEvent(new ScopeTreeReadyEvent(
+                  editor_.getScopeTree(),
+                  editor_.getCurrentScope()));
+            return;
+         }
+         
+         timer_.schedule(DELAY_MS);
+      }
+      
       private final AceEditor editor_;
       private final Timer timer_;
+      private final PendingRowCommands pending_ = new PendingRowCommands();
       
       private int row_ = 0;
       
       private static final int DELAY_MS = 5;
-      private static final int ROWS_TOKENIZED_PER_ITERATION = 200;
+      private static final int TIME_SLICE_MS = 8;
+      private static final int ROWS_TOKENIZED_PER_ITERATION = 50;
    }
 
    private class ScrollAnimator 
@@ -4277,6 +4348,8 @@ public class AceEditor implements DocDisplay,
    private AceInfoBar infoBar_;
    private boolean showChunkOutputInline_ = false;
    private BackgroundTokenizer backgroundTokenizer_;
+   private TokenSnapshot tokenSnapshot_;
+   private CodeModel tokenSnapshotModel_;
    private final Vim vim_;
    private final AceBackgroundHighlighter bgChunkHighlighter_;
    private final AceEditorBackgroundLinkHighlighter bgLinkHighlighter_;
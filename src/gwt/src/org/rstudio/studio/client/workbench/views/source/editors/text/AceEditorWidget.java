@@ -15,6 +15,7 @@
 package org.rstudio.studio.client.workbench.views.source.editors.text;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 
 import com.google.gwt.core.client.JsArray;
@@ -1009,7 +1010,9 @@ public class AceEditorWidget extends Composite
    {
       public AnchoredAceAnnotation(AceAnnotation annotation,
                                    AnchoredRange range,
-                                   int markerId)
+                                   int markerId,
+                                   String layer,
+                                   String identity)
       {
          annotation_ = annotation;
          range_ = range;
@@ -1018,10 +1021,25 @@ public class AceEditorWidget extends Composite
                annotation.row(),
                annotation.column());
          markerId_ = markerId;
+         layer_ = layer;
+         identity_ = identity;
       }
       
       public int getMarkerId() { return markerId_; }
       
+      public String getLayer() { return layer_; }
+      
+      // identifies the lint at its current (anchored) position
+      public String getKey()
+      {
+         return lintKey(range_.getStart(), range_.getEnd(), identity_);
+      }
+      
+      public boolean hasMarker()
+      {
+         return editor_.getSession().getMarker(markerId_) != null;
+      }
+      
       public void detach()
       {
          if (range_ != null)
@@ -1046,6 +1064,19 @@ public class AceEditorWidget extends Composite
       private final AnchoredRange range_;
       private final Anchor anchor_;
       private final int markerId_;
+      private final String layer_;
+      private final String identity_;
+   }
+   
+   private static String lintIdentity(LintItem item)
+   {
+      return item.getType() + "\n" + item.getText();
+   }
+   
+   private static String lintKey(Position start, Position end, String identity)
+   {
+      return start.getRow() + ":" + start.getColumn() + ":" +
+             end.getRow() + ":" + end.getColumn() + ":" + identity;
    }
 
    public JsArray<AceAnnotation> getAnnotations()
@@ -1068,36 +1099,91 @@ public class AceEditorWidget extends Composite
    
    public void showLint(JsArray<LintItem> lint)
    {
-      clearAnnotations();
-      JsArray<AceAnnotation> annotations = LintItem.asAceAnnotations(lint);
-      editor_.getSession().setAnnotations(annotations);
+      showLint(lint, LintItem.LAYER_DIAGNOSTICS);
+   }
+   
+   // Replaces the lint shown in the given layer. Lint which is already shown
+   // (at the same range, with the same type and message) keeps its marker, so
+   // only markers for lint which was added or removed are updated.
+   public void showLint(JsArray<LintItem> lint, String layer)
+   {
+      JsArray<AceAnnotation> aceAnnotations = LintItem.asAceAnnotations(lint);
       
-      // Now, set (and cache) inline markers.
+      // index the new lint by key
+      HashMap<String, ArrayList<Integer>> added = new HashMap<>();
       for (int i = 0; i < lint.length(); i++)
       {
          LintItem item = lint.get(i);
-         AnchoredRange range = createAnchoredRange(
+         String key = lintKey(
                Position.create(item.getStartRow(), item.getStartColumn()),
-               Position.create(item.getEndRow(), item.getEndColumn()));
-         
-         String clazz = "unknown";
-         if (item.getType() == "error")
-            clazz = lintStyles_.error();
-         else if (item.getType() == "warning")
-            clazz = lintStyles_.warning();
-         else if (item.getType() == "info")
-            clazz = lintStyles_.info();
-         else if (item.getType() == "style")
-            clazz = lintStyles_.style();
-         else if (item.getType() == "spelling")
-            clazz = lintStyles_.warning();
+               Position.create(item.getEndRow(), item.getEndColumn()),
+               lintIdentity(item));
+         if (!added.containsKey(key))
+            added.put(key, new ArrayList<Integer>());
+         added.get(key).add(i);
+      }
+      
+      // keep the layer's existing lint which is still present, and remove the
+      // rest (including lint whose marker was removed while editing)
+      ArrayList<AnchoredAceAnnotation> annotations = new ArrayList<>();
+      for (AnchoredAceAnnotation annotation : annotations_)
+      {
+         if (!annotation.getLayer().equals(layer))
+         {
+            annotations.add(annotation);
+            continue;
+         }
          
-         int id = editor_.getSession().addMarker(range, clazz, "text", true);
-            annotations_.add(new AnchoredAceAnnotation(
-               annotations.get(i),
-               range,
-               id));
+         ArrayList<Integer> indices = added.get(annotation.getKey());
+         if (indices != null && !indices.isEmpty() && annotation.hasMarker())
+         {
+            indices.remove(indices.size() - 1);
+            annotations.add(annotation);
+         }
+         else
+         {
+            annotation.detach();
+         }
       }
+      annotations_ = annotations;
+      
+      // add markers for the new lint
+      for (ArrayList<Integer> indices : added.values())
+      {
+         for (int i : indices)
+            addLintMarker(lint.get(i), aceAnnotations.get(i), layer);
+      }
+      
+      editor_.getSession().setAnnotations(getAnnotations());
+   }
+   
+   private void addLintMarker(LintItem item,
+                              AceAnnotation annotation,
+                              String layer)
+   {
+      AnchoredRange range = createAnchoredRange(
+            Position.create(item.getStartRow(), item.getStartColumn()),
+            Position.create(item.getEndRow(), item.getEndColumn()));
+      
+      String clazz = "unknown";
+      if (item.getType() == "error")
+         clazz = lintStyles_.error();
+      else if (item.getType() == "warning")
+         clazz = lintStyles_.warning();
+      else if (item.getType() == "info")
+         clazz = lintStyles_.info();
+      else if (item.getType() == "style")
+         clazz = lintStyles_.style();
+      else if (item.getType() == "spelling")
+         clazz = lintStyles_.warning();
+      
+      int id = editor_.getSession().addMarker(range, clazz, "text", true);
+      annotations_.add(new AnchoredAceAnnotation(
+            annotation,
+            range,
+            id,
+            layer,
+            lintIdentity(item)));
    }
    
    public void clearLint()
@@ -19,6 +19,8 @@ import java.util.ArrayList;
 import com.google.gwt.core.client.JavaScriptObject;
 import com.google.gwt.dom.client.NativeEvent;
 
+import org.rstudio.core.client.TypingLatency;
+
 import org.rstudio.studio.client.workbench.views.console.shell.assist.CompletionManager;
 import org.rstudio.studio.client.workbench.views.source.editors.text.ace.KeyboardHandler;
 
@@ -87,12 +89,20 @@ public class AceKeyboardPreviewer
 
    private boolean onKeyDown(JavaScriptObject data, NativeEvent e)
    {
-      for (Handler handler : handlers_)
+      double start = TypingLatency.start();
+      try
+      {
+         for (Handler handler : handlers_)
+         {
+            if (handler.previewKeyDown(data, e))
+               return true;
+         }
+         return false;
+      }
+      finally
       {
-         if (handler.previewKeyDown(data, e))
-            return true;
+         TypingLatency.stop(KEY_PREVIEW_HANDLER, start);
       }
-      return false;
    }
    
 
@@ -105,15 +115,25 @@ public class AceKeyboardPreviewer
       if (text.equals("\u001B"))
          return true;
 
-      for (Handler handler : handlers_)
+      double start = TypingLatency.start();
+      try
       {
-         for (int i = 0; i < text.length(); i++)
-            if (handler.previewKeyPress(data, text.charAt(i)))
-               return true;
+         for (Handler handler : handlers_)
+         {
+            for (int i = 0; i < text.length(); i++)
+               if (handler.previewKeyPress(data, text.charAt(i)))
+                  return true;
+         }
+
+         return false;
+      }
+      finally
+      {
+         TypingLatency.stop(KEY_PREVIEW_HANDLER, start);
       }
-      
-      return false;
    }
    
+   private static final String KEY_PREVIEW_HANDLER = "Completion (key preview)";
+   
    private ArrayList<Handler> handlers_ = new ArrayList<Handler>();
 }
@@ -189,9 +189,15 @@ public class ChunkOutputGallery extends Composite
    @Override
    public void clearOutput()
    {
+      for (ChunkOutputPage page: pages_)
+      {
+         if (page instanceof ChunkPlotPage)
+            ((ChunkPlotPage)page).onRemoved();
+      }
       content_.clear();
       pages_.clear();
       filmstrip_.clear();
+      activePage_ = -1;
    }
 
    @Override
@@ -282,6 +288,12 @@ public class ChunkOutputGallery extends Composite
           (idx == 0 || ((idx == pages_.size() - 1) && 
                 !hasErrors())))
          setActivePage(idx);
+      else if (page instanceof ChunkPlotPage)
+      {
+         // plots are only loaded when selected, so don't leave the host
+         // waiting for this one to render
+         ((ChunkPlotPage)page).onDeselected();
+      }
 
       host_.notifyHeightChanged();
    }
@@ -326,8 +338,14 @@ public class ChunkOutputGallery extends Composite
       // remove the selection styling from the previously active page (if any)
       // and add it to this page
       if (activePage_ >= 0)
-         pages_.get(activePage_).thumbnailWidget().removeStyleName(
-               style.selected());
+      {
+         ChunkOutputPage previous = pages_.get(activePage_);
+         previous.thumbnailWidget().removeStyleName(style.selected());
+
+         // only the selected plot is kept at full size
+         if (previous instanceof ChunkPlotPage)
+            ((ChunkPlotPage)previous).onDeselected();
+      }
       pages_.get(idx).thumbnailWidget().addStyleName(style.selected());
       pages_.get(idx).onSelected();
       activePage_ = idx;
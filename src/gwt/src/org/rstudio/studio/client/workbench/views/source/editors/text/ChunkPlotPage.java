@@ -21,6 +21,8 @@ import org.rstudio.core.client.widget.FixedRatioWidget;
 import org.rstudio.studio.client.rmarkdown.model.NotebookPlotMetadata;
 import org.rstudio.studio.client.workbench.views.source.editors.text.rmd.ChunkOutputUi;
 
+import com.google.gwt.core.client.Scheduler;
+import com.google.gwt.core.client.Scheduler.ScheduledCommand;
 import com.google.gwt.dom.client.Style;
 import com.google.gwt.dom.client.Style.Position;
 import com.google.gwt.dom.client.Style.TextAlign;
@@ -33,44 +35,54 @@ import com.google.gwt.user.client.ui.Widget;
 public class ChunkPlotPage extends ChunkOutputPage
                            implements EditorThemeListener
 {
-   public ChunkPlotPage(final String url, NotebookPlotMetadata metadata, 
-         int ordinal, final Command onRenderComplete, ChunkOutputSize chunkOutputSize)
+   public ChunkPlotPage(String url, NotebookPlotMetadata metadata, 
+         int ordinal, Command onRenderComplete, ChunkOutputSize chunkOutputSize)
    {
       super(ordinal);
       
       thumbnail_ = new HTMLPanel("");
+      onRenderComplete_ = onRenderComplete;
       
+      // the full size plot is only loaded while this page is selected, and
+      // the thumbnail is loaded when it scrolls into view
+      thumbnailImage_ = new Image();
       if (ChunkPlotWidget.isFixedSizePlotUrl(url))
       {
-         final Image thumbnail = new Image();
-         thumbnail_.add(thumbnail);
+         thumbnail_.add(thumbnailImage_);
          thumbnail_.getElement().getStyle().setTextAlign(TextAlign.CENTER);
 
-         plot_ = new ChunkPlotWidget(url, metadata, new Command() 
-         {
-            @Override
-            public void execute()
-            {
-               ImageElementEx img = thumbnail.getElement().cast();
-               
-               img.getStyle().setProperty("width", "100%");
-               img.getStyle().setProperty("height", "100%");
-               img.getStyle().setProperty("objectFit", "contain");
-               
-               thumbnail.setUrl(url);
-               
-               if (onRenderComplete != null)
-                  onRenderComplete.execute();
-            }
-         }, chunkOutputSize);
+         ImageElementEx img = thumbnailImage_.getElement().cast();
+         img.getStyle().setProperty("width", "100%");
+         img.getStyle().setProperty("height", "100%");
+         img.getStyle().setProperty("objectFit", "contain");
       }
       else
       {
          // automatically expand non-fixed plots
-         thumbnail_.add(new FixedRatioWidget(new Image(url), 
+         thumbnail_.add(new FixedRatioWidget(thumbnailImage_, 
                      ChunkOutputUi.OUTPUT_ASPECT, 100));
-         plot_ = new ChunkPlotWidget(url, metadata, onRenderComplete, chunkOutputSize);
       }
+
+      // the thumbnail is only tracked by the loader while it's attached, so
+      // that pages which are no longer shown (e.g. in closed documents) can
+      // be collected
+      thumbnailUrl_ = url;
+      thumbnailImage_.addAttachHandler(event ->
+      {
+         if (event.isAttached())
+            ChunkPlotThumbnailLoader.load(thumbnailImage_, thumbnailUrl_);
+         else
+            ChunkPlotThumbnailLoader.release(thumbnailImage_);
+      });
+
+      plot_ = new ChunkPlotWidget(url, metadata, new Command()
+      {
+         @Override
+         public void execute()
+         {
+            renderComplete();
+         }
+      }, chunkOutputSize, true);
       
       // look for messages or warnings in metadata
       boolean hasMessages = false;
@@ -119,7 +131,48 @@ public class ChunkPlotPage extends ChunkOutputPage
    @Override
    public void onSelected()
    {
-      // no action necessary for plots
+      selected_ = true;
+
+      // the plot is still loaded if the page is reselected without having
+      // been deselected (e.g. when the gallery is redrawn)
+      if (plot_.isLoaded())
+         return;
+
+      // defer the load so that pages which are only transiently selected
+      // (e.g. while a gallery is being populated) are never fetched
+      Scheduler.get().scheduleDeferred(new ScheduledCommand()
+      {
+         @Override
+         public void execute()
+         {
+            if (selected_)
+               plot_.load();
+         }
+      });
+   }
+
+   /**
+    * Called when another page in the gallery is selected, or when this page
+    * is added without being selected; releases the full size plot image.
+    */
+   public void onDeselected()
+   {
+      selected_ = false;
+      plot_.unload();
+
+      // this page won't render until it's selected again, so don't leave
+      // the host waiting for it
+      renderComplete();
+   }
+
+   /**
+    * Called when the page is removed from its gallery.
+    */
+   public void onRemoved()
+   {
+      selected_ = false;
+      plot_.unload();
+      ChunkPlotThumbnailLoader.release(thumbnailImage_);
    }
 
    @Override
@@ -144,7 +197,20 @@ public class ChunkPlotPage extends ChunkOutputPage
       return plot_.imageWidget();
    }
    
+   private void renderComplete()
+   {
+      if (onRenderComplete_ != null)
+      {
+         onRenderComplete_.execute();
+         onRenderComplete_ = null;
+      }
+   }
+   
    private final ChunkPlotWidget plot_;
    private final HTMLPanel thumbnail_;
+   private final Image thumbnailImage_;
+   private final String thumbnailUrl_;
+   private Command onRenderComplete_;
+   private boolean selected_ = false;
    private ChunkConditionBar conditions_;
 }
@@ -0,0 +1,181 @@
+/*
+ * ChunkPlotThumbnailLoader.java
+ *
+ * Copyright (C) 2020 by RStudio, PBC
+ *
+ * Unless you have received this program directly from RStudio pursuant
+ * to the terms of a commercial license agreement with RStudio, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.workbench.views.source.editors.text;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+import org.rstudio.core.client.dom.IntersectionObserver;
+
+import com.google.gwt.dom.client.Element;
+import com.google.gwt.user.client.ui.Image;
+
+/**
+ * Loads chunk output gallery thumbnails lazily, as they scroll into view, and
+ * bounds the number of thumbnail images which hold decoded bitmaps at once.
+ * Thumbnails which leave the viewport are the first candidates for eviction;
+ * an evicted thumbnail is reloaded when it becomes visible again.
+ */
+public class ChunkPlotThumbnailLoader implements IntersectionObserver.Callback
+{
+   private ChunkPlotThumbnailLoader()
+   {
+      observer_ = new IntersectionObserver(this, ROOT_MARGIN);
+   }
+
+   public static ChunkPlotThumbnailLoader get()
+   {
+      if (instance_ == null)
+         instance_ = new ChunkPlotThumbnailLoader();
+      return instance_;
+   }
+
+   /**
+    * Loads the given URL into the image once the image is visible.
+    *
+    * @param image The thumbnail image
+    * @param url The URL of the plot to show in the thumbnail
+    */
+   public static void load(final Image image, String url)
+   {
+      // without IntersectionObserver we can't tell what's visible; just load
+      if (!IntersectionObserver.isSupported())
+      {
+         image.setUrl(url);
+         return;
+      }
+
+      image.getElement().setAttribute("decoding", "async");
+      get().register(image, url);
+   }
+
+   /**
+    * Stops tracking the given image (e.g. because it was detached), and
+    * releases its bitmap; it's reloaded if it's loaded again.
+    */
+   public static void release(Image image)
+   {
+      if (instance_ != null)
+         instance_.unregister(image.getElement());
+   }
+
+   @Override
+   public void onIntersectionChanged(Element el, boolean intersecting)
+   {
+      Entry entry = entries_.get(el);
+      if (entry == null)
+         return;
+
+      entry.visible = intersecting;
+      if (!intersecting)
+         return;
+
+      // move to the most recently used position
+      loaded_.remove(el);
+      loaded_.put(el, entry);
+
+      if (!entry.loaded)
+      {
+         entry.loaded = true;
+         entry.image.setUrl(entry.url);
+         evictExcess();
+      }
+   }
+
+   private void register(Image image, String url)
+   {
+      Element el = image.getElement();
+      Entry entry = entries_.get(el);
+      if (entry != null)
+      {
+         entry.url = url;
+         if (entry.loaded)
+            image.setUrl(url);
+         return;
+      }
+
+      entries_.put(el, new Entry(image, url));
+      observer_.observe(el);
+   }
+
+   private void unregister(Element el)
+   {
+      Entry entry = entries_.remove(el);
+      if (entry == null)
+         return;
+      loaded_.remove(el);
+      observer_.unobserve(el);
+      if (entry.loaded)
+         el.removeAttribute("src");
+   }
+
+   private void evictExcess()
+   {
+      if (loaded_.size() <= MAX_LOADED)
+         return;
+
+      // evict the least recently seen thumbnails which aren't on screen
+      ArrayList<Element> evicted = new ArrayList<Element>();
+      int excess = loaded_.size() - MAX_LOADED;
+      Iterator<Element> it = loaded_.keySet().iterator();
+      while (it.hasNext() && evicted.size() < excess)
+      {
+         Element el = it.next();
+         if (!loaded_.get(el).visible)
+            evicted.add(el);
+      }
+
+      for (Element el: evicted)
+      {
+         Entry entry = loaded_.remove(el);
+         entry.loaded = false;
+         el.removeAttribute("src");
+      }
+   }
+
+   private static class Entry
+   {
+      public Entry(Image image, String url)
+      {
+         this.image = image;
+         this.url = url;
+      }
+
+      public final Image image;
+      public String url;
+      public boolean loaded = false;
+      public boolean visible = false;
+   }
+
+   private final IntersectionObserver observer_;
+
+   // all tracked thumbnails
+   private final HashMap<Element, Entry> entries_ =
+         new HashMap<Element, Entry>();
+
+   // thumbnails currently holding an image, least recently visible first
+   private final LinkedHashMap<Element, Entry> loaded_ =
+         new LinkedHashMap<Element, Entry>();
+
+   private static ChunkPlotThumbnailLoader instance_;
+
+   // start loading thumbnails slightly before they scroll into view
+   private static final String ROOT_MARGIN = "200px";
+
+   // maximum number of thumbnails with decoded images at once
+   private static final int MAX_LOADED = 60;
+}
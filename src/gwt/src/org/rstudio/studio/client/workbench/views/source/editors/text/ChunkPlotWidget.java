@@ -37,9 +37,21 @@ public class ChunkPlotWidget extends Composite
 {
    public ChunkPlotWidget(String url, NotebookPlotMetadata metadata, 
          final Command onRenderComplete, ChunkOutputSize chunkOutputSize)
+   {
+      this(url, metadata, onRenderComplete, chunkOutputSize, false);
+   }
+
+   /**
+    * @param deferLoad If true, the plot image isn't fetched until load() is
+    *    called; used by galleries, which only show one plot at a time.
+    */
+   public ChunkPlotWidget(String url, NotebookPlotMetadata metadata, 
+         final Command onRenderComplete, ChunkOutputSize chunkOutputSize,
+         boolean deferLoad)
    {
       plot_ = new Image();
       url_ = url;
+      currentUrl_ = url;
       metadata_ = metadata;
       chunkOutputSize_ = chunkOutputSize;
 
@@ -81,8 +93,6 @@ public class ChunkPlotWidget extends Composite
             }
          });
       
-      // start loading
-      plot_.setUrl(url);
       Widget root = plot_;
       
       if (isFixedSizePlotUrl(url))
@@ -114,7 +124,6 @@ public class ChunkPlotWidget extends Composite
          panel.getElement().getStyle().setProperty("webkitFlexGrow", "1");
          panel.getElement().getStyle().setProperty("flexGrow", "1");
 
-         panel.getElement().getStyle().setProperty("backgroundImage", "url(\"" + url + "\")");
          panel.getElement().getStyle().setProperty("backgroundSize", "100% 100%");
 
          plotDiv_ = panel;
@@ -165,6 +174,39 @@ public class ChunkPlotWidget extends Composite
       }
       
       initWidget(root);
+
+      // start loading
+      if (!deferLoad)
+         load();
+   }
+
+   /**
+    * Starts loading the plot image, if it isn't already loaded.
+    */
+   public void load()
+   {
+      if (loaded_)
+         return;
+      loaded_ = true;
+      showUrl(currentUrl_);
+   }
+
+   /**
+    * Releases the plot image; it can be reloaded with load().
+    */
+   public void unload()
+   {
+      if (!loaded_)
+         return;
+      loaded_ = false;
+      plot_.getElement().removeAttribute("src");
+      if (plotDiv_ != null)
+         plotDiv_.getElement().getStyle().clearProperty("backgroundImage");
+   }
+
+   public boolean isLoaded()
+   {
+      return loaded_;
    }
 
    @Override
@@ -199,7 +241,7 @@ public class ChunkPlotWidget extends Composite
       String plotFile = FilePathUtils.friendlyFileName(plotUrl);
 
       // get the existing URL and strip off the query string 
-      String url = plot_.getUrl();
+      String url = currentUrl_;
       int idx = url.lastIndexOf('?');
       if (idx > 0)
          url = url.substring(0, idx);
@@ -215,16 +257,24 @@ public class ChunkPlotWidget extends Composite
       // the only purpose of this resize counter is to ensure that the
       // plot URL changes when its geometry does (it's not consumed by
       // the server)
-      String plotUrlRefresh = plotUrl + "?resize=" + resizeCounter_++;
+      currentUrl_ = plotUrl + "?resize=" + resizeCounter_++;
+
+      if (loaded_)
+         showUrl(currentUrl_);
+   }
 
-      plot_.setUrl(plotUrlRefresh);
+   private void showUrl(String url)
+   {
+      plot_.setUrl(url);
 
       if (plotDiv_ != null)
-         plotDiv_.getElement().getStyle().setProperty("backgroundImage", "url(\"" + plotUrlRefresh + "\")");
+         plotDiv_.getElement().getStyle().setProperty("backgroundImage", "url(\"" + url + "\")");
    }
    
    private static int resizeCounter_ = 0;
    private final String url_;
+   private String currentUrl_;
+   private boolean loaded_ = false;
    private final Image plot_;
    private HTMLPanel plotDiv_ = null;
    private final NotebookPlotMetadata metadata_;
@@ -76,6 +76,7 @@ import com.google.gwt.event.dom.client.HasKeyDownHandlers;
 import com.google.gwt.event.logical.shared.AttachEvent;
 import com.google.gwt.event.logical.shared.HasValueChangeHandlers;
 import com.google.gwt.event.shared.HandlerRegistration;
+import com.google.gwt.user.client.Command;
 import com.google.gwt.user.client.ui.IsWidget;
 import com.google.gwt.user.client.ui.Widget;
 
@@ -240,6 +241,9 @@ public interface DocDisplay extends HasValueChangeHandlers<Void>,
    HandlerRegistration addPasteHandler(PasteEvent.Handler handler);
 
    boolean isScopeTreeReady(int row);
+   // executes the command once the scope tree has been built up to the row
+   // (immediately if it already has been)
+   void whenScopeTreeReady(int row, Command command);
    HandlerRegistration addScopeTreeReadyHandler(ScopeTreeReadyEvent.Handler handler);
    HandlerRegistration addActiveScopeChangedHandler(ActiveScopeChangedEvent.Handler handler);
    
@@ -352,6 +356,7 @@ public interface DocDisplay extends HasValueChangeHandlers<Void>,
    Token getTokenAt(int row, int column);
    Token getTokenAt(Position position);
    JsArray<Token> getTokens(int row);
+   String getTokenizerStateKey(int row);
    
    TokenIterator createTokenIterator();
    TokenIterator createTokenIterator(Position position);
@@ -384,6 +389,7 @@ public interface DocDisplay extends HasValueChangeHandlers<Void>,
    
    void setAnnotations(JsArray<AceAnnotation> annotations);
    void showLint(JsArray<LintItem> lint);
+   void showLint(JsArray<LintItem> lint, String layer);
    void clearLint();
    void removeMarkersAtCursorPosition();
    void removeMarkersOnCursorLine();
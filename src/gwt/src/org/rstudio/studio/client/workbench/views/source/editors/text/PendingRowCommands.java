@@ -0,0 +1,62 @@
+/*
+ * PendingRowCommands.java
+ *
+ * Copyright (C) 2020 by RStudio, PBC
+ *
+ * Unless you have received this program directly from RStudio pursuant
+ * to the terms of a commercial license agreement with RStudio, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.workbench.views.source.editors.text;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.gwt.user.client.Command;
+
+// Commands waiting for the scope tree to be built up to (and including) a
+// given row. A command which is added again while still pending only waits
+// for the row it was most recently added with, so that e.g. a cursor
+// handler doesn't queue a command per cursor movement.
+class PendingRowCommands
+{
+   public void add(int row, Command command)
+   {
+      commands_.remove(command);
+      commands_.put(command, row);
+   }
+
+   public boolean isEmpty()
+   {
+      return commands_.isEmpty();
+   }
+
+   // executes (and removes) the commands waiting for rows before readyRow
+   public void execute(int readyRow)
+   {
+      if (commands_.isEmpty())
+         return;
+
+      List<Command> ready = new ArrayList<>();
+      for (Map.Entry<Command, Integer> entry : commands_.entrySet())
+      {
+         if (entry.getValue() < readyRow)
+            ready.add(entry.getKey());
+      }
+
+      for (Command command : ready)
+      {
+         commands_.remove(command);
+         command.execute();
+      }
+   }
+
+   private final LinkedHashMap<Command, Integer> commands_ = new LinkedHashMap<>();
+}
@@ -23,10 +23,12 @@ import org.rstudio.studio.client.workbench.views.source.editors.text.events.Curs
 import org.rstudio.studio.client.workbench.views.source.editors.text.events.DocumentChangedEvent;
 import org.rstudio.studio.client.workbench.views.source.editors.text.events.ScopeTreeReadyEvent;
 
+import com.google.gwt.core.client.Duration;
 import com.google.gwt.core.client.JsArray;
 import com.google.gwt.core.client.Scheduler;
 import com.google.gwt.event.logical.shared.AttachEvent;
 import com.google.gwt.event.shared.HandlerRegistration;
+import com.google.gwt.user.client.Command;
 import com.google.gwt.user.client.Timer;
 
 // NOTE: Historically, scope tree management was implemented as part of
@@ -98,6 +100,17 @@ public abstract class ScopeTreeManager
       return parsePosition.getRow() > row;
    }
    
+   public void whenReady(int row, Command command)
+   {
+      if (isReady(row))
+      {
+         command.execute();
+         return;
+      }
+      
+      worker_.whenReady(row, command);
+   }
+   
    public void detach()
    {
       for (HandlerRegistration handler : handlers_)
@@ -120,12 +133,52 @@ public abstract class ScopeTreeManager
       
       public void rebuildScopeTreeFromRow(int row)
       {
+         timer_.cancel();
          startRow_ = row;
          endRow_ = Math.min(docDisplay_.getRowCount(), startRow_ + ROWS_TOKENIZED_PER_ITERATION);
          work();
       }
       
-      private int work()
+      public void whenReady(int row, Command command)
+      {
+         pending_.add(row, command);
+      }
+      
+      // builds the scope tree for as many rows as fit in a time slice, so
+      // that building the tree for a large document doesn't block the UI
+      private void work()
+      {
+         Duration duration = new Duration();
+         while (true)
+         {
+            if (step())
+            {
+               pending_.execute(Integer.MAX_VALUE);
+               return;
+            }
+            
+            if (duration.elapsedMillis() >= TIME_SLICE_MS)
+               break;
+            
+            startRow_ = scopeManager_.getParsePosition().getRow();
+            endRow_ = Math.min(docDisplay_.getRowCount(), startRow_ + ROWS_TOKENIZED_PER_ITERATION);
+         }
+         
+         pending_.execute(scopeManager_.getParsePosition().getRow());
+         
+         // if there are still rows to be tokenized in the document,
+         // schedule more work
+         if (startRow_ < docDisplay_.getRowCount())
+         {
+            startRow_ = scopeManager_.getParsePosition().getRow();
+            endRow_ = Math.min(docDisplay_.getRowCount(), startRow_ + ROWS_TOKENIZED_PER_ITERATION);
+            timer_.schedule(DELAY_MS);
+         }
+      }
+      
+      // builds the scope tree for the rows from startRow_ to endRow_, and
+      // returns true if the end of the document was reached
+      private boolean step()
       {
          Position position = Position.create(startRow_ - 1, 0);
          
@@ -153,7 +206,7 @@ public abstract class ScopeTreeManager
                docDisplay_.fireEvent(event);
                
                // we're done!
-               return docDisplay_.getRowCount();
+               return true;
             }
             
             // if we've walked past the end row, bail
@@ -168,26 +221,18 @@ public abstract class ScopeTreeManager
          
          // save the parse position (needed when invalidating rows as the document mutates)
          scopeManager_.setParsePosition(Position.create(it.getCurrentTokenRow(), -1));
-         
-         // if there are still rows to be tokenized in the document,
-         // schedule more work
-         if (startRow_ < docDisplay_.getRowCount())
-         {
-            startRow_ = it.getCurrentTokenRow();
-            endRow_ = Math.min(docDisplay_.getRowCount(), startRow_ + ROWS_TOKENIZED_PER_ITERATION);
-            timer_.schedule(DELAY_MS);
-         }
-         
-         return it.getCurrentTokenRow();
+         return false;
       }
       
       private int startRow_;
       private int endRow_;
       
       private final Timer timer_;
+      private final PendingRowCommands pending_ = new PendingRowCommands();
       
       private static final int DELAY_MS = 5;
-      private static final int ROWS_TOKENIZED_PER_ITERATION = 200;
+      private static final int TIME_SLICE_MS = 8;
+      private static final int ROWS_TOKENIZED_PER_ITERATION = 50;
    }
    
    protected Scope lastActiveScope_;
@@ -1938,14 +1938,17 @@ public class TextEditingTarget implements
    private void initStatusBar()
    {
       statusBar_ = view_.getStatusBar();
+      final Command updateScope = () -> updateCurrentScope();
       docDisplay_.addCursorChangedHandler(new CursorChangedHandler()
       {
          public void onCursorChanged(CursorChangedEvent event)
          {
             updateStatusBarPosition();
-            if (docDisplay_.isScopeTreeReady(event.getPosition().getRow()))
-               updateCurrentScope();
             
+            // the scope tree of a large document may still be being built;
+            // if so, show the scope once it's been built up to the cursor
+            docDisplay_.whenScopeTreeReady(
+                  event.getPosition().getRow(), updateScope);
          }
       });
       updateStatusBarPosition();
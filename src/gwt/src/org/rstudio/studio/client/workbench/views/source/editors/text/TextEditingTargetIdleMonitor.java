@@ -19,6 +19,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.rstudio.core.client.TypingLatency;
 import org.rstudio.core.client.command.KeyboardShortcut;
 import org.rstudio.core.client.container.SafeMap;
 import org.rstudio.core.client.dom.DomUtils;
@@ -138,8 +139,10 @@ public class TextEditingTargetIdleMonitor
          @Override
          public void onCursorChanged(CursorChangedEvent event)
          {
+            double start = TypingLatency.start();
             mouseMovedLast_ = false;
             timer_.schedule(DELAY_MS);
+            TypingLatency.stop("Idle commands", start);
          }
       }));
       
@@ -6,6 +6,7 @@ import org.rstudio.studio.client.common.filetypes.TextFileType;
 import org.rstudio.studio.client.workbench.views.source.editors.text.ace.Position;
 import org.rstudio.studio.client.workbench.views.source.editors.text.ace.Range;
 import org.rstudio.studio.client.workbench.views.source.editors.text.ace.TokenCursor;
+import org.rstudio.studio.client.workbench.views.source.editors.text.ace.TokenSnapshot;
 
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -177,7 +178,12 @@ public class TextEditingTargetRenameHelper
    
    private int renameFunctionArgument(String functionName, String argName)
    {
-      TokenCursor cursor = editor_.getSession().getMode().getCodeModel().getTokenCursor();
+      TokenSnapshot snapshot = editor_.getTokenSnapshot(
+            0, editor_.getSession().getLength() - 1);
+      if (snapshot.size() == 0)
+         return 0;
+      
+      TokenSnapshot.Cursor cursor = snapshot.cursor(0);
       Stack<String> functionNames = new Stack<String>();
       boolean renaming = false;
       
@@ -186,10 +192,10 @@ public class TextEditingTargetRenameHelper
          if (cursor.isLeftBracket())
          {
             if (cursor.valueEquals("(") &&
-                cursor.peekBwd(1).isValidForFunctionCall())
+                cursor.peek(-1).isValidForFunctionCall())
             {
-               String currentFunctionName = cursor.peekBwd(1).getValue();
-               renaming = currentFunctionName == functionName;
+               String currentFunctionName = cursor.peek(-1).currentValue();
+               renaming = currentFunctionName.equals(functionName);
                functionNames.push(functionName);
                pushState(STATE_FUNCTION_CALL);
             }
@@ -205,14 +211,14 @@ public class TextEditingTargetRenameHelper
             if (cursor.valueEquals(")") && !functionNames.empty())
             {
                functionNames.pop();
-               renaming = !functionNames.empty() && functionNames.peek() == functionName;
+               renaming = !functionNames.empty() && functionNames.peek().equals(functionName);
             }
          }
          
          if (renaming &&
              peekState() == STATE_FUNCTION_CALL &&
              cursor.valueEquals(argName) &&
-             cursor.peekFwd(1).valueEquals("="))
+             cursor.peek(1).valueEquals("="))
          {
             ranges_.add(getTokenRange(cursor));
          }
@@ -240,7 +246,13 @@ public class TextEditingTargetRenameHelper
       if (endPos == null)
          endPos = Position.create(editor_.getSession().getLength(), 0);
       
-      TokenCursor cursor = editor_.getSession().getMode().getCodeModel().getTokenCursor();
+      // Scan a snapshot of the tokens, rather than walking Ace's tokens
+      // one at a time -- this is much faster for large scopes.
+      TokenSnapshot snapshot = editor_.getTokenSnapshot(0, endPos.getRow());
+      if (snapshot.size() == 0)
+         return 0;
+      
+      TokenSnapshot.Cursor cursor = snapshot.cursor(0);
       cursor.moveToPosition(startPos, true);
       
       // Workaround 'moveToPosition' not handling forward searches (yet)
@@ -261,7 +273,7 @@ public class TextEditingTargetRenameHelper
             // Update state.
             if (cursor.valueEquals("("))
             {
-               if (cursor.peekBwd(1).valueEquals("function"))
+               if (cursor.peek(-1).valueEquals("function"))
                   pushState(STATE_FUNCTION_DEFINITION);
                else
                   pushState(STATE_FUNCTION_CALL);
@@ -290,8 +302,8 @@ public class TextEditingTargetRenameHelper
          
          // Protect a name if it's the target of an assignment in a child scope.
          if (cursor.hasType("identifier") &&
-             cursor.peekFwd(1).isLeftAssign() &&
-             !cursor.peekBwd(1).isExtractionOperator())
+             cursor.peek(1).isLeftAssign() &&
+             !cursor.peek(-1).isExtractionOperator())
          {
             Scope candidate = editor_.getScopeAtPosition(cursor.currentPosition());
             
@@ -299,7 +311,7 @@ public class TextEditingTargetRenameHelper
             if (peekState() == STATE_FUNCTION_DEFINITION && scope != candidate)
                continue;
             
-            if (cursor.peekFwd(2).valueEquals("function") && !candidate.isTopLevel())
+            if (cursor.peek(2).valueEquals("function") && !candidate.isTopLevel())
                candidate = candidate.getParentScope();
             
             if (candidate != scope)
@@ -313,7 +325,7 @@ public class TextEditingTargetRenameHelper
          if (cursor.currentPosition().isAfterOrEqualTo(endPos))
             break;
          
-         if (cursor.currentValue() == targetValue)
+         if (cursor.valueEquals(targetValue))
          {
             // Skip 'protected' names. These are names that have been overwritten
             // either as assignments, or exist as names to newly defined functions.
@@ -321,7 +333,7 @@ public class TextEditingTargetRenameHelper
                continue;
             
             // Skip variables following an 'extraction' operator.
-            if (cursor.peekBwd(1).isExtractionOperator())
+            if (cursor.peek(-1).isExtractionOperator())
                continue;
             
             // Skip default arguments for nested functions
@@ -335,7 +347,7 @@ public class TextEditingTargetRenameHelper
             //
             //    bar <- bar + 1; foo(bar = bar)
             //    ~~~    ~~~                ~~~
-            if (peekState() == STATE_FUNCTION_CALL && cursor.nextValue() == "=")
+            if (peekState() == STATE_FUNCTION_CALL && cursor.peek(1).valueEquals("="))
                continue;
             
             // Don't rename argument names in function definitions.
@@ -354,10 +366,10 @@ public class TextEditingTargetRenameHelper
             if (peekState() == STATE_FUNCTION_DEFINITION &&
                 editor_.getScopeAtPosition(cursor.currentPosition()) != scope)
             {
-               String prevValue = cursor.peekBwd(1).getValue();
-               if (prevValue == "(" ||
-                   prevValue == "," ||
-                   prevValue == "=")
+               String prevValue = cursor.peek(-1).currentValue();
+               if (prevValue.equals("(") ||
+                   prevValue.equals(",") ||
+                   prevValue.equals("="))
                {
                   continue;
                }
@@ -418,7 +430,7 @@ public class TextEditingTargetRenameHelper
             state_.pop();
    }
    
-   private Range getTokenRange(TokenCursor cursor)
+   private Range getTokenRange(TokenSnapshot.Cursor cursor)
    {
       Position startPos = cursor.currentPosition();
       Position endPos = Position.create(
@@ -38,9 +38,11 @@ import org.rstudio.studio.client.server.Void;
 import org.rstudio.studio.client.workbench.prefs.model.UserPrefs;
 import org.rstudio.studio.client.workbench.views.output.lint.LintManager;
 import org.rstudio.studio.client.workbench.views.output.lint.model.LintItem;
+import org.rstudio.studio.client.workbench.views.source.editors.text.ace.AceDocumentChangeEventNative;
 import org.rstudio.studio.client.workbench.views.source.editors.text.ace.Position;
 import org.rstudio.studio.client.workbench.views.source.editors.text.ace.Range;
 import org.rstudio.studio.client.workbench.views.source.editors.text.ace.spelling.TokenPredicate;
+import org.rstudio.studio.client.workbench.views.source.editors.text.events.DocumentChangedEvent;
 import org.rstudio.studio.client.workbench.views.source.editors.text.spelling.CheckSpelling;
 import org.rstudio.studio.client.workbench.views.source.editors.text.spelling.InitialProgressDialog;
 import org.rstudio.studio.client.workbench.views.source.editors.text.spelling.SpellingDialog;
@@ -67,6 +69,8 @@ public class TextEditingTargetSpelling implements TypoSpellChecker.Context
       prefs_ = prefs;
       typoSpellChecker_ = new TypoSpellChecker(this);
       injectContextMenuHandler();
+      releaseOnDismiss_.add(docDisplay_.addDocumentChangedHandler(
+            (event) -> onDocumentChanged(event)));
    }
 
    public JsArray<LintItem> getLint()
@@ -86,50 +90,153 @@ public class TextEditingTargetSpelling implements TypoSpellChecker.Context
       }
 
       TextFileType fileType = docDisplay_.getFileType();
+      syncRowResults(fileType);
 
       // only spell check comments in code files
       TokenPredicate tokenPredicate = fileType.getSpellCheckTokenPredicate();
 
-      // only get tokens for the visible screen
+      ArrayList<String> prefetchWords = new ArrayList<>();
+      int checkedWords = 0;
+      boolean incomplete = false;
+
+      // only check the visible screen, reusing results for rows which haven't
+      // changed since they were last checked
+      int lastRow = Math.min(docDisplay_.getLastVisibleRow(), rowResults_.size() - 1);
+      for (int row = Math.max(docDisplay_.getFirstVisibleRow(), 0); row <= lastRow; row++)
+      {
+         String line = docDisplay_.getLine(row);
+         RowResult result = rowResults_.get(row);
+         if (result == null || !result.isValid(line, getRowStateKey(row)))
+         {
+            // only check a certain number of words at once to not overwhelm
+            // the system; the remaining rows are checked on a later pass
+            if (checkedWords > prefs_.maxSpellcheckWords().getValue())
+            {
+               incomplete = true;
+               continue;
+            }
+
+            result = checkRow(row, line, tokenPredicate, fileType, prefetchWords);
+            checkedWords += result.checkedWords;
+            rowResults_.set(row, result);
+         }
+
+         for (int i = 0; i < result.misspelled.length; i += 2)
+         {
+            lint.push(LintItem.create(
+               row,
+               result.misspelled[i],
+               row,
+               result.misspelled[i + 1],
+               "Spellcheck",
+               "spelling"));
+         }
+      }
+
+      if (prefetchWords.size() > 0)
+         typoSpellChecker_.prefetchWords(prefetchWords);
+
+      if (incomplete)
+         lintManager_.respellAfterDelay();
+
+      return lint;
+   }
+
+   private RowResult checkRow(int row,
+                              String line,
+                              TokenPredicate tokenPredicate,
+                              TextFileType fileType,
+                              ArrayList<String> prefetchWords)
+   {
       Iterable<Range> wordSource = docDisplay_.getWords(
          tokenPredicate,
-         docDisplay_.getFileType().getCharPredicate(),
-         Position.create(docDisplay_.getFirstVisibleRow(), 0),
-         Position.create(docDisplay_.getLastVisibleRow(), docDisplay_.getLength(docDisplay_.getLastVisibleRow())));
-
-      final ArrayList<Range> wordRanges = new ArrayList<>();
-      ArrayList<String> prefetchWords = new ArrayList<>();
+         fileType.getCharPredicate(),
+         Position.create(row, 0),
+         Position.create(row, line.length()));
 
+      ArrayList<Integer> misspelled = new ArrayList<>();
+      int checkedWords = 0;
       for (Range r : wordSource)
       {
          if (!typoSpellChecker_.shouldCheckSpelling(docDisplay_, r))
             continue;
 
-         wordRanges.add(r);
-
-         // only check a certain number of words at once to not overwhelm the system
-         if (wordRanges.size() > prefs_.maxSpellcheckWords().getValue())
-            break;
-
+         checkedWords++;
          String word = docDisplay_.getTextForRange(r);
-         if (!typoSpellChecker_.checkSpelling(word)) {
+         if (!typoSpellChecker_.checkSpelling(word))
+         {
             if (prefetchWords.size() < prefs_.maxSpellcheckPrefetch().getValue())
                prefetchWords.add(word);
 
-            lint.push(LintItem.create(
-               r.getStart().getRow(),
-               r.getStart().getColumn(),
-               r.getEnd().getRow(),
-               r.getEnd().getColumn(),
-               "Spellcheck",
-               "spelling"));
+            misspelled.add(r.getStart().getColumn());
+            misspelled.add(r.getEnd().getColumn());
          }
       }
 
-      if (prefetchWords.size() > 0)
-         typoSpellChecker_.prefetchWords(prefetchWords);
+      int[] columns = new int[misspelled.size()];
+      for (int i = 0; i < columns.length; i++)
+         columns[i] = misspelled.get(i);
 
-      return lint;
+      // the state is read after checking, since checking tokenizes the row
+      return new RowResult(line, getRowStateKey(row), columns, checkedWords);
+   }
+
+   // Whether a row's words are checked depends on how it's tokenized, which
+   // depends on the state the tokenizer was in at the start of the row
+   private String getRowStateKey(int row)
+   {
+      return row == 0 ? "" : docDisplay_.getTokenizerStateKey(row - 1);
+   }
+
+   // Discards cached row results which can no longer be trusted
+   private void syncRowResults(TextFileType fileType)
+   {
+      int revision = typoSpellChecker_.getRevision();
+      int rowCount = docDisplay_.getRowCount();
+      if (revision != resultsRevision_ ||
+          fileType != resultsFileType_ ||
+          rowResults_.size() != rowCount)
+      {
+         resultsRevision_ = revision;
+         resultsFileType_ = fileType;
+         invalidateRowResults();
+      }
+   }
+
+   private void invalidateRowResults()
+   {
+      rowResults_.clear();
+      int rowCount = docDisplay_.getRowCount();
+      for (int i = 0; i < rowCount; i++)
+         rowResults_.add(null);
+   }
+
+   // Keeps cached row results aligned with the document as rows are inserted
+   // and removed; rows touched by an edit are marked for re-checking
+   private void onDocumentChanged(DocumentChangedEvent event)
+   {
+      AceDocumentChangeEventNative change = event.getEvent();
+      int startRow = change.start.getRow();
+      int endRow = change.end.getRow();
+      if (startRow >= rowResults_.size())
+      {
+         rowResults_.clear();
+         return;
+      }
+
+      if ("insert".equals(change.getAction()))
+      {
+         for (int row = startRow; row < endRow; row++)
+            rowResults_.add(startRow + 1, null);
+      }
+      else if ("remove".equals(change.getAction()))
+      {
+         int last = Math.min(endRow, rowResults_.size() - 1);
+         for (int row = startRow; row < last; row++)
+            rowResults_.remove(startRow + 1);
+      }
+
+      rowResults_.set(startRow, null);
    }
 
    // Legacy checkSpelling function for popup dialog
@@ -167,18 +274,20 @@ public class TextEditingTargetSpelling implements TypoSpellChecker.Context
    public void invalidateAllWords()
    {
       invalidateMisspelledWords();
-      lintManager_.relintAfterDelay(LintManager.DEFAULT_LINT_DELAY);
+      lintManager_.respellAfterDelay();
    }
 
    @Override
    public void invalidateMisspelledWords()
    {
+      invalidateRowResults();
       docDisplay_.removeMarkers((a, m) -> a != null && a.text().toLowerCase().contains("spellcheck"));
    }  
 
    @Override
    public void invalidateWord(String word)
    {
+      invalidateRowResults();
       docDisplay_.removeMarkersAtWord(word);
    }
 
@@ -328,8 +437,8 @@ public class TextEditingTargetSpelling implements TypoSpellChecker.Context
          });
       });
 
-      // relint the viewport as the user scrolls around
-      docDisplay_.addScrollYHandler((event) -> lintManager_.relintAfterDelay(LintManager.DEFAULT_LINT_DELAY));
+      // recheck spelling in the viewport as the user scrolls around
+      docDisplay_.addScrollYHandler((event) -> lintManager_.respellAfterDelay());
    }
 
    private static final Resources RES = GWT.create(Resources.class);
@@ -348,6 +457,29 @@ public class TextEditingTargetSpelling implements TypoSpellChecker.Context
       releaseOnDismiss_.add(handler);      
    }
 
+   private static class RowResult
+   {
+      public RowResult(String line, String stateKey, int[] misspelled, int checkedWords)
+      {
+         this.line = line;
+         this.stateKey = stateKey;
+         this.misspelled = misspelled;
+         this.checkedWords = checkedWords;
+      }
+
+      public boolean isValid(String line, String stateKey)
+      {
+         return this.line.equals(line) && this.stateKey.equals(stateKey);
+      }
+
+      public final String line;
+      public final String stateKey;
+
+      // start and end columns of each misspelled word
+      public final int[] misspelled;
+      public final int checkedWords;
+   }
+
    private boolean isSpellChecking_;
 
    private final static String IGNORED_WORDS = "ignored_words";
@@ -359,6 +491,11 @@ public class TextEditingTargetSpelling implements TypoSpellChecker.Context
    private final UserPrefs prefs_;
    private final TypoSpellChecker typoSpellChecker_;
  
+   // spelling results for each row of the document (null if not yet checked)
+   private final ArrayList<RowResult> rowResults_ = new ArrayList<>();
+   private int resultsRevision_ = -1;
+   private TextFileType resultsFileType_;
+
    private ArrayList<HandlerRegistration> releaseOnDismiss_ = 
                                     new ArrayList<HandlerRegistration>();
 }
@@ -32,6 +32,13 @@ public class EditSession extends JavaScriptObject
       return this.getState(row);
    }-*/;
    
+   // Like getState, but always returns a string (states of nested modes are
+   // arrays, which are joined so that states can be compared)
+   public native final String getStateKey(int row) /*-{
+      var state = this.getState(row);
+      return state == null ? "" : String(state);
+   }-*/;
+   
    public native final String getTabString() /*-{
       return this.getTabString();
    }-*/;
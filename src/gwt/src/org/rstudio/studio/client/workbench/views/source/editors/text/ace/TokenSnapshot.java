@@ -0,0 +1,403 @@
+/*
+ * TokenSnapshot.java
+ *
+ * Copyright (C) 2020 by RStudio, PBC
+ *
+ * Unless you have received this program directly from RStudio pursuant
+ * to the terms of a commercial license agreement with RStudio, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.workbench.views.source.editors.text.ace;
+
+import java.util.HashMap;
+
+import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.core.client.JsArrayInteger;
+import com.google.gwt.core.client.JsArrayString;
+
+/**
+ * A snapshot of a code model's (significant) tokens over a range of rows,
+ * exported in a single pass into flat arrays: each token's value, type id,
+ * row and column, plus the index of the first token on each row. Helpers
+ * which scan many tokens can walk a snapshot without crossing into
+ * JavaScript (and allocating a Token) for every token they visit.
+ *
+ * A snapshot is only valid until the document changes.
+ */
+public class TokenSnapshot
+{
+   private TokenSnapshot(Data data, int startRow, int endRow)
+   {
+      startRow_ = startRow;
+      endRow_ = endRow;
+      values_ = data.getValues();
+      types_ = data.getTypes();
+      typeIds_ = data.getTypeIds();
+      rows_ = data.getRows();
+      columns_ = data.getColumns();
+      rowStarts_ = data.getRowStarts();
+   }
+
+   /**
+    * Tokenizes (if necessary) and exports the tokens on rows startRow
+    * through endRow (inclusive).
+    */
+   public static TokenSnapshot create(CodeModel codeModel,
+                                      int startRow,
+                                      int endRow)
+   {
+      return new TokenSnapshot(
+            Data.create(codeModel, startRow, endRow),
+            startRow,
+            endRow);
+   }
+
+   /**
+    * @return Whether the snapshot includes all of the given rows
+    */
+   public boolean covers(int startRow, int endRow)
+   {
+      return startRow >= startRow_ && endRow <= endRow_;
+   }
+
+   public int size()
+   {
+      return values_.length();
+   }
+
+   public String getValue(int index)
+   {
+      return values_.get(index);
+   }
+
+   public String getType(int index)
+   {
+      return types_.get(typeIds_.get(index));
+   }
+
+   /**
+    * @return The token's type, as an index into the snapshot's table of
+    *    distinct types (tokens of the same type have the same id)
+    */
+   public int getTypeId(int index)
+   {
+      return typeIds_.get(index);
+   }
+
+   public int getRow(int index)
+   {
+      return rows_.get(index);
+   }
+
+   public int getColumn(int index)
+   {
+      return columns_.get(index);
+   }
+
+   public Position getPosition(int index)
+   {
+      return Position.create(getRow(index), getColumn(index));
+   }
+
+   /**
+    * @return Whether the token's type is (or has a component equal to) any
+    *    of the given types; see Token.hasType()
+    */
+   public boolean hasType(int index, String... types)
+   {
+      for (String type : types)
+      {
+         if (getTypeMatches(type)[getTypeId(index)])
+            return true;
+      }
+      return false;
+   }
+
+   /**
+    * @return The index of the last token at or before the given position
+    *    (a token starting at the position is included only if
+    *    rightInclusive is true), or -1 if there is no such token
+    */
+   public int findToken(Position position, boolean rightInclusive)
+   {
+      int row = position.getRow();
+      int column = position.getColumn();
+
+      int lo = 0;
+      int hi = size() - 1;
+      int found = -1;
+      while (lo <= hi)
+      {
+         int mid = (lo + hi) >>> 1;
+         int midRow = getRow(mid);
+         int midColumn = getColumn(mid);
+         boolean before =
+               midRow < row ||
+               (midRow == row && (midColumn < column ||
+                                  (rightInclusive && midColumn == column)));
+         if (before)
+         {
+            found = mid;
+            lo = mid + 1;
+         }
+         else
+         {
+            hi = mid - 1;
+         }
+      }
+      return found;
+   }
+
+   /**
+    * @return The index of the first token on or after the given row, or
+    *    size() if there is none
+    */
+   public int getFirstTokenOnOrAfterRow(int row)
+   {
+      int offset = row - startRow_;
+      if (offset <= 0)
+         return 0;
+      if (offset >= rowStarts_.length())
+         return size();
+      return rowStarts_.get(offset);
+   }
+
+   public Cursor cursor(int index)
+   {
+      return new Cursor(index);
+   }
+
+   /**
+    * A position within the snapshot, with the predicates of TokenCursor.
+    * A cursor may be moved (or peeked) outside of the snapshot, in which
+    * case its token is empty.
+    */
+   public class Cursor
+   {
+      private Cursor(int index)
+      {
+         index_ = index;
+      }
+
+      public Cursor cloneCursor()
+      {
+         return new Cursor(index_);
+      }
+
+      public Cursor peek(int offset)
+      {
+         return new Cursor(index_ + offset);
+      }
+
+      public int getIndex()
+      {
+         return index_;
+      }
+
+      public boolean isValid()
+      {
+         return index_ >= 0 && index_ < size();
+      }
+
+      public boolean moveToNextToken()
+      {
+         if (index_ >= size() - 1)
+            return false;
+         index_++;
+         return true;
+      }
+
+      public boolean moveToPreviousToken()
+      {
+         if (index_ <= 0)
+            return false;
+         index_--;
+         return true;
+      }
+
+      public boolean moveToPosition(Position position, boolean rightInclusive)
+      {
+         int index = findToken(position, rightInclusive);
+         if (index == -1)
+            return false;
+         index_ = index;
+         return true;
+      }
+
+      public String currentValue()
+      {
+         return isValid() ? getValue(index_) : "";
+      }
+
+      public String currentType()
+      {
+         return isValid() ? getType(index_) : "";
+      }
+
+      public Position currentPosition()
+      {
+         return isValid() ? getPosition(index_) : null;
+      }
+
+      public int getRow()
+      {
+         return isValid() ? TokenSnapshot.this.getRow(index_) : -1;
+      }
+
+      public boolean valueEquals(String value)
+      {
+         return value.equals(currentValue());
+      }
+
+      public boolean hasType(String... types)
+      {
+         return isValid() && TokenSnapshot.this.hasType(index_, types);
+      }
+
+      public boolean isLeftAssign()
+      {
+         String value = currentValue();
+         return value.equals("<-") || value.equals("=");
+      }
+
+      public boolean isLeftBracket()
+      {
+         String value = currentValue();
+         return value.equals("(") || value.equals("[") || value.equals("{");
+      }
+
+      public boolean isRightBracket()
+      {
+         String value = currentValue();
+         return value.equals(")") || value.equals("]") || value.equals("}");
+      }
+
+      public boolean isExtractionOperator()
+      {
+         String value = currentValue();
+         return value.equals("$") || value.equals("@") ||
+                value.equals("?") || value.equals("~");
+      }
+
+      public boolean isValidForFunctionCall()
+      {
+         String type = currentType();
+         return type.contains("identifier") ||
+                type.equals("string") ||
+                type.equals("keyword");
+      }
+
+      private int index_;
+   }
+
+   // whether each type in the snapshot's type table matches the given type
+   // (computed once per type, rather than once per token)
+   private boolean[] getTypeMatches(String type)
+   {
+      boolean[] matches = typeMatches_.get(type);
+      if (matches == null)
+      {
+         matches = new boolean[types_.length()];
+         for (int i = 0; i < matches.length; i++)
+         {
+            String tokenType = types_.get(i);
+            matches[i] = !tokenType.isEmpty() && (
+                  tokenType.equals(type) ||
+                  tokenType.contains(type + ".") ||
+                  tokenType.contains("." + type));
+         }
+         typeMatches_.put(type, matches);
+      }
+      return matches;
+   }
+
+   private static class Data extends JavaScriptObject
+   {
+      protected Data()
+      {
+      }
+
+      public static native final Data create(CodeModel codeModel,
+                                             int startRow,
+                                             int endRow) /*-{
+         endRow = Math.min(endRow, codeModel.$doc.getLength() - 1);
+         codeModel.$tokenizeUpToRow(endRow);
+
+         var data = {
+            values: [],
+            types: [],
+            typeIds: [],
+            rows: [],
+            columns: [],
+            rowStarts: []
+         };
+
+         var typeIds = {};
+         var allTokens = codeModel.$tokens;
+         for (var row = startRow; row <= endRow; row++)
+         {
+            data.rowStarts.push(data.values.length);
+            var tokens = allTokens[row];
+            if (tokens == null)
+               continue;
+
+            for (var i = 0; i < tokens.length; i++)
+            {
+               var token = tokens[i];
+               var type = token.type || "";
+               var id = typeIds[type];
+               if (id === undefined)
+               {
+                  id = typeIds[type] = data.types.length;
+                  data.types.push(type);
+               }
+
+               data.values.push(token.value || "");
+               data.typeIds.push(id);
+               data.rows.push(row);
+               data.columns.push(token.column);
+            }
+         }
+         return data;
+      }-*/;
+
+      public native final JsArrayString getValues() /*-{
+         return this.values;
+      }-*/;
+
+      public native final JsArrayString getTypes() /*-{
+         return this.types;
+      }-*/;
+
+      public native final JsArrayInteger getTypeIds() /*-{
+         return this.typeIds;
+      }-*/;
+
+      public native final JsArrayInteger getRows() /*-{
+         return this.rows;
+      }-*/;
+
+      public native final JsArrayInteger getColumns() /*-{
+         return this.columns;
+      }-*/;
+
+      public native final JsArrayInteger getRowStarts() /*-{
+         return this.rowStarts;
+      }-*/;
+   }
+
+   private final int startRow_;
+   private final int endRow_;
+   private final JsArrayString values_;
+   private final JsArrayString types_;
+   private final JsArrayInteger typeIds_;
+   private final JsArrayInteger rows_;
+   private final JsArrayInteger columns_;
+   private final JsArrayInteger rowStarts_;
+   private final HashMap<String, boolean[]> typeMatches_ = new HashMap<>();
+}
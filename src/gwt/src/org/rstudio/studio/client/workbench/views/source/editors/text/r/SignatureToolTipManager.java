@@ -19,6 +19,7 @@ import org.rstudio.core.client.Debug;
 import org.rstudio.core.client.HandlerRegistrations;
 import org.rstudio.core.client.Rectangle;
 import org.rstudio.core.client.StringUtil;
+import org.rstudio.core.client.TypingLatency;
 import org.rstudio.core.client.dom.DomUtils;
 import org.rstudio.core.client.events.MouseDragHandler.MouseCoordinates;
 import org.rstudio.studio.client.RStudioGinjector;
@@ -163,6 +164,8 @@ public class SignatureToolTipManager
                   if (anchor_ == null || !toolTip_.isShowing())
                      return;
                   
+                  double start = TypingLatency.start();
+                  
                   // re-request cursor position in case it's changed since the
                   // last cursor change without signaling event handlers
                   Position position = docDisplay_.getCursorPosition();
@@ -188,6 +191,8 @@ public class SignatureToolTipManager
                      detachAnchor();
                      toolTip_.hide();
                   }
+                  
+                  TypingLatency.stop("Signature tooltips", start);
                }
             });
          }
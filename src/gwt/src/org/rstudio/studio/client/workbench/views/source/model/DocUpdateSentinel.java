@@ -29,6 +29,7 @@ import org.rstudio.core.client.Barrier.Token;
 import org.rstudio.core.client.CommandWithArg;
 import org.rstudio.core.client.DebouncedCommand;
 import org.rstudio.core.client.Debug;
+import org.rstudio.core.client.TypingLatency;
 import org.rstudio.core.client.js.JsObject;
 import org.rstudio.core.client.patch.SubstringDiff;
 import org.rstudio.core.client.widget.Operation;
@@ -740,9 +741,11 @@ public class DocUpdateSentinel
       if (suspendDetectChanges_ > 0)
          return;
       
+      double start = TypingLatency.start();
       changesPending_ = true;
       if (autosaver_ != null)
          autosaver_.nudge();
+      TypingLatency.stop("Autosave", start);
    }
 
    @Override
@@ -78,6 +78,14 @@ public class SourceDocument extends JavaScriptObject
       this.contents = contents;
    }-*/;
 
+   /**
+    * True if the contents were omitted from the session info, and must be
+    * fetched from the server before the document can be edited.
+    */
+   public native final boolean isContentsDeferred() /*-{
+      return !!this.contents_deferred;
+   }-*/;
+
    /**
     * True if changes have been saved to the ID that have not been persisted
     * to the file.
@@ -0,0 +1,135 @@
+/*
+ * TerminalBinaryDecoder.java
+ *
+ * Copyright (C) 2020 by RStudio, PBC
+ *
+ * Unless you have received this program directly from RStudio pursuant
+ * to the terms of a commercial license agreement with RStudio, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.workbench.views.terminal;
+
+import org.rstudio.core.client.CommandWithArg;
+import org.rstudio.core.client.Debug;
+
+import com.google.gwt.core.client.JavaScriptObject;
+
+/**
+ * Decodes binary Terminal Websocket messages (see TerminalSocketPacket) into
+ * text. UTF-8 is decoded incrementally, so a character split across frames
+ * is decoded once the rest of it arrives. Compressed frames are inflated
+ * asynchronously; text is always delivered in the order it was sent.
+ */
+public class TerminalBinaryDecoder
+{
+   /**
+    * @param onText called with each piece of decoded text
+    */
+   public TerminalBinaryDecoder(CommandWithArg<String> onText)
+   {
+      onText_ = onText;
+      state_ = createState();
+   }
+
+   /**
+    * @return Whether the browser can decode binary messages
+    */
+   public static native boolean isSupported() /*-{
+      return typeof $wnd.TextDecoder !== "undefined" &&
+             typeof $wnd.DataView !== "undefined";
+   }-*/;
+
+   /**
+    * @return Whether the browser can inflate compressed frames
+    */
+   public static native boolean isDeflateSupported() /*-{
+      return typeof $wnd.DecompressionStream !== "undefined" &&
+             typeof $wnd.Response !== "undefined";
+   }-*/;
+
+   /**
+    * Decode a binary message.
+    * @param data the message, as an ArrayBuffer
+    */
+   public native void decode(JavaScriptObject data) /*-{
+      var self = this;
+      var state = this.@org.rstudio.studio.client.workbench.views.terminal.TerminalBinaryDecoder::state_;
+
+      var deliver = function(type, payload) {
+         if (type !== @org.rstudio.studio.client.workbench.views.terminal.TerminalSocketPacket::BINARY_TEXT_TYPE)
+            return;
+         var text = state.decoder.decode(payload, { stream: true });
+         if (text.length)
+            self.@org.rstudio.studio.client.workbench.views.terminal.TerminalBinaryDecoder::onText(Ljava/lang/String;)(text);
+      };
+
+      // once a frame is waiting to be inflated, frames after it wait too
+      var enqueue = function(work) {
+         state.pending++;
+         state.queue = state.queue.then(work).then(null, function(e) {
+            @org.rstudio.studio.client.workbench.views.terminal.TerminalBinaryDecoder::onError(Ljava/lang/String;)(String(e));
+         }).then(function() {
+            state.pending--;
+         });
+      };
+
+      var view = new $wnd.DataView(data);
+      var bytes = new $wnd.Uint8Array(data);
+      var offset = 0;
+      while (offset + 6 <= bytes.length) {
+         var type = bytes[offset];
+         var flags = bytes[offset + 1];
+         var length = view.getUint32(offset + 2);
+         var payload = bytes.subarray(offset + 6, offset + 6 + length);
+         offset += 6 + length;
+
+         if (flags & @org.rstudio.studio.client.workbench.views.terminal.TerminalSocketPacket::BINARY_DEFLATE_FLAG) {
+            (function(type, payload) {
+               enqueue(function() {
+                  var stream = new $wnd.Blob([payload]).stream()
+                     .pipeThrough(new $wnd.DecompressionStream("deflate"));
+                  return new $wnd.Response(stream).arrayBuffer().then($entry(function(inflated) {
+                     deliver(type, new $wnd.Uint8Array(inflated));
+                  }));
+               });
+            })(type, payload);
+         }
+         else if (state.pending > 0) {
+            (function(type, payload) {
+               enqueue($entry(function() {
+                  deliver(type, payload);
+               }));
+            })(type, payload);
+         }
+         else {
+            deliver(type, payload);
+         }
+      }
+   }-*/;
+
+   private void onText(String text)
+   {
+      onText_.execute(text);
+   }
+
+   private static void onError(String message)
+   {
+      Debug.log("Error decoding terminal output: " + message);
+   }
+
+   private static native JavaScriptObject createState() /*-{
+      return {
+         decoder: new $wnd.TextDecoder("utf-8"),
+         queue: $wnd.Promise.resolve(),
+         pending: 0
+      };
+   }-*/;
+
+   private final CommandWithArg<String> onText_;
+   private final JavaScriptObject state_;
+}
@@ -908,7 +908,7 @@ public class TerminalPane extends WorkbenchPane
       {
          // update the toolbar label if currently displayed terminal has changed
          // its title
-         setTerminalTitle(retitledTerm.getTitle());
+         setTerminalTitle(retitledTerm.getToolbarTitle());
       }
 
       // Update local metadata
@@ -1007,7 +1007,7 @@ public class TerminalPane extends WorkbenchPane
          });
          activeTerminalToolbarButton_.setActiveTerminal(
                visibleTerminal.getCaption(), visibleTerminal.getHandle());
-         setTerminalTitle(visibleTerminal.getTitle());
+         setTerminalTitle(visibleTerminal.getToolbarTitle());
       }
    }
 
@@ -25,7 +25,6 @@ import org.rstudio.core.client.HandlerRegistrations;
 import org.rstudio.core.client.ResultCallback;
 import org.rstudio.core.client.StringUtil;
 import org.rstudio.studio.client.RStudioGinjector;
-import org.rstudio.studio.client.application.Desktop;
 import org.rstudio.studio.client.application.events.EventBus;
 import org.rstudio.studio.client.application.events.SessionSerializationEvent;
 import org.rstudio.studio.client.application.events.ThemeChangedEvent;
@@ -261,8 +260,11 @@ public class TerminalSession extends XTermWidget
     */
    public void disconnect(boolean permanent)
    {
-      inputQueue_.setLength(0);
+      clearInputQueue();
       inputSequence_ = ShellInput.IGNORE_SEQUENCE;
+      inputInFlight_ = 0;
+      inputDrainTimer_.cancel();
+      updatePasteProgress();
       socket_.disconnect(permanent);
       registrations_.removeHandler();
       consoleProcess_ = null;
@@ -355,6 +357,10 @@ public class TerminalSession extends XTermWidget
    {
       if (input != null)
       {
+         // Ctrl+C cancels whatever is left of a paste
+         if (StringUtil.equals(input, CTRL_C) && getPendingInputLength() > 0)
+            clearInputQueue();
+
          inputQueue_.append(input);
       }
 
@@ -388,74 +394,171 @@ public class TerminalSession extends XTermWidget
    /**
     * Send user input to the server, breaking down into chunks. We do this
     * for when a large amount of text is pasted into the terminal; we don't
-    * want to overwhelm the RPC.
+    * want to overwhelm the channel. Over RPC, several chunks are sent at a
+    * time (the server uses their sequence numbers to put them back in
+    * order); over a WebSocket, larger chunks are sent as long as the socket
+    * isn't still busy sending earlier ones.
     */
    private void sendUserInput()
    {
-      final int MAXCHUNK = 128;
-      String userInput;
+      // sending over a WebSocket completes synchronously; don't recurse
+      if (sendingInput_ || consoleProcess_ == null)
+         return;
 
-      if (inputQueue_.length() == 0)
+      sendingInput_ = true;
+      boolean rpc = consoleProcess_.getChannelMode() == ConsoleProcessInfo.CHANNEL_RPC;
+      while (getPendingInputLength() > 0)
       {
-         return;
+         if (rpc && inputInFlight_ >= RPC_MAX_INPUT_IN_FLIGHT)
+            break;
+
+         // the server discards whatever it has queued when it receives a
+         // flush, so a flush is sent alone: after earlier chunks complete,
+         // and with later chunks waiting until it does
+         if (rpc && inputInFlight_ > 0 && isFlushInFlightOrNext())
+            break;
+
+         if (!rpc && socket_.isInputBufferFull())
+         {
+            // check again once the socket has had time to drain
+            inputDrainTimer_.schedule(INPUT_DRAIN_INTERVAL_MS);
+            break;
+         }
+
+         String userInput = takeInput(rpc ? RPC_MAX_CHUNK : WEBSOCKET_MAX_CHUNK);
+         if (rpc)
+            nextInputSequence();
+
+         inputInFlight_++;
+         socket_.dispatchInput(inputSequence_, userInput, doLocalEcho(),
+               new VoidServerRequestCallback() {
+
+                  @Override
+                  public void onResponseReceived(Void response)
+                  {
+                     inputInFlight_ = Math.max(0, inputInFlight_ - 1);
+                     sendUserInput();
+                  }
+
+                  @Override
+                  public void onError(ServerError error)
+                  {
+                     inputInFlight_ = Math.max(0, inputInFlight_ - 1);
+
+                     // the server won't see this sequence number, so have
+                     // it flush its queue rather than wait for it; the rest
+                     // of the input is dropped rather than sent with a hole
+                     // in it
+                     inputSequence_ = ShellInput.IGNORE_SEQUENCE;
+                     clearInputQueue();
+                     updatePasteProgress();
+                     Debug.logError(error);
+                     writeError(error.getUserMessage());
+                  }
+               });
       }
-      if (inputQueue_.length() > MAXCHUNK)
+      sendingInput_ = false;
+
+      updatePasteProgress();
+   }
+
+   /**
+    * Sequence numbers are sent with input over RPC so that the server can
+    * put messages which arrive out of order back in order.
+    */
+   private void nextInputSequence()
+   {
+      if (inputSequence_ == ShellInput.IGNORE_SEQUENCE)
       {
-         userInput = inputQueue_.substring(0, MAXCHUNK);
-         inputQueue_.delete(0, MAXCHUNK);
+         // First message sent for this client-side terminal instance, start
+         // by flushing the server-side queue to reset server's "last-sequence"
+         // back to default.
+         inputSequence_ = ShellInput.FLUSH_SEQUENCE;
       }
-      else
+      else if (inputSequence_ == ShellInput.FLUSH_SEQUENCE)
       {
-         userInput = inputQueue_.toString();
-         inputQueue_.setLength(0);
+         // Last message has flushed server, start tracking sequences again.
+         inputSequence_ = 0;
       }
-
-      // On desktop, rapid typing sometimes causes RPC messages for writeStandardInput
-      // to arrive out of sequence in the terminal; send a sequence number with each
-      // message so server can put messages back in order
-      if (Desktop.hasDesktopFrame() &&
-            consoleProcess_.getChannelMode() == ConsoleProcessInfo.CHANNEL_RPC)
+      else if (inputSequence_ >= MAX_INPUT_SEQUENCE)
       {
-         if (inputSequence_ == ShellInput.IGNORE_SEQUENCE)
-         {
-            // First message sent for this client-side terminal instance, start
-            // by flushing the server-side queue to reset server's "last-sequence"
-            // back to default.
-            inputSequence_ = ShellInput.FLUSH_SEQUENCE;
-         }
-         else if (inputSequence_ == ShellInput.FLUSH_SEQUENCE)
-         {
-            // Last message has flushed server, start tracking sequences again.
-            inputSequence_ = 0;
-         }
-         else if (inputSequence_ >= Integer.MAX_VALUE - 100)
-         {
-            // Very diligent typist!  Tell server to flush its input
-            // queue, temporarily ignoring sequences.
-            inputSequence_ = ShellInput.FLUSH_SEQUENCE;
-         }
-         else
-         {
-            inputSequence_++;
-         }
+         // Very diligent typist!  Tell server to flush its input
+         // queue, temporarily ignoring sequences.
+         inputSequence_ = ShellInput.FLUSH_SEQUENCE;
       }
+      else
+      {
+         inputSequence_++;
+      }
+   }
 
-      socket_.dispatchInput(inputSequence_, userInput, doLocalEcho(),
-            new VoidServerRequestCallback() {
+   /**
+    * @return Whether the last RPC input chunk sent, or the next one to be
+    *    sent, flushes the server's input queue
+    */
+   private boolean isFlushInFlightOrNext()
+   {
+      return inputSequence_ == ShellInput.IGNORE_SEQUENCE ||
+             inputSequence_ == ShellInput.FLUSH_SEQUENCE ||
+             inputSequence_ >= MAX_INPUT_SEQUENCE;
+   }
 
-               @Override
-               public void onResponseReceived(Void response)
-               {
-                  sendUserInput();
-               }
+   private int getPendingInputLength()
+   {
+      return inputQueue_.length() - inputQueuePos_;
+   }
 
-               @Override
-               public void onError(ServerError error)
-               {
-                  Debug.logError(error);
-                  writeError(error.getUserMessage());
-               }
-            });
+   private String takeInput(int maxLength)
+   {
+      int end = Math.min(inputQueue_.length(), inputQueuePos_ + maxLength);
+      String input = inputQueue_.substring(inputQueuePos_, end);
+      inputQueuePos_ = end;
+
+      // rather than removing each chunk from the front of the queue, empty
+      // it once everything has been taken
+      if (inputQueuePos_ == inputQueue_.length())
+         clearInputQueue();
+
+      return input;
+   }
+
+   private void clearInputQueue()
+   {
+      inputQueue_.setLength(0);
+      inputQueuePos_ = 0;
+   }
+
+   /**
+    * @return Whether a large amount of input (e.g. a paste) is waiting to be
+    *    sent
+    */
+   public boolean isPasting()
+   {
+      return getPendingInputLength() >= PASTE_PROGRESS_THRESHOLD;
+   }
+
+   /**
+    * @return The title to show for the terminal in the toolbar; this shows
+    *    progress while a large paste is being sent
+    */
+   public String getToolbarTitle()
+   {
+      if (!isPasting())
+         return getTitle();
+
+      return "Sending input: " +
+            StringUtil.formatFileSize(getPendingInputLength()) +
+            " left (Ctrl+C to cancel)";
+   }
+
+   private void updatePasteProgress()
+   {
+      String progress = isPasting() ? getToolbarTitle() : null;
+      if (!StringUtil.equals(progress, pasteProgress_))
+      {
+         pasteProgress_ = progress;
+         eventBus_.fireEvent(new TerminalTitleEvent(this));
+      }
    }
 
    /**
@@ -549,6 +652,17 @@ public class TerminalSession extends XTermWidget
             new SimpleRequestCallback<>("Clearing Buffer"));
    }
 
+   /**
+    * Clear the terminal, including output which hasn't been written to it
+    * yet.
+    */
+   @Override
+   public void clear()
+   {
+      socket_.discardPendingOutput();
+      super.clear();
+   }
+
    /**
     * Send an interrupt (SIGINT) to the terminal's child process
     */
@@ -571,6 +685,7 @@ public class TerminalSession extends XTermWidget
 
    protected void writeError(String msg)
    {
+      socket_.flushPendingOutput();
       writeln(AnsiCode.ForeColor.RED + "Error: " + msg + AnsiCode.DEFAULTCOLORS);
    }
 
@@ -727,6 +842,8 @@ public class TerminalSession extends XTermWidget
     */
    public void reloadBuffer()
    {
+      // the reloaded buffer includes any output not yet written
+      socket_.discardPendingOutput();
       deferredOutput_.clear();
       if (newTerminal_)
       {
@@ -823,6 +940,7 @@ public class TerminalSession extends XTermWidget
 
    public void showZombieMessage()
    {
+      socket_.flushPendingOutput();
       writeln("[Process completed]");
       accept("[Exit code: ");
       if (procInfo_.getExitCode() != null)
@@ -841,6 +959,7 @@ public class TerminalSession extends XTermWidget
     */
    public void writeRestartSequence()
    {
+      socket_.flushPendingOutput();
       if (consoleProcess_ != null &&
             consoleProcess_.getProcessInfo().getRestarted() &&
             !restartSequenceWritten_)
@@ -952,11 +1071,40 @@ public class TerminalSession extends XTermWidget
    private final ArrayList<String> deferredOutput_ = new ArrayList<>();
    private boolean restartSequenceWritten_;
    private final StringBuilder inputQueue_ = new StringBuilder();
+   private int inputQueuePos_;
    private int inputSequence_ = ShellInput.IGNORE_SEQUENCE;
+   private int inputInFlight_;
+   private boolean sendingInput_;
+   private String pasteProgress_;
+   private final Timer inputDrainTimer_ = new Timer()
+   {
+      @Override
+      public void run()
+      {
+         sendUserInput();
+      }
+   };
    private boolean newTerminal_ = true;
    private boolean showAltAfterReload_;
    private final boolean createdByApi_;
 
+   private static final String CTRL_C = "\u0003";
+
+   // input is sent in chunks of at most this many characters
+   private static final int RPC_MAX_CHUNK = 1024;
+   private static final int WEBSOCKET_MAX_CHUNK = 16384;
+
+   // the number of RPC input requests sent before waiting for one to complete
+   private static final int RPC_MAX_INPUT_IN_FLIGHT = 4;
+
+   private static final int INPUT_DRAIN_INTERVAL_MS = 20;
+
+   // input sequence numbers wrap around (via a flush) past this
+   private static final int MAX_INPUT_SEQUENCE = Integer.MAX_VALUE - 100;
+
+   // show progress when at least this much input is waiting to be sent
+   private static final int PASTE_PROGRESS_THRESHOLD = 16384;
+
    // Injected ----
    private WorkbenchServerOperations server_;
    private EventBus eventBus_;
@@ -31,8 +31,11 @@ import org.rstudio.studio.client.server.VoidServerRequestCallback;
 import org.rstudio.studio.client.workbench.views.terminal.events.TerminalDataInputEvent;
 import org.rstudio.studio.client.workbench.views.terminal.xterm.XTermWidget;
 
+import com.google.gwt.animation.client.AnimationScheduler;
 import com.google.gwt.core.client.GWT;
+import com.google.gwt.core.client.JavaScriptObject;
 import com.google.gwt.event.shared.HandlerRegistration;
+import com.sksamuel.gwt.websockets.BinaryWebsocketListener;
 import com.sksamuel.gwt.websockets.CloseEvent;
 import com.sksamuel.gwt.websockets.Websocket;
 import com.sksamuel.gwt.websockets.WebsocketListenerExt;
@@ -64,6 +67,11 @@ public class TerminalSessionSocket
       void connectionDisconnected();
    }
 
+   private interface TerminalWebsocketListener extends WebsocketListenerExt,
+                                                       BinaryWebsocketListener
+   {
+   }
+
    public interface ConnectCallback
    {
       /**
@@ -192,7 +200,8 @@ public class TerminalSessionSocket
 
          diagnostic_.log("Connect WebSocket: '" + url + "'");
          socket_ = new Websocket(url);
-         socket_.addListener(new WebsocketListenerExt()
+         binaryDecoder_ = null;
+         socket_.addListener(new TerminalWebsocketListener()
          {
             @Override
             public void onClose(CloseEvent event)
@@ -222,11 +231,28 @@ public class TerminalSessionSocket
                }
             }
 
+            @Override
+            public void onBinaryMessage(JavaScriptObject data)
+            {
+               if (binaryDecoder_ != null)
+                  binaryDecoder_.decode(data);
+            }
+
             @Override
             public void onOpen()
             {
                connectWebSocketTimer_.cancel();
                diagnostic_.log("WebSocket connected");
+
+               // ask for output in binary messages, which can be compressed
+               // and are decoded without intermediate copies
+               if (TerminalBinaryDecoder.isSupported() && socket_ != null)
+               {
+                  binaryDecoder_ = new TerminalBinaryDecoder(
+                        text -> onConsoleOutput(new ConsoleOutputEvent(text)));
+                  socket_.send(TerminalSocketPacket.binaryModePacket(
+                        TerminalBinaryDecoder.isDeflateSupported()));
+               }
                callback.onConnected();
                if (webSocketPingInterval_ > 0)
                {
@@ -324,13 +350,127 @@ public class TerminalSessionSocket
    }
 
    /**
-    * Send output to the terminal emulator.
+    * @return true if input sent over the WebSocket hasn't been sent on to
+    * the server yet, and more input shouldn't be queued up behind it
+    */
+   public boolean isInputBufferFull()
+   {
+      return socket_ != null &&
+            socket_.getBufferedAmount() > WEBSOCKET_INPUT_WINDOW;
+   }
+
+   /**
+    * Send output to the terminal emulator. Output is buffered and written to
+    * the terminal at most once per animation frame (or periodically while the
+    * browser isn't drawing frames, e.g. in a background tab), and held back
+    * while the terminal is still processing earlier output.
     * @param output text to send to the terminal
     * @param detectLocalEcho local-echo detection
     */
    public void dispatchOutput(String output, boolean detectLocalEcho)
    {
-      if (detectLocalEcho && PASSWORD_PATTERN.test(output))
+      pendingOutput_.append(output);
+      detectLocalEcho_ = detectLocalEcho;
+
+      if (pendingOutput_.length() > MAX_PENDING_OUTPUT)
+      {
+         // in a visible tab the terminal is merely slow, so give it the
+         // output anyway (it queues writes itself) rather than lose any
+         if (!isDocumentHidden())
+         {
+            flushOutput(true);
+            return;
+         }
+
+         // the browser throttles the terminal's processing in a hidden tab,
+         // so output can arrive far faster than it is shown; drop the oldest
+         // output (at a line boundary) rather than buffering without limit,
+         // and show where output was dropped
+         int start = pendingOutput_.indexOf("\n",
+               pendingOutput_.length() - MAX_PENDING_OUTPUT / 2);
+         pendingOutput_.delete(0, start == -1 ?
+               pendingOutput_.length() - MAX_PENDING_OUTPUT / 2 : start + 1);
+         outputTruncated_ = true;
+      }
+
+      scheduleOutputFlush();
+   }
+
+   private void scheduleOutputFlush()
+   {
+      if (outputFlushScheduled_)
+         return;
+
+      // animation frames aren't drawn while the tab is hidden, so flush on a
+      // timer too; whichever comes first cancels the other
+      outputFlushScheduled_ = true;
+      outputFrame_ = AnimationScheduler.get().requestAnimationFrame(
+            timestamp -> flushOutput(false));
+      outputFlushTimer_.schedule(OUTPUT_FLUSH_FALLBACK_MS);
+   }
+
+   private void cancelOutputFlush()
+   {
+      outputFlushScheduled_ = false;
+      outputFlushTimer_.cancel();
+      if (outputFrame_ != null)
+      {
+         outputFrame_.cancel();
+         outputFrame_ = null;
+      }
+   }
+
+   /**
+    * Write buffered output to the terminal now; call before writing to the
+    * terminal directly so that output appears in the order it was produced.
+    */
+   public void flushPendingOutput()
+   {
+      flushOutput(true);
+   }
+
+   /**
+    * Discard buffered output which hasn't been written to the terminal yet.
+    */
+   public void discardPendingOutput()
+   {
+      cancelOutputFlush();
+      pendingOutput_.setLength(0);
+      outputTruncated_ = false;
+   }
+
+   /**
+    * @param force write the output even if the terminal hasn't caught up
+    */
+   private void flushOutput(boolean force)
+   {
+      cancelOutputFlush();
+
+      if (pendingOutput_.length() == 0)
+         return;
+
+      // wait for the terminal to catch up before giving it more
+      if (!force && xterm_.getPendingWriteLength() > MAX_XTERM_PENDING_WRITE)
+      {
+         scheduleOutputFlush();
+         return;
+      }
+
+      String output = pendingOutput_.toString();
+      pendingOutput_.setLength(0);
+
+      if (outputTruncated_)
+      {
+         // escape sequences in the dropped output may have left colors,
+         // scroll regions etc. set; reset them before the marker
+         outputTruncated_ = false;
+         xterm_.accept(OUTPUT_TRUNCATED_MARKER);
+      }
+
+      // a password prompt will be at the end of the output, so there's no
+      // need to scan all of it
+      if (detectLocalEcho_ && PASSWORD_PATTERN.test(
+            output.substring(Math.max(0, output.length() - PASSWORD_SCAN_LENGTH))))
       {
          // If user is changing password, temporarily stop local-echo
          // to reduce chances of showing their password. Note that echo
@@ -342,7 +482,7 @@ public class TerminalSessionSocket
          // their typed password characters being echoed.
          localEcho_.pause(1000);
       }
-      if (!detectLocalEcho || localEcho_.isEmpty())
+      if (!detectLocalEcho_ || localEcho_.isEmpty())
       {
          xterm_.accept(output);
          return;
@@ -381,6 +521,7 @@ public class TerminalSessionSocket
    public void disconnect(boolean permanent)
    {
       diagnostic_.log(permanent ? "Permanently Disconnected" : "Disconnected");
+      flushPendingOutput();
       if (socket_ != null)
          socket_.close();
       socket_ = null;
@@ -417,6 +558,10 @@ public class TerminalSessionSocket
    {
    }
 
+   private static native boolean isDocumentHidden() /*-{
+      return !!$doc.hidden;
+   }-*/;
+
    private final HandlerRegistrations registrations_ = new HandlerRegistrations();
    private final Session session_;
    private final XTermWidget xterm_;
@@ -424,14 +569,50 @@ public class TerminalSessionSocket
    private ConnectCallback connectCallback_;
    private HandlerRegistration terminalInputHandler_;
    private Websocket socket_;
+   private TerminalBinaryDecoder binaryDecoder_;
    private final TerminalLocalEcho localEcho_;
    private final TerminalDiagnostics diagnostic_ = new TerminalDiagnostics();
+   private final StringBuilder pendingOutput_ = new StringBuilder();
+   private boolean detectLocalEcho_;
+   private boolean outputFlushScheduled_;
+   private boolean outputTruncated_;
+   private AnimationScheduler.AnimationHandle outputFrame_;
+   private final Timer outputFlushTimer_ = new Timer()
+   {
+      @Override
+      public void run()
+      {
+         flushOutput(false);
+      }
+   };
+
+   // milliseconds to wait for an animation frame before flushing output
+   // anyway
+   private static final int OUTPUT_FLUSH_FALLBACK_MS = 100;
+
+   // characters of output the terminal may still be processing before more
+   // is written to it
+   private static final int MAX_XTERM_PENDING_WRITE = 262144;
+
+   // characters of output held in a hidden tab while waiting for the
+   // terminal
+   private static final int MAX_PENDING_OUTPUT = 4194304;
+
+   // soft terminal reset (DECSTR), then a notice that output was dropped
+   private static final String OUTPUT_TRUNCATED_MARKER =
+         "\u001b[!p\u001b[m\r\n[Output truncated: the terminal could not keep up]\r\n";
+
+   // characters at the end of the output checked for a password prompt
+   private static final int PASSWORD_SCAN_LENGTH = 256;
 
    // RegEx to match common password prompts
    private static final String PASSWORD_REGEX = "(?:password:)|(?:passphrase:)";
 
    public static final Pattern PASSWORD_PATTERN = Pattern.create(PASSWORD_REGEX, "im");
 
+   // bytes of input which may be waiting to be sent over the WebSocket
+   private static final int WEBSOCKET_INPUT_WINDOW = 65536;
+
    private final Timer keepAliveTimer_;
    private final int webSocketPingInterval_;
    private final Timer connectWebSocketTimer_;
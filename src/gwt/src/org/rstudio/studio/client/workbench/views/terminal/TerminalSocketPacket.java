@@ -25,9 +25,16 @@ import org.rstudio.core.client.StringUtil;
  * First character is a method indicator, as follows:
  *    "a" = send text, e.g. "aHello"
  *    "b" = ping/pong, e.g. "b"
+ *    "c" = ask the server to send output in binary messages, e.g. "c", or
+ *          "cdeflate" if compressed frames can be inflated
  *
  * Only the "send text" method has a payload (everything after the "a").
  *
+ * Binary messages from the server hold one or more frames: type (1 byte,
+ * "a" for text), flags (1 byte), payload length (4 bytes, big-endian), and
+ * the payload, which for text is UTF-8 (zlib-compressed if flags has
+ * BINARY_DEFLATE_FLAG set). See TerminalBinaryDecoder.
+ *
  * See SessionConsoleProcessSocketPacket in session code for C++ side of this sophisticated
  * wire format.
  */
@@ -43,6 +50,11 @@ public class TerminalSocketPacket
       return keepAlivePrefix;
    }
 
+   public static String binaryModePacket(boolean deflate)
+   {
+      return binaryModePrefix + (deflate ? deflateOption : "");
+   }
+
    public static boolean isKeepAlive(String text)
    {
       return StringUtil.equals(text, keepAlivePrefix);
@@ -59,4 +71,9 @@ public class TerminalSocketPacket
 
    private static final String keepAlivePrefix = "b";
    private static final String textPrefix = "a";
+   private static final String binaryModePrefix = "c";
+   private static final String deflateOption = "deflate";
+
+   public static final int BINARY_TEXT_TYPE = 'a';
+   public static final int BINARY_DEFLATE_FLAG = 0x01;
 }
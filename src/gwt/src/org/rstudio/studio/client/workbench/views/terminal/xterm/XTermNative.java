@@ -19,6 +19,7 @@ import org.rstudio.core.client.CommandWithArg;
 
 import com.google.gwt.core.client.JavaScriptObject;
 import com.google.gwt.dom.client.Element;
+import com.google.gwt.user.client.Command;
 
 /**
  * <code>JavaScriptObject</code> wrapper for xterm.js
@@ -64,6 +65,17 @@ public class XTermNative extends JavaScriptObject
       this.write(data);
    }-*/;
 
+   /**
+    * Write text to the terminal.
+    * @param data String to write
+    * @param onWritten called once the terminal has processed the text
+    */
+   public final native void write(String data, Command onWritten) /*-{
+      this.write(data, $entry(function() {
+         onWritten.@com.google.gwt.user.client.Command::execute()();
+      }));
+   }-*/;
+
    /**
     * Compute and return available dimensions for terminal.
     * @return Visible number of columns and rows
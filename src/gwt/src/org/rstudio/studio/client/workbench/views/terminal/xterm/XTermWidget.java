@@ -142,7 +142,21 @@ public class XTermWidget extends Widget
    public void accept(String str)
    {
       terminal_.scrollToBottom();
-      terminal_.write(str);
+
+      // xterm processes writes asynchronously; keep track of how much it
+      // hasn't got to yet
+      final int length = str.length();
+      pendingWriteLength_ += length;
+      terminal_.write(str, () -> pendingWriteLength_ -= length);
+   }
+
+   /**
+    * @return The number of characters written to the terminal which it
+    * hasn't processed yet
+    */
+   public int getPendingWriteLength()
+   {
+      return pendingWriteLength_;
    }
 
    /**
@@ -460,6 +474,7 @@ public class XTermWidget extends Widget
    private boolean initialized_ = false;
    private XTermOptions options_;
    private boolean tabMovesFocus_;
+   private int pendingWriteLength_;
 
    private final static String XTERM_CLASS = "xterm-rstudio";
 }
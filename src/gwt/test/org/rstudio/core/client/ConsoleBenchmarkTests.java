@@ -0,0 +1,342 @@
+/*
+ * ConsoleBenchmarkTests.java
+ *
+ * Copyright (C) 2020 by RStudio, PBC
+ *
+ * Unless you have received this program directly from RStudio pursuant
+ * to the terms of a commercial license agreement with RStudio, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.core.client;
+
+import org.rstudio.core.client.dom.DomUtils;
+import org.rstudio.studio.client.workbench.prefs.model.UserPrefs;
+
+import com.google.gwt.core.client.Duration;
+import com.google.gwt.dom.client.Document;
+import com.google.gwt.dom.client.Element;
+import com.google.gwt.dom.client.Node;
+import com.google.gwt.dom.client.NodeList;
+import com.google.gwt.dom.client.PreElement;
+import com.google.gwt.junit.client.GWTTestCase;
+
+import junit.framework.Assert;
+
+// Throughput benchmarks for the console output hot path (VirtualConsole,
+// AnsiCode, DomUtils line counting/trimming). Each workload is generated
+// deterministically so results are comparable between runs; timings and
+// peak DOM node counts are logged, and DOM growth is asserted against
+// bounds so that trimming regressions fail the run. Run via the
+// 'benchmark' ant target (RStudioBenchmarkSuite), not the unit test suite.
+
+public class ConsoleBenchmarkTests extends GWTTestCase
+{
+   @Override
+   public String getModuleName()
+   {
+      return "org.rstudio.studio.RStudioTests";
+   }
+
+   private static class FakePrefs implements VirtualConsole.Preferences
+   {
+      @Override
+      public int truncateLongLinesInConsoleHistory()
+      {
+         return 1000;
+      }
+
+      @Override
+      public String consoleAnsiMode()
+      {
+         return UserPrefs.ANSI_CONSOLE_MODE_ON;
+      }
+
+      @Override
+      public boolean screenReaderEnabled()
+      {
+         return false;
+      }
+   }
+
+   private class VCFactory implements VirtualConsoleFactory
+   {
+      @Override
+      public VirtualConsole create(Element elem)
+      {
+         return new VirtualConsole(elem, new FakePrefs());
+      }
+   }
+
+   /**
+    * Accumulates timing and DOM statistics for a single workload; only time
+    * spent inside the console is counted, DOM sampling is excluded.
+    */
+   private static class BenchmarkResult
+   {
+      public BenchmarkResult(String name)
+      {
+         name_ = name;
+      }
+
+      public void begin()
+      {
+         start_ = Duration.currentTimeMillis();
+      }
+
+      public void end(int chars)
+      {
+         elapsedMs_ += Duration.currentTimeMillis() - start_;
+         chars_ += chars;
+      }
+
+      public void sample(Node root)
+      {
+         peakNodes_ = Math.max(peakNodes_, countNodes(root));
+      }
+
+      public int getPeakNodes()
+      {
+         return peakNodes_;
+      }
+
+      public void report()
+      {
+         double seconds = Math.max(elapsedMs_, 1) / 1000.0;
+         Debug.log("[benchmark] " + name_ +
+               ": " + chars_ + " chars in " + Math.round(elapsedMs_) + "ms" +
+               ", " + Math.round(chars_ / seconds) + " chars/sec" +
+               ", peak DOM nodes " + peakNodes_);
+      }
+
+      private final String name_;
+      private double start_;
+      private double elapsedMs_ = 0;
+      private long chars_ = 0;
+      private int peakNodes_ = 0;
+   }
+
+   private static int countNodes(Node node)
+   {
+      int count = 1;
+      NodeList<Node> children = node.getChildNodes();
+      for (int i = 0; i < children.getLength(); i++)
+         count += countNodes(children.getItem(i));
+      return count;
+   }
+
+   private ConsoleOutputWriter getCOW()
+   {
+      ConsoleOutputWriter output = new ConsoleOutputWriter(new VCFactory(), null);
+      output.setMaxOutputLines(MAX_LINES);
+      return output;
+   }
+
+   // Deterministic pseudo-random line content so workloads are reproducible.
+   private static String line(int i, int width)
+   {
+      StringBuilder sb = new StringBuilder();
+      sb.append(i).append(": ");
+      int seed = i % 65537;
+      while (sb.length() < width - 1)
+      {
+         seed = (seed * 75 + 74) % 65537;
+         sb.append((char)('a' + (seed % 26)));
+         if (seed % 7 == 0)
+            sb.append(' ');
+      }
+      sb.append('\n');
+      return sb.toString();
+   }
+
+   private static String chunk(int firstLine, int size)
+   {
+      StringBuilder sb = new StringBuilder();
+      int i = firstLine;
+      while (sb.length() < size)
+         sb.append(line(i++, LINE_WIDTH));
+      return sb.toString();
+   }
+
+   private static String sgrChunk(int firstLine, int size)
+   {
+      StringBuilder sb = new StringBuilder();
+      int i = firstLine;
+      while (sb.length() < size)
+      {
+         String[] words = line(i++, LINE_WIDTH).split(" ");
+         for (int w = 0; w < words.length; w++)
+         {
+            int color = AnsiCode.FOREGROUND_MIN + ((i + w) % 8);
+            sb.append(AnsiCode.CSI).append(color).append(AnsiCode.SGR)
+              .append(words[w])
+              .append(AnsiCode.CSI).append(AnsiCode.RESET).append(AnsiCode.SGR)
+              .append(' ');
+         }
+      }
+      return sb.toString();
+   }
+
+   private BenchmarkResult runWorkload(String name, String[] chunks, boolean[] errors)
+   {
+      ConsoleOutputWriter output = getCOW();
+      BenchmarkResult result = new BenchmarkResult(name);
+      for (int i = 0; i < chunks.length; i++)
+      {
+         boolean isError = errors != null && errors[i];
+         result.begin();
+         output.outputToConsole(chunks[i], isError ? "error" : null, isError, false, false);
+         result.end(chunks[i].length());
+         if (i % SAMPLE_INTERVAL == 0 || i == chunks.length - 1)
+            result.sample(output.getElement());
+      }
+      result.report();
+      Assert.assertTrue(name + ": exceeded max lines",
+            output.getCurrentLines() <= MAX_LINES);
+      return result;
+   }
+
+   public void testPlainOutput()
+   {
+      int count = PLAIN_TOTAL / CHUNK_SIZE;
+      String[] chunks = new String[count];
+      int linesPerChunk = CHUNK_SIZE / LINE_WIDTH + 1;
+      for (int i = 0; i < count; i++)
+         chunks[i] = chunk(i * linesPerChunk, CHUNK_SIZE);
+
+      BenchmarkResult result = runWorkload("plain output", chunks, null);
+      Assert.assertTrue(result.getPeakNodes() < PLAIN_NODE_LIMIT);
+   }
+
+   public void testDenseSgrOutput()
+   {
+      int count = SGR_TOTAL / CHUNK_SIZE;
+      String[] chunks = new String[count];
+      for (int i = 0; i < count; i++)
+         chunks[i] = sgrChunk(i * 16, CHUNK_SIZE);
+
+      BenchmarkResult result = runWorkload("dense SGR output", chunks, null);
+      Assert.assertTrue(result.getPeakNodes() < SGR_NODE_LIMIT);
+   }
+
+   public void testProgressBarOutput()
+   {
+      String[] chunks = new String[PROGRESS_UPDATES];
+      for (int i = 0; i < PROGRESS_UPDATES; i++)
+      {
+         int pct = (i * 100) / PROGRESS_UPDATES;
+         StringBuilder sb = new StringBuilder("\r|");
+         for (int j = 0; j < 50; j++)
+            sb.append(j * 2 < pct ? '=' : ' ');
+         sb.append("| ").append(pct).append('%');
+         if (i == PROGRESS_UPDATES - 1)
+            sb.append('\n');
+         chunks[i] = sb.toString();
+      }
+
+      BenchmarkResult result = runWorkload("progress bar output", chunks, null);
+
+      // carriage returns overwrite in place, so the DOM must not grow
+      Assert.assertTrue(result.getPeakNodes() < PROGRESS_NODE_LIMIT);
+   }
+
+   public void testInterleavedOutput()
+   {
+      int count = INTERLEAVED_TOTAL / SMALL_CHUNK_SIZE;
+      String[] chunks = new String[count];
+      boolean[] errors = new boolean[count];
+      for (int i = 0; i < count; i++)
+      {
+         chunks[i] = chunk(i * 4, SMALL_CHUNK_SIZE);
+         errors[i] = i % 3 == 0;
+      }
+
+      BenchmarkResult result = runWorkload("interleaved stdout/stderr", chunks, errors);
+      Assert.assertTrue(result.getPeakNodes() < INTERLEAVED_NODE_LIMIT);
+   }
+
+   public void testProcessCode()
+   {
+      AnsiCode code = new AnsiCode();
+      String[] codes = new String[] {
+            AnsiCode.CSI + "1;31" + AnsiCode.SGR,
+            AnsiCode.CSI + "38;5;208" + AnsiCode.SGR,
+            AnsiCode.CSI + "48;2;10;20;30" + AnsiCode.SGR,
+            AnsiCode.CSI + "4;92" + AnsiCode.SGR,
+            AnsiCode.CSI + AnsiCode.RESET + AnsiCode.SGR
+      };
+
+      BenchmarkResult result = new BenchmarkResult("AnsiCode.processCode");
+      int chars = 0;
+      result.begin();
+      for (int i = 0; i < PROCESS_CODE_ITERATIONS; i++)
+      {
+         String c = codes[i % codes.length];
+         code.processCode(c);
+         chars += c.length();
+      }
+      result.end(chars);
+      result.report();
+   }
+
+   public void testCountAndTrimLines()
+   {
+      PreElement pre = Document.get().createPreElement();
+      for (int i = 0; i < 200; i++)
+      {
+         Element span = Document.get().createSpanElement();
+         span.setInnerText(chunk(i * 64, CHUNK_SIZE));
+         pre.appendChild(span);
+      }
+      String text = pre.getInnerText();
+
+      BenchmarkResult count = new BenchmarkResult("DomUtils.countLines");
+      int total = 0;
+      count.begin();
+      for (int i = 0; i < COUNT_LINES_ITERATIONS; i++)
+         total = DomUtils.countLines(pre, true);
+      count.end(text.length() * COUNT_LINES_ITERATIONS);
+      count.report();
+      Assert.assertTrue(total > 0);
+
+      BenchmarkResult trim = new BenchmarkResult("DomUtils.trimLines");
+      int trimmed = 0;
+      trim.begin();
+      while (pre.hasChildNodes())
+      {
+         int result = DomUtils.trimLines(pre, 100);
+         if (result == 0)
+            break;
+         trimmed += result;
+      }
+      trim.end(text.length());
+      trim.report();
+      Assert.assertEquals(total, trimmed);
+   }
+
+   // the console's default history limit
+   private static final int MAX_LINES = 1000;
+
+   private static final int LINE_WIDTH = 80;
+   private static final int CHUNK_SIZE = 4096;
+   private static final int SMALL_CHUNK_SIZE = 256;
+   private static final int SAMPLE_INTERVAL = 16;
+
+   private static final int PLAIN_TOTAL = 10 * 1024 * 1024;
+   private static final int SGR_TOTAL = 2 * 1024 * 1024;
+   private static final int INTERLEAVED_TOTAL = 1024 * 1024;
+   private static final int PROGRESS_UPDATES = 20000;
+   private static final int PROCESS_CODE_ITERATIONS = 200000;
+   private static final int COUNT_LINES_ITERATIONS = 50;
+
+   // Upper bounds on DOM size with MAX_LINES of history; these are generous
+   // and exist to catch unbounded growth rather than small regressions.
+   private static final int PLAIN_NODE_LIMIT = 500;
+   private static final int SGR_NODE_LIMIT = 100000;
+   private static final int PROGRESS_NODE_LIMIT = 50;
+   private static final int INTERLEAVED_NODE_LIMIT = 2000;
+}
@@ -0,0 +1,34 @@
+/*
+ * RStudioBenchmarkSuite.java
+ *
+ * Copyright (C) 2020 by RStudio, PBC
+ *
+ * Unless you have received this program directly from RStudio pursuant
+ * to the terms of a commercial license agreement with RStudio, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client;
+
+import org.rstudio.core.client.ConsoleBenchmarkTests;
+
+import com.google.gwt.junit.tools.GWTTestSuite;
+
+import junit.framework.Test;
+
+// Performance benchmarks; kept separate from RStudioUnitTestSuite since
+// the workloads are large. Run with 'ant benchmark'.
+public class RStudioBenchmarkSuite extends GWTTestSuite
+{
+   public static Test suite()
+   {
+      GWTTestSuite suite = new GWTTestSuite("RStudio Benchmark Suite");
+      suite.addTestSuite(ConsoleBenchmarkTests.class);
+
+      return suite;
+   }
+}
@@ -0,0 +1,139 @@
+/*
+ * PanmirrorPandocAstCacheTests.java
+ *
+ * Copyright (C) 2020 by RStudio, PBC
+ *
+ * Unless you have received this program directly from RStudio pursuant
+ * to the terms of a commercial license agreement with RStudio, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.panmirror.pandoc;
+
+import java.util.List;
+
+import org.rstudio.studio.client.panmirror.pandoc.PanmirrorPandocAstCache.Section;
+
+import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.core.client.JsonUtils;
+import com.google.gwt.junit.client.GWTTestCase;
+
+public class PanmirrorPandocAstCacheTests extends GWTTestCase
+{
+   @Override
+   public String getModuleName()
+   {
+      return "org.rstudio.studio.RStudioTests";
+   }
+
+   public void testSplitAtHeadings()
+   {
+      List<Section> sections = PanmirrorPandocAstCache.split(
+            "---\ntitle: Test\n---\n\nIntro\n\n# One\n\nText\n\n## Two\n\nMore");
+      assertEquals(3, sections.size());
+      assertEquals(0, sections.get(0).level);
+      assertTrue(sections.get(0).markdown.startsWith("---\ntitle: Test\n---"));
+      assertEquals(1, sections.get(1).level);
+      assertTrue(sections.get(1).markdown.startsWith("# One"));
+      assertEquals(2, sections.get(2).level);
+      assertTrue(sections.get(2).markdown.startsWith("## Two"));
+   }
+
+   public void testHeadingsInCodeAreNotSplit()
+   {
+      List<Section> sections = PanmirrorPandocAstCache.split(
+            "# One\n\n```\n\n# comment\n\n```\n\n# Two\n\nText");
+      assertEquals(3, sections.size());
+      assertTrue(sections.get(1).markdown.contains("# comment"));
+   }
+
+   public void testHeadingsInTabsetAreNotSplit()
+   {
+      List<Section> sections = PanmirrorPandocAstCache.split(
+            "# One\n\n" +
+            "::: {.panel-tabset}\n\n" +
+            "## Tab A\n\nText\n\n" +
+            "::: note\n\n## Nested\n\n:::\n\n" +
+            "## Tab B\n\nText\n\n" +
+            ":::\n\n" +
+            "# Two\n\nText");
+      assertEquals(3, sections.size());
+      assertEquals(1, sections.get(1).level);
+      assertTrue(sections.get(1).markdown.contains("## Tab A"));
+      assertTrue(sections.get(1).markdown.contains("## Nested"));
+      assertTrue(sections.get(1).markdown.contains("## Tab B"));
+      assertTrue(sections.get(2).markdown.startsWith("# Two"));
+   }
+
+   public void testUnbalancedDivsAreUnsplittable()
+   {
+      assertNull(PanmirrorPandocAstCache.split(
+            "# One\n\n::: {.panel-tabset}\n\n## Tab A\n\n# Two\n\nText"));
+      assertNull(PanmirrorPandocAstCache.split(
+            "# One\n\n:::\n\n# Two\n\nText"));
+   }
+
+   public void testDuplicateHeadingsInDivsAreUnsplittable()
+   {
+      assertNull(PanmirrorPandocAstCache.split(
+            "# One\n\n::: {.panel-tabset}\n\n## Tab\n\n:::\n\n# Two\n\n## Tab\n\nText"));
+   }
+
+   public void testDuplicateIdentifiersAreUnsplittable()
+   {
+      assertNull(PanmirrorPandocAstCache.split(
+            "# Summary\n\nText\n\n## Summary\n\nText"));
+      assertNull(PanmirrorPandocAstCache.split(
+            "# Foo!\n\nText\n\n# Foo?\n\nText"));
+      assertNull(PanmirrorPandocAstCache.split(
+            "# One {#intro}\n\nText\n\n# Intro\n\nText"));
+      assertNotNull(PanmirrorPandocAstCache.split(
+            "# Summary {#first}\n\nText\n\n# Summary {#second}\n\nText"));
+   }
+
+   public void testImplicitHeaderReferencesAreUnsplittable()
+   {
+      assertNull(PanmirrorPandocAstCache.split(
+            "# One\n\nSee [Two].\n\n# Two\n\nText"));
+      assertNull(PanmirrorPandocAstCache.split(
+            "# One\n\nText\n\n# Two\n\nSee [one][]."));
+      assertNotNull(PanmirrorPandocAstCache.split(
+            "# One\n\nSee [Two](#two).\n\n# Two\n\nText"));
+   }
+
+   public void testHtmlBlocksAreUnsplittable()
+   {
+      assertNull(PanmirrorPandocAstCache.split(
+            "# One\n\n<div class=\"note\">\n\n# Inside\n\n</div>\n\n# Two"));
+      assertNull(PanmirrorPandocAstCache.split(
+            "# One\n\n<details>\n\n## Inside\n\n</details>"));
+      assertNotNull(PanmirrorPandocAstCache.split(
+            "# One\n\n<img src=\"plot.png\">\n\n# Two"));
+   }
+
+   public void testAstKey()
+   {
+      String ast = "{\"pandoc-api-version\":[1,20],\"meta\":{},\"blocks\":[" +
+            "{\"t\":\"Header\",\"c\":[1,[\"one\",[],[]],[{\"t\":\"Str\",\"c\":\"One\"}]]}," +
+            "{\"t\":\"Para\",\"c\":[{\"t\":\"Str\",\"c\":\"Text\"}]}," +
+            "{\"t\":\"Header\",\"c\":[1,[\"two\",[],[]],[{\"t\":\"Str\",\"c\":\"Two\"}]]}]}";
+      String key = PanmirrorPandocAstCache.getAstKey(parse(ast));
+
+      // the metadata and the two sections
+      assertEquals(3, key.split(",").length);
+      assertEquals(key, PanmirrorPandocAstCache.getAstKey(parse(ast)));
+      assertFalse(key.equals(PanmirrorPandocAstCache.getAstKey(
+            parse(ast.replace("\"Text\"", "\"Test\"")))));
+      assertFalse(key.equals(PanmirrorPandocAstCache.getAstKey(
+            parse(ast.replace("\"meta\":{}", "\"meta\":{\"x\":1}")))));
+   }
+
+   private static JavaScriptObject parse(String json)
+   {
+      return JsonUtils.safeEval(json);
+   }
+}